@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+
+/**
+ * Measures {@link JavaFXJarClassifier#isJavaFXJar(File)}, which is evaluated for every jar of the runtime
+ * classpath when the ':run' task is patched. The classifier is warmed up first, so this measures the
+ * steady state in which the module names of all jars are known.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JavaFXJarClassifierBenchmark {
+
+    @Param({ "300", "3000" })
+    public int classpathSize;
+
+    private Path classpathDir;
+    private List<File> classpath;
+    private JavaFXJarClassifier classifier;
+
+    @Setup(Level.Trial)
+    public void createClasspath() throws IOException {
+        // Mimic a large runtime classpath: a handful of JavaFX jars and many unrelated library jars.
+        classpathDir = Files.createTempDirectory("javafx-benchmark");
+        classpath = new ArrayList<>(classpathSize);
+        for (JavaFXModule javaFXModule : JavaFXModule.values()) {
+            classpath.add(jar(javaFXModule.getArtifactName() + "-17-" + JavaFXPlatform.LINUX.getClassifier() + ".jar",
+                    javaFXModule.getModuleName()));
+        }
+        for (int i = classpath.size(); i < classpathSize; i++) {
+            classpath.add(jar("library-" + i + "-1.0." + i + ".jar", "org.example.library" + i));
+        }
+
+        Project project = ProjectBuilder.builder().withProjectDir(classpathDir.resolve("project").toFile()).build();
+        classifier = project.getGradle().getSharedServices().registerIfAbsent("javafxJarClassifier", JavaFXJarClassifier.class,
+                spec -> spec.getParameters().getCacheFile().set(classpathDir.resolve("cache.txt").toFile())).get();
+        classpath.forEach(classifier::isJavaFXJar);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteClasspath() throws IOException {
+        try (Stream<Path> files = Files.walk(classpathDir)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public void isJavaFXJar(Blackhole blackhole) {
+        for (File jar : classpath) {
+            blackhole.consume(classifier.isJavaFXJar(jar));
+        }
+    }
+
+    private File jar(String name, String automaticModuleName) throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().putValue("Automatic-Module-Name", automaticModuleName);
+        Path jar = classpathDir.resolve(name);
+        try (OutputStream out = Files.newOutputStream(jar); JarOutputStream ignored = new JarOutputStream(out, manifest)) {
+            // manifest only
+        }
+        return jar.toFile();
+    }
+}
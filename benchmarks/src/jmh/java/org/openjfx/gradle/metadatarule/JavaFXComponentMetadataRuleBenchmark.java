@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle.metadatarule;
+
+import org.gradle.api.Action;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.ComponentMetadataContext;
+import org.gradle.api.artifacts.ComponentMetadataDetails;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradle.api.artifacts.MutableVariantFilesMetadata;
+import org.gradle.api.artifacts.VariantMetadata;
+import org.gradle.api.attributes.AttributeContainer;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link JavaFXComponentMetadataRule#execute(ComponentMetadataContext)}, which Gradle runs for every
+ * JavaFX module and version that takes part in dependency resolution.
+ * <p>
+ * Gradle does not offer public implementations of the metadata types, so these are replaced by minimal
+ * proxies that only forward the calls the rule makes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JavaFXComponentMetadataRuleBenchmark {
+
+    private JavaFXComponentMetadataRule rule;
+    private ComponentMetadataContext context;
+
+    @Setup(Level.Trial)
+    public void createRule() {
+        Project project = ProjectBuilder.builder().build();
+        rule = project.getObjects().newInstance(JavaFXComponentMetadataRule.class, JavaFXPlatformCatalog.defaults());
+        AttributeContainer attributes = project.getConfigurations().detachedConfiguration().getAttributes();
+
+        ModuleVersionIdentifier id = proxy(ModuleVersionIdentifier.class, (method, args) -> {
+            switch (method) {
+                case "getGroup": return "org.openjfx";
+                case "getName": return "javafx-controls";
+                case "getVersion": return "17.0.8";
+                default: return null;
+            }
+        });
+        MutableVariantFilesMetadata files = proxy(MutableVariantFilesMetadata.class, (method, args) -> null);
+        VariantMetadata variant = proxy(VariantMetadata.class, (method, args) -> {
+            if ("attributes".equals(method)) {
+                this.<AttributeContainer>action(args[0]).execute(attributes);
+            } else if ("withFiles".equals(method)) {
+                this.<MutableVariantFilesMetadata>action(args[0]).execute(files);
+            }
+            return null;
+        });
+        ComponentMetadataDetails details = proxy(ComponentMetadataDetails.class, (method, args) -> {
+            if ("getId".equals(method)) {
+                return id;
+            }
+            if ("maybeAddVariant".equals(method)) {
+                this.<VariantMetadata>action(args[2]).execute(variant);
+            }
+            return null;
+        });
+        context = proxy(ComponentMetadataContext.class, (method, args) -> "getDetails".equals(method) ? details : null);
+    }
+
+    @Benchmark
+    public ComponentMetadataContext execute() {
+        rule.execute(context);
+        return context;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Action<T> action(Object action) {
+        return (Action<T>) action;
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> handler.invoke(method.getName(), args)));
+    }
+
+    private interface Handler {
+        Object invoke(String method, Object[] args);
+    }
+}
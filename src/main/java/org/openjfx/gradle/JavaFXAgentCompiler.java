@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.process.ExecOperations;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the java agents of the plugin. An agent is shipped as a source file in the resources, because it is
+ * compiled against the JavaFX modules of the application, with 'javac' of the JDK that runs it.
+ */
+final class JavaFXAgentCompiler {
+
+    private final ExecOperations execOperations;
+    private final FileSystemOperations fileSystemOperations;
+
+    JavaFXAgentCompiler(ExecOperations execOperations, FileSystemOperations fileSystemOperations) {
+        this.execOperations = execOperations;
+        this.fileSystemOperations = fileSystemOperations;
+    }
+
+    /**
+     * Compiles the agent source 'agentClass'.java in the default package and packages it with its nested classes.
+     * @param javaHome the JDK
+     * @param agentClass the premain class
+     * @param modulePath the JavaFX modules
+     * @param workDir the directory for the source and the classes
+     * @param jar the agent jar
+     */
+    void compile(File javaHome, String agentClass, FileCollection modulePath, File workDir, File jar) throws IOException {
+        File javac = new File(javaHome, "bin/" + executable("javac"));
+        if (!javac.isFile()) {
+            throw new GradleException("The agent " + agentClass + " requires a JDK, but " + javaHome + " has no javac.");
+        }
+        Files.createDirectories(workDir.toPath());
+        File source = new File(workDir, agentClass + ".java");
+        try (InputStream in = JavaFXAgentCompiler.class.getResourceAsStream(agentClass + ".java")) {
+            Files.copy(in, source.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        File classes = new File(workDir, "agent");
+        fileSystemOperations.delete(spec -> spec.delete(classes));
+        execOperations.exec(spec -> {
+            spec.setExecutable(javac.getAbsolutePath());
+            spec.args("-d", classes.getAbsolutePath(),
+                    "--module-path", modulePath.getAsPath(),
+                    "--add-modules", "javafx.graphics",
+                    source.getAbsolutePath());
+        });
+
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(new Attributes.Name("Premain-Class"), agentClass);
+        Files.createDirectories(jar.toPath().getParent());
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar.toPath()), manifest)) {
+            List<Path> classFiles;
+            try (var files = Files.list(classes.toPath())) {
+                classFiles = files.sorted().collect(Collectors.toList());
+            }
+            for (Path classFile : classFiles) {
+                out.putNextEntry(new JarEntry(classFile.getFileName().toString()));
+                Files.copy(classFile, out);
+                out.closeEntry();
+            }
+        }
+    }
+
+    static String executable(String name) {
+        return System.getProperty("os.name").toLowerCase(Locale.ROOT).startsWith("windows") ? name + ".exe" : name;
+    }
+}
@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.UncheckedIOException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Extracts zip archives (e.g. JavaFX jmods or SDKs) once into a cache folder, usually below the Gradle user home,
+ * where all builds on the machine share them. The folder of an archive is keyed by a name (e.g. version and
+ * platform) and the SHA-256 checksum of the archive. Archives from remote URLs are downloaded into the cache
+ * first. Extraction and download are guarded by file locks, so that concurrent builds wait for each other
+ * instead of doing the same work in parallel.
+ */
+final class JavaFXArchiveCache {
+
+    private static final String COMPLETE_MARKER = ".complete";
+    private static final Map<String, Object> LOCKS = new ConcurrentHashMap<>();
+    private static final Pattern URL_PATTERN = Pattern.compile("^[a-zA-Z][a-zA-Z0-9+.-]+:/");
+
+    private final File cacheDir;
+    private final File baseDir;
+    private final Map<String, String> checksums = new ConcurrentHashMap<>();
+
+    JavaFXArchiveCache(File cacheDir) {
+        this(cacheDir, null);
+    }
+
+    /**
+     * @param cacheDir the cache folder
+     * @param baseDir the folder relative paths are resolved against, usually the project folder
+     */
+    JavaFXArchiveCache(File cacheDir, File baseDir) {
+        this.cacheDir = cacheDir;
+        this.baseDir = baseDir;
+    }
+
+    /**
+     * @param location a local folder, a local zip file or the URL of a zip file
+     * @param key a name for the extracted folder, e.g. version and platform
+     * @return the local folder, or the folder the archive was extracted to
+     */
+    File provide(String location, String key) {
+        File file = locate(location);
+        return file.isDirectory() ? file : extract(file, key);
+    }
+
+    /**
+     * Like {@link #provide(String, String)}, but only extracts the entries accepted by the filter. Entries are
+     * extracted one by one when they are first requested, so that the folder grows with the requested entries.
+     * @param location a local folder, a local zip file or the URL of a zip file
+     * @param key a name for the extracted folder
+     * @param entries accepts the names of the archive entries to extract
+     * @return the local folder, or the folder the entries were extracted to
+     */
+    File provide(String location, String key, Predicate<String> entries) {
+        File file = locate(location);
+        return file.isDirectory() ? file : extract(file, key, entries);
+    }
+
+    /**
+     * @return the location, with a relative path resolved against the base folder
+     */
+    String resolveLocation(String location) {
+        if (!isPath(location) || new File(location).isAbsolute() || baseDir == null) {
+            return location;
+        }
+        return new File(baseDir, location).getAbsolutePath();
+    }
+
+    /**
+     * @return whether the location is a path rather than a URL. Paths are not parsed as URIs, as they can contain
+     * spaces, and a Windows drive letter is not a scheme.
+     */
+    static boolean isPath(String location) {
+        return !URL_PATTERN.matcher(location).find();
+    }
+
+    private File locate(String location) {
+        File file;
+        if (isPath(location)) {
+            file = new File(resolveLocation(location));
+        } else {
+            URI uri = URI.create(location);
+            file = "file".equals(uri.getScheme()) ? new File(uri) : download(uri);
+        }
+        if (!file.isDirectory() && !file.isFile()) {
+            throw new GradleException("JavaFX archive not found: " + location);
+        }
+        return file;
+    }
+
+    /**
+     * Extracts the zip file, unless the cache already contains it.
+     */
+    File extract(File archive, String key) {
+        File target = new File(cacheDir, key + "-" + checksum(archive).substring(0, 16));
+        if (new File(target, COMPLETE_MARKER).exists()) {
+            return target;
+        }
+        return withLock(new File(cacheDir, target.getName() + ".lock"), () -> {
+            if (new File(target, COMPLETE_MARKER).exists()) {
+                // extracted by another build while waiting for the lock
+                return target;
+            }
+            Path tmp = cacheDir.toPath().resolve(target.getName() + "-" + UUID.randomUUID() + ".tmp");
+            try {
+                unzip(archive, tmp);
+                deleteRecursively(target.toPath());
+                Files.move(tmp, target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                Files.createFile(target.toPath().resolve(COMPLETE_MARKER));
+            } finally {
+                deleteRecursively(tmp);
+            }
+            return target;
+        });
+    }
+
+    /**
+     * Extracts the accepted entries of the zip file that the cache doesn't contain yet.
+     */
+    File extract(File archive, String key, Predicate<String> entries) {
+        File target = new File(cacheDir, key + "-" + checksum(archive).substring(0, 16));
+        try (ZipFile zip = new ZipFile(archive)) {
+            List<ZipEntry> missing = zip.stream()
+                    .filter(entry -> !entry.isDirectory() && entries.test(entry.getName()))
+                    .filter(entry -> !Files.exists(resolve(archive, target.toPath(), entry)))
+                    .collect(Collectors.toList());
+            if (missing.isEmpty()) {
+                return target;
+            }
+            return withLock(new File(cacheDir, target.getName() + ".lock"), () -> {
+                for (ZipEntry entry : missing) {
+                    Path file = resolve(archive, target.toPath(), entry);
+                    if (Files.exists(file)) {
+                        // extracted by another build while waiting for the lock
+                        continue;
+                    }
+                    Files.createDirectories(file.getParent());
+                    Path tmp = file.resolveSibling(file.getFileName() + "-" + UUID.randomUUID() + ".tmp");
+                    try (InputStream in = zip.getInputStream(entry)) {
+                        Files.copy(in, tmp);
+                        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+                    } finally {
+                        Files.deleteIfExists(tmp);
+                    }
+                }
+                return target;
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private File download(URI uri) {
+        String fileName = uri.getPath().substring(uri.getPath().lastIndexOf('/') + 1);
+        File target = new File(cacheDir, "downloads/" + sha256(uri.toString()).substring(0, 16) + "/" + fileName);
+        if (target.isFile()) {
+            return target;
+        }
+        return withLock(new File(target.getParentFile(), fileName + ".lock"), () -> {
+            if (target.isFile()) {
+                return target;
+            }
+            Path tmp = target.toPath().resolveSibling(fileName + "-" + UUID.randomUUID() + ".tmp");
+            try (InputStream in = uri.toURL().openStream()) {
+                Files.copy(in, tmp);
+                Files.move(tmp, target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            return target;
+        });
+    }
+
+    private String checksum(File archive) {
+        // Hashing a large archive takes a moment, so checksums are remembered while the file is unchanged
+        String fileKey = archive.getAbsolutePath() + "|" + archive.length() + "|" + archive.lastModified();
+        return checksums.computeIfAbsent(fileKey, k -> {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                try (InputStream in = new DigestInputStream(Files.newInputStream(archive.toPath()), digest)) {
+                    in.transferTo(OutputStream.nullOutputStream());
+                }
+                return hex(digest.digest());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    static String sha256(String value) {
+        try {
+            return hex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static void unzip(File archive, Path target) throws IOException {
+        Files.createDirectories(target);
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(archive.toPath()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                Path file = resolve(archive, target, entry);
+                if (entry.isDirectory()) {
+                    Files.createDirectories(file);
+                } else {
+                    Files.createDirectories(file.getParent());
+                    Files.copy(zip, file);
+                }
+            }
+        }
+    }
+
+    private static Path resolve(File archive, Path target, ZipEntry entry) {
+        Path file = target.resolve(entry.getName()).normalize();
+        if (!file.startsWith(target)) {
+            throw new GradleException("Invalid entry " + entry.getName() + " in " + archive);
+        }
+        return file;
+    }
+
+    static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(path)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Runs the action while holding the lock file. The file lock excludes other processes, the monitor excludes
+     * other threads of this process, which the file lock doesn't.
+     */
+    static File withLock(File lockFile, IOAction action) {
+        Object monitor = LOCKS.computeIfAbsent(lockFile.getAbsolutePath(), k -> new Object());
+        synchronized (monitor) {
+            try {
+                Files.createDirectories(lockFile.getParentFile().toPath());
+                try (FileChannel channel = FileChannel.open(lockFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                    FileLock lock = lock(channel);
+                    try {
+                        return action.run();
+                    } finally {
+                        lock.release();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static FileLock lock(FileChannel channel) throws IOException {
+        while (true) {
+            try {
+                return channel.lock();
+            } catch (OverlappingFileLockException e) {
+                // held by another copy of this class, i.e. a build script with a different classpath
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new GradleException("Interrupted while waiting for " + channel, interrupted);
+                }
+            }
+        }
+    }
+
+    interface IOAction {
+        File run() throws IOException;
+    }
+}
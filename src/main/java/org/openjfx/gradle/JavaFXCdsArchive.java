@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.provider.ProviderFactory;
+import org.gradle.api.provider.SetProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.jvm.toolchain.JavaLauncher;
+import org.gradle.process.ExecOperations;
+import org.gradle.process.ExecResult;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Creates a dynamic AppCDS archive of the JavaFX classes by doing a training run of the application.
+ * The application is started with '-XX:ArchiveClassesAtExit' and stopped after the
+ * {@link #getTrainingDuration() training duration}. JVMs that are started with the same JDK and the same
+ * JavaFX module path can use the archive with '-XX:SharedArchiveFile', which saves loading and verifying
+ * the classes of 'javafx.graphics', 'javafx.controls' etc. at startup.
+ * <p>
+ * The JVM only uses the archive if the jars on the module path are the ones it was created with. Therefore,
+ * not only the content but also the location, size and modification time of the jars are inputs of the task.
+ */
+@CacheableTask
+public abstract class JavaFXCdsArchive extends DefaultTask {
+
+    private static final String TRAINING_SOURCE = "JavaFXCdsTraining.java";
+
+    @Inject
+    protected abstract ExecOperations getExecOperations();
+
+    @Inject
+    protected abstract ProviderFactory getProviders();
+
+    public JavaFXCdsArchive() {
+        getTrainingDuration().convention(Duration.ofSeconds(10));
+        getHeadless().convention(false);
+    }
+
+    /**
+     * @return the classpath of the application, without the JavaFX jars
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getClasspath();
+
+    /**
+     * @return the JavaFX jars, which are put on the module path
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getModulePath();
+
+    @Input
+    public Provider<List<String>> getModulePathLocations() {
+        return getProviders().provider(() -> getModulePath().getFiles().stream()
+                .map(jar -> jar.getAbsolutePath() + "|" + jar.length() + "|" + jar.lastModified())
+                .collect(Collectors.toList()));
+    }
+
+    @Input
+    public abstract SetProperty<String> getModules();
+
+    @Input
+    public abstract Property<String> getMainClass();
+
+    /**
+     * @return the arguments passed to the application for the training run
+     */
+    @Input
+    public abstract ListProperty<String> getArgs();
+
+    /**
+     * @return additional JVM arguments for the training run
+     */
+    @Input
+    public abstract ListProperty<String> getJvmArgs();
+
+    /**
+     * @return how long the application runs before the archive is written, 10 seconds by default
+     */
+    @Input
+    public abstract Property<Duration> getTrainingDuration();
+
+    /**
+     * If true, the training run uses the headless Monocle platform and software rendering. This requires a JavaFX
+     * runtime that includes Monocle: the JVM disables CDS if Monocle is patched into 'javafx.graphics' with
+     * '--patch-module', as for the headless tests. The JavaFX jars from Maven Central do not include Monocle, so
+     * the training run is not headless by default and requires a display.
+     *
+     * @return whether the training run is headless
+     */
+    @Input
+    public abstract Property<Boolean> getHeadless();
+
+    /**
+     * @return the JDK of the training run, at least JDK 13. The archive can only be used by the same JDK.
+     */
+    @Nested
+    @Optional
+    public abstract Property<JavaLauncher> getJavaLauncher();
+
+    @OutputFile
+    public abstract RegularFileProperty getArchiveFile();
+
+    @TaskAction
+    public void createArchive() throws IOException {
+        int javaVersion = getJavaLauncher().map(launcher -> launcher.getMetadata().getLanguageVersion().asInt())
+                .getOrElse(Runtime.version().feature());
+        if (javaVersion < 13) {
+            throw new GradleException("Dynamic AppCDS archives require JDK 13 or later, but the training run would use JDK " +
+                    javaVersion + ". Use a newer toolchain or disable 'javafx.cdsArchive'.");
+        }
+        File archive = getArchiveFile().get().getAsFile();
+        Files.deleteIfExists(archive.toPath());
+
+        File training = new File(getTemporaryDir(), TRAINING_SOURCE);
+        try (InputStream source = JavaFXCdsArchive.class.getResourceAsStream(TRAINING_SOURCE)) {
+            Files.copy(source, training.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        List<String> args = new ArrayList<>();
+        args.add("-XX:ArchiveClassesAtExit=" + archive.getAbsolutePath());
+        if (!getModulePath().isEmpty()) {
+            args.add("--module-path");
+            args.add(getModulePath().getAsPath());
+            args.add("--add-modules");
+            args.add(String.join(",", getModules().get()));
+        }
+        if (getHeadless().get()) {
+            args.add("-Dglass.platform=Monocle");
+            args.add("-Dmonocle.platform=Headless");
+            args.add("-Dprism.order=sw");
+            args.add("-Dprism.text=t2k");
+        }
+        args.addAll(getJvmArgs().get());
+        args.add(training.getAbsolutePath());
+        args.add(String.valueOf(getTrainingDuration().get().toMillis()));
+        args.add(getMainClass().get());
+        args.add(getClasspath().getAsPath());
+        args.addAll(getArgs().get());
+
+        ExecResult result = getExecOperations().exec(spec -> {
+            spec.setExecutable(getJavaLauncher().map(launcher -> launcher.getExecutablePath().getAsFile().getAbsolutePath())
+                    .getOrElse(new File(System.getProperty("java.home"), "bin/java").getAbsolutePath()));
+            spec.setArgs(args);
+            spec.setIgnoreExitValue(true);
+        });
+        if (result.getExitValue() != 0) {
+            // e.g. the toolkit did not start without a display, so that the archive lacks the JavaFX classes
+            Files.deleteIfExists(archive.toPath());
+            throw new GradleException("The training run of '" + getMainClass().get() + "' failed with exit value " +
+                    result.getExitValue() + ". Check the output above for details.");
+        }
+
+        if (!archive.isFile()) {
+            throw new GradleException("The training run of '" + getMainClass().get() + "' did not create the CDS archive " +
+                    archive + ". Check the output above for details.");
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.UncheckedIOException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Writes the zip file of {@link JavaFXDistribution}.
+ */
+public abstract class JavaFXDistributionAction implements WorkAction<JavaFXDistributionAction.Parameters> {
+
+    public interface Parameters extends WorkParameters {
+
+        Property<String> getDistributionBaseName();
+
+        ConfigurableFileCollection getLibraries();
+
+        ConfigurableFileCollection getModulePathLibraries();
+
+        DirectoryProperty getStartScriptsDir();
+
+        RegularFileProperty getArchiveFile();
+    }
+
+    @Override
+    public void execute() {
+        Parameters parameters = getParameters();
+        Path archive = parameters.getArchiveFile().get().getAsFile().toPath();
+        try {
+            Files.createDirectories(archive.getParent());
+            Files.deleteIfExists(archive);
+            // 'enablePosixFileAttributes' keeps the start scripts executable, if the JDK supports it (JDK 14+)
+            try (FileSystem zip = FileSystems.newFileSystem(URI.create("jar:" + archive.toUri()),
+                    Map.of("create", "true", "enablePosixFileAttributes", "true"))) {
+                Path root = zip.getPath(parameters.getDistributionBaseName().get());
+                copyLibraries(parameters.getLibraries(), Files.createDirectories(root.resolve("lib")));
+                if (!parameters.getModulePathLibraries().isEmpty()) {
+                    copyLibraries(parameters.getModulePathLibraries(), Files.createDirectories(root.resolve(JavaFXModulePathLayout.MODULE_PATH)));
+                }
+                Path bin = Files.createDirectories(root.resolve("bin"));
+                File[] scripts = parameters.getStartScriptsDir().get().getAsFile().listFiles(File::isFile);
+                if (scripts != null) {
+                    Arrays.sort(scripts);
+                    for (File script : scripts) {
+                        Path target = bin.resolve(script.getName());
+                        Files.copy(script.toPath(), target);
+                        if (!script.getName().endsWith(".bat") && !script.getName().endsWith(JavaFXStartScripts.ARG_FILE_EXTENSION)) {
+                            makeExecutable(target);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void copyLibraries(Iterable<File> libraries, Path dir) throws IOException {
+        for (File library : libraries) {
+            if (library.isFile()) {
+                Files.copy(library.toPath(), dir.resolve(library.getName()));
+            }
+        }
+    }
+
+    private static void makeExecutable(Path script) throws IOException {
+        try {
+            Files.setPosixFilePermissions(script, PosixFilePermissions.fromString("rwxr-xr-x"));
+        } catch (UnsupportedOperationException e) {
+            // the zip file system of the JDK does not support permissions before JDK 14
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.provider.SetProperty;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.JavaExec;
+
+import javax.inject.Inject;
+
+/**
+ * Launches a JavaFX application. For a non-modular application, the JavaFX jars of the
+ * {@link #getRuntimeClasspath() runtime classpath} are put on the module path and the configured JavaFX
+ * modules are added with '--add-modules', while all other jars stay on the classpath. For a modular
+ * application (i.e. if 'mainModule' is set), Gradle builds the module path as usual.
+ * <p>
+ * Classpath, module path and modules are only computed when the task executes, and are compatible with the
+ * configuration cache. The plugin registers no task of this type, but configures every task of this type:
+ * <pre>
+ * tasks.register('runDemo', JavaFXExec) {
+ *     mainClass = 'org.example.Demo'
+ * }
+ * </pre>
+ * By default, the runtime classpath of the 'main' source set is used and the modules are taken from the
+ * 'javafx' extension.
+ */
+public abstract class JavaFXExec extends JavaExec {
+
+    @Inject
+    protected abstract ObjectFactory getObjects();
+
+    public JavaFXExec() {
+        Provider<JavaFXJarClassifier> jarClassifier = getJarClassifier();
+        Provider<Boolean> classpathApplication = getMainModule().map(m -> false).orElse(true);
+
+        setClasspath(getRuntimeClasspath().filter(JavaFXJarSpec.classpath(jarClassifier, classpathApplication)));
+        getJavaFXModulePath().from(getRuntimeClasspath().filter(JavaFXJarSpec.modulePath(jarClassifier, classpathApplication)));
+
+        var modulePathArguments = getObjects().newInstance(JavaFXModulePathArgumentProvider.class);
+        modulePathArguments.getModulePath().from(getJavaFXModulePath());
+        modulePathArguments.getModules().set(getJavaFXModules());
+        modulePathArguments.getInstrumentation().set(getInstrumentation());
+        modulePathArguments.getTaskPath().set(getPath());
+        modulePathArguments.getReportDir().set(getProject().getLayout().getBuildDirectory().dir(JavaFXPlugin.REPORTS_DIR));
+        getJvmArgumentProviders().add(modulePathArguments);
+    }
+
+    /**
+     * @return the complete runtime classpath of the application, including the JavaFX jars
+     */
+    @Internal
+    public abstract ConfigurableFileCollection getRuntimeClasspath();
+
+    /**
+     * @return the JavaFX jars that are put on the module path
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getJavaFXModulePath();
+
+    /**
+     * @return the JavaFX modules added with '--add-modules'
+     */
+    @Input
+    public abstract SetProperty<String> getJavaFXModules();
+
+    @Internal
+    public abstract Property<JavaFXJarClassifier> getJarClassifier();
+
+    /**
+     * @return the service that records the time spent in splitting the module path, if instrumentation is enabled
+     */
+    @Internal
+    public abstract Property<JavaFXInstrumentation> getInstrumentation();
+}
@@ -0,0 +1,394 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.SetProperty;
+import org.gradle.api.specs.Specs;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.options.Option;
+import org.gradle.jvm.toolchain.JavaLauncher;
+import org.gradle.process.ExecOperations;
+import org.gradle.process.ExecResult;
+
+import javax.inject.Inject;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the memory footprint of the application: it is launched once with the JavaFX jars on the module path,
+ * with native memory tracking and the statistics of the Prism resource pools enabled, and an agent that, after
+ * the {@link #getDuration() duration}, collects the garbage and captures the native memory tracking summary, the
+ * heap usage and the usage of the Prism pools, e.g. of the textures in VRAM. The footprint in KB is logged and
+ * written to the {@link #getReportFile() report}.
+ * <p>
+ * The footprint is compared to the {@link #getBaselineFile() baseline}, which is written if it does not exist or
+ * with '--update-baseline'. The baseline records the JavaFX version and modules, so that a change of either is
+ * logged with the comparison. If {@link #getMaxRegression()} is set, the task fails if the committed native memory,
+ * the used heap or the usage of a Prism pool is larger than the baseline by more than that percentage.
+ * <p>
+ * The agent is compiled against the JavaFX modules with 'javac' of the {@link #getJavaLauncher() JDK}.
+ */
+public abstract class JavaFXFootprint extends DefaultTask {
+
+    static final String NMT_TOTAL = "nmt.total";
+    static final String HEAP_USED = "heap.used";
+    static final String PRISM = "prism.";
+
+    private static final String AGENT_CLASS = "JavaFXFootprintAgent";
+    private static final Pattern NMT_LINE = Pattern.compile(
+            "^(?:Total|-\\s*(.+?))\\s*[:(]\\s*reserved=(\\d+)KB, committed=(\\d+)KB");
+    private static final Pattern POOL_LINE = Pattern.compile("^(.+?) Pool: ([\\d,.]+) used.*?([\\d,.]+) max");
+
+    @Inject
+    protected abstract ExecOperations getExecOperations();
+
+    @Inject
+    protected abstract FileSystemOperations getFileSystemOperations();
+
+    public JavaFXFootprint() {
+        getDuration().convention(Duration.ofSeconds(10));
+        getHeadless().convention(true);
+        getUpdateBaseline().convention(false);
+        // Measurements are never up-to-date
+        getOutputs().upToDateWhen(Specs.satisfyNone());
+    }
+
+    /**
+     * @return the classpath of the application, without the JavaFX jars
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getClasspath();
+
+    /**
+     * @return the JavaFX jars
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getModulePath();
+
+    @Input
+    public abstract SetProperty<String> getModules();
+
+    /**
+     * @return the JavaFX version, which is recorded in the report and the baseline
+     */
+    @Input
+    @Optional
+    public abstract Property<String> getJavaFXVersion();
+
+    @Input
+    public abstract Property<String> getMainClass();
+
+    @Input
+    public abstract ListProperty<String> getArgs();
+
+    /**
+     * @return the JVM arguments of the launch, e.g. the 'javafx.performance' settings
+     */
+    @Input
+    public abstract ListProperty<String> getJvmArgs();
+
+    /**
+     * @return how long the application runs before its footprint is captured, since the start of the JVM.
+     * 10 seconds by default.
+     */
+    @Input
+    public abstract Property<Duration> getDuration();
+
+    /**
+     * If true (the default), the application runs with the headless Monocle platform and software rendering.
+     *
+     * @return whether the launch is headless
+     */
+    @Input
+    public abstract Property<Boolean> getHeadless();
+
+    /**
+     * @return the Monocle jar for a headless launch, or nothing if the JavaFX runtime includes Monocle
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getMonocle();
+
+    /**
+     * @return the percentage by which the committed native memory, the used heap or the usage of a Prism pool may
+     * be larger than the baseline, e.g. 10. If not set, the task does not fail.
+     */
+    @Input
+    @Optional
+    public abstract Property<Integer> getMaxRegression();
+
+    /**
+     * @return whether to replace the baseline with the results
+     */
+    @Internal
+    @Option(option = "update-baseline", description = "Replaces the baseline with the results.")
+    public abstract Property<Boolean> getUpdateBaseline();
+
+    /**
+     * @return the footprint of the previous results. It is read and written by the task.
+     */
+    @Internal
+    public abstract RegularFileProperty getBaselineFile();
+
+    @Nested
+    @Optional
+    public abstract Property<JavaLauncher> getJavaLauncher();
+
+    /**
+     * @return the JSON report with the footprint in KB
+     */
+    @OutputFile
+    public abstract RegularFileProperty getReportFile();
+
+    @TaskAction
+    public void measure() throws IOException {
+        File javaHome = getJavaLauncher().map(launcher -> launcher.getMetadata().getInstallationPath().getAsFile())
+                .getOrElse(new File(System.getProperty("java.home")));
+        File agent = new File(getTemporaryDir(), "javafx-footprint-agent.jar");
+        new JavaFXAgentCompiler(getExecOperations(), getFileSystemOperations())
+                .compile(javaHome, AGENT_CLASS, getModulePath(), getTemporaryDir(), agent);
+
+        File output = new File(getTemporaryDir(), "footprint.txt");
+        Files.deleteIfExists(output.toPath());
+        getLogger().lifecycle("Launching '{}' for {} seconds", getMainClass().get(), getDuration().get().toSeconds());
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        ExecResult result = getExecOperations().exec(spec -> {
+            spec.setExecutable(new File(javaHome, "bin/" + JavaFXAgentCompiler.executable("java")).getAbsolutePath());
+            spec.setArgs(jvmArgs(agent, output));
+            spec.setStandardOutput(OutputStream.nullOutputStream());
+            spec.setErrorOutput(errors);
+            spec.setIgnoreExitValue(true);
+        });
+        if (result.getExitValue() != 0 || !output.isFile()) {
+            throw new GradleException(String.format("'%s' exited with exit value %d before its footprint was captured:%n%s",
+                    getMainClass().get(), result.getExitValue(), errors.toString(StandardCharsets.UTF_8)));
+        }
+
+        Map<String, Long> footprint = parse(Files.readAllLines(output.toPath(), StandardCharsets.UTF_8));
+        if (!footprint.containsKey(NMT_TOTAL)) {
+            throw new GradleException("The native memory tracking summary of '" + getMainClass().get() + "' is missing: " + output);
+        }
+        if (footprint.keySet().stream().noneMatch(key -> key.startsWith(PRISM))) {
+            getLogger().warn("Prism did not print the statistics of its resource pools.");
+        }
+        writeReport(footprint);
+        getLogger().lifecycle("Footprint of '{}' in KB after {} seconds:\n{}", getMainClass().get(),
+                getDuration().get().toSeconds(), footprint.entrySet().stream()
+                        .map(e -> String.format(Locale.ROOT, "%-36s %10d", e.getKey(), e.getValue()))
+                        .collect(Collectors.joining("\n")));
+        compareWithBaseline(footprint);
+    }
+
+    private List<String> jvmArgs(File agent, File output) {
+        List<String> args = new ArrayList<>();
+        args.add("-XX:NativeMemoryTracking=summary");
+        args.add("-Dprism.poolstats=true");
+        args.add("-javaagent:" + agent.getAbsolutePath() + "=" + output.getAbsolutePath() + "," + getDuration().get().toMillis());
+        args.add("--module-path");
+        args.add(getModulePath().getAsPath());
+        args.add("--add-modules");
+        args.add(String.join(",", getModules().get()));
+        args.add("--add-exports");
+        args.add("javafx.graphics/com.sun.prism.impl=ALL-UNNAMED");
+        if (getHeadless().get()) {
+            if (!getMonocle().isEmpty()) {
+                args.add("--patch-module");
+                args.add("javafx.graphics=" + getMonocle().getAsPath());
+            }
+            args.add("-Dglass.platform=Monocle");
+            args.add("-Dmonocle.platform=Headless");
+            args.add("-Dprism.order=sw");
+            args.add("-Dprism.text=t2k");
+        }
+        args.addAll(getJvmArgs().get());
+        List<File> classpath = new ArrayList<>();
+        classpath.add(agent);
+        classpath.addAll(getClasspath().getFiles());
+        args.add("-cp");
+        args.add(classpath.stream().map(File::getAbsolutePath).collect(Collectors.joining(File.pathSeparator)));
+        args.add(getMainClass().get());
+        args.addAll(getArgs().get());
+        return args;
+    }
+
+    /**
+     * Parses the output of the agent, see 'JavaFXFootprintAgent.java' in the resources.
+     *
+     * @return the footprint in KB: the used and committed heap, the committed native memory in total and of each
+     * category of the native memory tracking summary, and the used memory of each Prism pool
+     */
+    static Map<String, Long> parse(List<String> lines) {
+        Map<String, Long> footprint = new LinkedHashMap<>();
+        String section = "";
+        for (String line : lines) {
+            String text = line.trim();
+            if (text.startsWith("--- ")) {
+                section = text.substring(4);
+            } else if (section.isEmpty() && !text.isEmpty()) {
+                String[] values = text.split(" ");
+                footprint.put(values[0], Long.parseLong(values[1]) / 1024);
+            } else if (section.equals("nmt")) {
+                Matcher matcher = NMT_LINE.matcher(text);
+                if (matcher.find()) {
+                    footprint.put(matcher.group(1) == null ? NMT_TOTAL : "nmt." + key(matcher.group(1)),
+                            Long.parseLong(matcher.group(3)));
+                }
+            } else if (section.equals("prism")) {
+                Matcher matcher = POOL_LINE.matcher(text);
+                if (matcher.find()) {
+                    footprint.put(PRISM + key(matcher.group(1)), Long.parseLong(matcher.group(2).replaceAll("[,.]", "")) / 1024);
+                }
+            }
+        }
+        return footprint;
+    }
+
+    /**
+     * @return the name of a category or pool as key, e.g. 'javaHeap' for 'Java Heap' or 'gcCardSet' for 'GCCardSet'
+     */
+    static String key(String name) {
+        String[] words = name.trim().split("\\s+");
+        int upper = 0;
+        while (upper < words[0].length() && Character.isUpperCase(words[0].charAt(upper))) {
+            upper++;
+        }
+        // Keep the capital of the next word in a leading acronym, e.g. 'C' in 'GCCardSet'
+        if (upper > 1 && upper < words[0].length() && Character.isLowerCase(words[0].charAt(upper))) {
+            upper--;
+        }
+        StringBuilder key = new StringBuilder(words[0].substring(0, Math.max(upper, 1)).toLowerCase(Locale.ROOT))
+                .append(words[0].substring(Math.max(upper, 1)));
+        for (int i = 1; i < words.length; i++) {
+            key.append(words[i].substring(0, 1).toUpperCase(Locale.ROOT)).append(words[i].substring(1));
+        }
+        return key.toString();
+    }
+
+    /**
+     * @return whether a regression of the value fails the task: the committed native memory in total, the used heap
+     * and the usage of the Prism pools
+     */
+    static boolean isChecked(String key) {
+        return key.equals(NMT_TOTAL) || key.equals(HEAP_USED) || key.startsWith(PRISM);
+    }
+
+    private void writeReport(Map<String, Long> footprint) throws IOException {
+        String json = "{\n" +
+                "  \"mainClass\": \"" + getMainClass().get() + "\",\n" +
+                "  \"timestamp\": \"" + Instant.now() + "\",\n" +
+                "  \"javafxVersion\": \"" + getJavaFXVersion().getOrElse("") + "\",\n" +
+                "  \"modules\": [" + getModules().get().stream().sorted()
+                        .map(module -> "\"" + module + "\"")
+                        .collect(Collectors.joining(", ")) + "],\n" +
+                "  \"durationMillis\": " + getDuration().get().toMillis() + ",\n" +
+                "  \"footprintKB\": {" + footprint.entrySet().stream()
+                        .map(e -> "\n    \"" + e.getKey() + "\": " + e.getValue())
+                        .collect(Collectors.joining(",")) +
+                "\n  }\n}\n";
+        Files.writeString(getReportFile().get().getAsFile().toPath(), json, StandardCharsets.UTF_8);
+    }
+
+    private void compareWithBaseline(Map<String, Long> footprint) throws IOException {
+        if (!getBaselineFile().isPresent()) {
+            return;
+        }
+        File baselineFile = getBaselineFile().get().getAsFile();
+        String version = getJavaFXVersion().getOrElse("");
+        String modules = getModules().get().stream().sorted().collect(Collectors.joining(","));
+        if (!baselineFile.isFile() || getUpdateBaseline().get()) {
+            Files.createDirectories(baselineFile.toPath().getParent());
+            Files.writeString(baselineFile.toPath(), "# Footprint in KB of 'javafxFootprint'\n" +
+                    "javafx.version=" + version + "\n" +
+                    "javafx.modules=" + modules + "\n" +
+                    footprint.entrySet().stream()
+                            .map(e -> e.getKey() + "=" + e.getValue() + "\n")
+                            .collect(Collectors.joining()),
+                    StandardCharsets.UTF_8);
+            getLogger().lifecycle("Wrote the footprint baseline {}", baselineFile);
+            return;
+        }
+
+        Properties baseline = new Properties();
+        try (InputStream in = Files.newInputStream(baselineFile.toPath())) {
+            baseline.load(in);
+        }
+        if (!version.equals(baseline.getProperty("javafx.version", version))) {
+            getLogger().lifecycle("The JavaFX version changed from {} to {} since the baseline", baseline.getProperty("javafx.version"), version);
+        }
+        if (!modules.equals(baseline.getProperty("javafx.modules", modules))) {
+            getLogger().lifecycle("The JavaFX modules changed from {} to {} since the baseline", baseline.getProperty("javafx.modules"), modules);
+        }
+        List<String> regressions = new ArrayList<>();
+        footprint.forEach((key, now) -> {
+            String previous = baseline.getProperty(key);
+            if (previous == null) {
+                return;
+            }
+            long before = Long.parseLong(previous.trim());
+            double change = before == 0 ? 0 : (now - before) / (double) before;
+            getLogger().lifecycle(String.format(Locale.ROOT, "%-36s %10d KB (baseline %d KB, %+.1f%%)", key, now, before, change * 100));
+            if (isChecked(key) && getMaxRegression().isPresent() && change * 100 > getMaxRegression().get()) {
+                regressions.add(String.format(Locale.ROOT, "%s: %d KB instead of %d KB", key, now, before));
+            }
+        });
+        if (!regressions.isEmpty()) {
+            throw new GradleException(String.format(Locale.ROOT, "The footprint is larger than the baseline %s by more than %d%%:%n%s",
+                    baselineFile, getMaxRegression().get(), String.join("\n", regressions)));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.process.CommandLineArgumentProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs JavaFX with the headless Monocle platform and software rendering, so that it does not need a display or
+ * a GPU. Monocle is patched into 'javafx.graphics', which has the other glass platforms. The system properties
+ * for TestFX are set as well.
+ */
+public abstract class JavaFXHeadlessArgumentProvider implements CommandLineArgumentProvider {
+
+    @Input
+    public abstract Property<Boolean> getEnabled();
+
+    /**
+     * @return the Monocle jar, or nothing if the JavaFX runtime includes Monocle
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getMonocle();
+
+    @Override
+    public Iterable<String> asArguments() {
+        if (!getEnabled().get()) {
+            return List.of();
+        }
+        List<String> args = new ArrayList<>();
+        if (!getMonocle().isEmpty()) {
+            args.add("--patch-module");
+            args.add("javafx.graphics=" + getMonocle().getAsPath());
+        }
+        args.add("--add-exports");
+        args.add("javafx.graphics/com.sun.glass.ui=ALL-UNNAMED");
+        args.add("--add-exports");
+        args.add("javafx.graphics/com.sun.javafx.application=ALL-UNNAMED");
+        args.add("-Dglass.platform=Monocle");
+        args.add("-Dmonocle.platform=Headless");
+        args.add("-Dprism.order=sw");
+        args.add("-Dprism.text=t2k");
+        args.add("-Djava.awt.headless=true");
+        args.add("-Dtestfx.robot=glass");
+        args.add("-Dtestfx.headless=true");
+        return args;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Records where the plugin spends time in a build, per project: declaring the JavaFX dependencies, resolving
+ * the configurations that contain JavaFX modules, and splitting the module path of the tasks that launch JavaFX
+ * applications. When the build finishes, the records of each project are written to 'resolution.json' and
+ * 'launch.json' in 'build/reports/javafx' of the project.
+ * <p>
+ * The service is only registered if the Gradle property 'org.openjfx.javafxplugin.instrumentation' is 'true'.
+ * With the configuration cache, the configuration and the execution phase use different instances of the
+ * service, so each report is only written by the instance that has records for it. If the configuration cache
+ * is reused, 'resolution.json' is left from the build that stored the cache entry.
+ */
+public abstract class JavaFXInstrumentation implements BuildService<BuildServiceParameters.None>, AutoCloseable {
+
+    static final String PROPERTY = "org.openjfx.javafxplugin.instrumentation";
+    static final String RESOLUTION_REPORT = "resolution.json";
+    static final String LAUNCH_REPORT = "launch.json";
+
+    private static final Logger LOGGER = Logging.getLogger(JavaFXInstrumentation.class);
+
+    private final Map<String, ProjectRecords> projects = new ConcurrentHashMap<>();
+
+    /**
+     * @param configuration the configuration the JavaFX dependencies were declared in
+     * @param nanos the time spent in creating the dependencies
+     */
+    void recordDependencies(String projectPath, File reportDir, String configuration, long nanos) {
+        ProjectRecords records = records(projectPath, reportDir);
+        synchronized (records) {
+            records.dependencies.add(record("configuration", configuration, "durationMillis", millis(nanos)));
+            records.dependenciesNanos += nanos;
+        }
+    }
+
+    /**
+     * @param configuration the resolved configuration
+     * @param nanos the time from the start to the end of the resolution
+     * @param javaFXModules the number of JavaFX modules in the resolution result
+     */
+    void recordResolution(String projectPath, File reportDir, String configuration, long nanos, int javaFXModules) {
+        ProjectRecords records = records(projectPath, reportDir);
+        synchronized (records) {
+            records.resolution.add(record("configuration", configuration, "durationMillis", millis(nanos),
+                    "javafxModules", javaFXModules));
+            records.resolutionNanos += nanos;
+        }
+    }
+
+    /**
+     * @param task the path of the task that launches the application
+     * @param entries the number of JavaFX jars on the module path
+     * @param bytes the size of the JavaFX jars on the module path
+     * @param nanos the time spent in splitting the JavaFX jars from the classpath
+     */
+    void recordModulePath(String projectPath, File reportDir, String task, int entries, long bytes, long nanos) {
+        ProjectRecords records = records(projectPath, reportDir);
+        synchronized (records) {
+            records.modulePath.add(record("task", task, "entries", entries, "javafxArtifactBytes", bytes,
+                    "durationMillis", millis(nanos)));
+            records.modulePathNanos += nanos;
+            records.bytes += bytes;
+        }
+    }
+
+    private ProjectRecords records(String projectPath, File reportDir) {
+        return projects.computeIfAbsent(projectPath, path -> new ProjectRecords(path, reportDir));
+    }
+
+    @Override
+    public void close() {
+        String timestamp = Instant.now().toString();
+        for (ProjectRecords records : projects.values()) {
+            synchronized (records) {
+                if (!records.dependencies.isEmpty() || !records.resolution.isEmpty()) {
+                    write(records.reportDir.toPath().resolve(RESOLUTION_REPORT), "{\n" +
+                            "  \"project\": " + toJson(records.projectPath) + ",\n" +
+                            "  \"timestamp\": " + toJson(timestamp) + ",\n" +
+                            "  \"totals\": {\n" +
+                            "    \"dependenciesMillis\": " + toJson(millis(records.dependenciesNanos)) + ",\n" +
+                            "    \"resolutionMillis\": " + toJson(millis(records.resolutionNanos)) + "\n" +
+                            "  },\n" +
+                            "  \"dependencies\": " + toJson(records.dependencies) + ",\n" +
+                            "  \"resolution\": " + toJson(records.resolution) + "\n" +
+                            "}\n");
+                }
+                if (!records.modulePath.isEmpty()) {
+                    write(records.reportDir.toPath().resolve(LAUNCH_REPORT), "{\n" +
+                            "  \"project\": " + toJson(records.projectPath) + ",\n" +
+                            "  \"timestamp\": " + toJson(timestamp) + ",\n" +
+                            "  \"totals\": {\n" +
+                            "    \"modulePathMillis\": " + toJson(millis(records.modulePathNanos)) + ",\n" +
+                            "    \"javafxArtifactBytes\": " + records.bytes + "\n" +
+                            "  },\n" +
+                            "  \"modulePath\": " + toJson(records.modulePath) + "\n" +
+                            "}\n");
+                }
+            }
+        }
+    }
+
+    private static void write(Path report, String json) {
+        try {
+            Files.createDirectories(report.getParent());
+            Files.writeString(report, json);
+        } catch (IOException e) {
+            LOGGER.warn("Could not write JavaFX instrumentation report {}", report, e);
+        }
+    }
+
+    private static Map<String, Object> record(Object... keysAndValues) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            record.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return record;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static String toJson(Object value) {
+        if (value instanceof Double) {
+            return String.format(Locale.ROOT, "%.3f", (Double) value);
+        }
+        if (value instanceof Number) {
+            return value.toString();
+        }
+        return "\"" + value.toString().replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private static String toJson(List<Map<String, Object>> records) {
+        if (records.isEmpty()) {
+            return "[]";
+        }
+        return records.stream()
+                .map(record -> record.entrySet().stream()
+                        .map(e -> "\"" + e.getKey() + "\": " + toJson(e.getValue()))
+                        .collect(Collectors.joining(", ", "    { ", " }")))
+                .collect(Collectors.joining(",\n", "[\n", "\n  ]"));
+    }
+
+    private static final class ProjectRecords {
+
+        private final String projectPath;
+        private final File reportDir;
+        private final List<Map<String, Object>> dependencies = new ArrayList<>();
+        private final List<Map<String, Object>> resolution = new ArrayList<>();
+        private final List<Map<String, Object>> modulePath = new ArrayList<>();
+        private long dependenciesNanos;
+        private long resolutionNanos;
+        private long modulePathNanos;
+        private long bytes;
+
+        private ProjectRecords(String projectPath, File reportDir) {
+            this.projectPath = projectPath;
+            this.reportDir = reportDir;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.module.ModuleDescriptor;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+
+/**
+ * Decides whether a jar is a JavaFX module by reading its module descriptor ('module-info.class') or,
+ * if there is none, the 'Automatic-Module-Name' of its manifest. This also recognizes JavaFX jars that
+ * have been renamed or relocated, e.g. by a repository manager or a custom SDK layout.
+ * <p>
+ * Opening a jar is only needed the first time it is seen. The module name is cached by path, size and
+ * modification time, and the cache is persisted when the build finishes, so subsequent builds classify
+ * even large classpaths with a single file system lookup per jar.
+ */
+public abstract class JavaFXJarClassifier implements BuildService<JavaFXJarClassifier.Parameters>, AutoCloseable {
+
+    private static final Logger LOGGER = Logging.getLogger(JavaFXJarClassifier.class);
+
+    private static final String MODULE_INFO = "module-info.class";
+    private static final String AUTOMATIC_MODULE_NAME = "Automatic-Module-Name";
+    private static final String SEPARATOR = "\t";
+
+    public interface Parameters extends BuildServiceParameters {
+        /**
+         * The file in which the module names are persisted between builds.
+         */
+        RegularFileProperty getCacheFile();
+    }
+
+    private final Map<String, CacheEntry> cache = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    private volatile boolean modified;
+
+    /**
+     * @param jar an entry of a classpath
+     * @return true, if the entry is a jar that contains one of the known JavaFX modules
+     */
+    public boolean isJavaFXJar(File jar) {
+        return getModuleName(jar)
+                .map(moduleName -> JavaFXModule.fromModuleName(moduleName).isPresent())
+                .orElse(false);
+    }
+
+    /**
+     * @param jar an entry of a classpath
+     * @return the name of the module defined by the jar, if it is a jar that defines one
+     */
+    public Optional<String> getModuleName(File jar) {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(jar.toPath(), BasicFileAttributes.class);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+        if (!attributes.isRegularFile()) {
+            return Optional.empty();
+        }
+
+        loadCache();
+        String path = jar.getAbsolutePath();
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        CacheEntry entry = cache.get(path);
+        if (entry == null || entry.size != size || entry.lastModified != lastModified) {
+            entry = new CacheEntry(size, lastModified, readModuleName(jar));
+            cache.put(path, entry);
+            modified = true;
+        }
+        return entry.moduleName.isEmpty() ? Optional.empty() : Optional.of(entry.moduleName);
+    }
+
+    private static String readModuleName(File jar) {
+        try (JarFile jarFile = new JarFile(jar)) {
+            ZipEntry moduleInfo = jarFile.getEntry(MODULE_INFO);
+            if (moduleInfo != null) {
+                try (InputStream in = jarFile.getInputStream(moduleInfo)) {
+                    return ModuleDescriptor.read(in).name();
+                }
+            }
+            Manifest manifest = jarFile.getManifest();
+            if (manifest != null) {
+                String automaticModuleName = manifest.getMainAttributes().getValue(AUTOMATIC_MODULE_NAME);
+                if (automaticModuleName != null) {
+                    return automaticModuleName.trim();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Not a (valid) jar. It cannot be a JavaFX module.
+            LOGGER.debug("Could not read module name of {}", jar, e);
+        }
+        return "";
+    }
+
+    private synchronized void loadCache() {
+        if (loaded) {
+            return;
+        }
+        read(cacheFile(), cache);
+        loaded = true;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!modified) {
+            return;
+        }
+        Path cacheFile = cacheFile();
+        try {
+            // Another build may have written the cache in the meantime: keep its entries as well.
+            Map<String, CacheEntry> merged = new ConcurrentHashMap<>();
+            read(cacheFile, merged);
+            merged.putAll(cache);
+            merged.keySet().removeIf(path -> !new File(path).isFile());
+
+            Files.createDirectories(cacheFile.getParent());
+            Path tmp = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, CacheEntry> e : merged.entrySet()) {
+                    CacheEntry entry = e.getValue();
+                    writer.write(e.getKey() + SEPARATOR + entry.size + SEPARATOR + entry.lastModified + SEPARATOR + entry.moduleName);
+                    writer.newLine();
+                }
+            }
+            Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.info("Could not write JavaFX module cache {}", cacheFile, e);
+        }
+    }
+
+    private Path cacheFile() {
+        return getParameters().getCacheFile().get().getAsFile().toPath();
+    }
+
+    private static void read(Path cacheFile, Map<String, CacheEntry> into) {
+        if (!Files.isRegularFile(cacheFile)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(SEPARATOR, -1);
+                if (fields.length == 4) {
+                    into.put(fields[0], new CacheEntry(Long.parseLong(fields[1]), Long.parseLong(fields[2]), fields[3]));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // A corrupt cache is not a problem: the module names are read again from the jars.
+            LOGGER.info("Could not read JavaFX module cache {}", cacheFile, e);
+            into.clear();
+        }
+    }
+
+    private static final class CacheEntry {
+        private final long size;
+        private final long lastModified;
+        private final String moduleName;
+
+        private CacheEntry(long size, long lastModified, String moduleName) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.moduleName = moduleName;
+        }
+    }
+}
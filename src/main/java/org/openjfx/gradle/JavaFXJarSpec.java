@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.specs.Spec;
+
+import java.io.File;
+
+/**
+ * Splits the runtime classpath of a non-modular application into the JavaFX jars, which go on the module
+ * path, and everything else, which stays on the classpath. If 'enabled' is false (e.g. for modular
+ * applications) the classpath is left untouched.
+ */
+class JavaFXJarSpec implements Spec<File> {
+
+    private final Provider<JavaFXJarClassifier> jarClassifier;
+    // Null if the JavaFX jars always go on the module path
+    private final Provider<Boolean> enabled;
+    private final boolean modulePath;
+
+    private JavaFXJarSpec(Provider<JavaFXJarClassifier> jarClassifier, Provider<Boolean> enabled, boolean modulePath) {
+        this.jarClassifier = jarClassifier;
+        this.enabled = enabled;
+        this.modulePath = modulePath;
+    }
+
+    static JavaFXJarSpec modulePath(Provider<JavaFXJarClassifier> jarClassifier, Provider<Boolean> enabled) {
+        return new JavaFXJarSpec(jarClassifier, enabled, true);
+    }
+
+    /**
+     * @return the spec of the JavaFX jars, for tasks that always put them on the module path
+     */
+    static JavaFXJarSpec modulePath(Provider<JavaFXJarClassifier> jarClassifier) {
+        return new JavaFXJarSpec(jarClassifier, null, true);
+    }
+
+    static JavaFXJarSpec classpath(Provider<JavaFXJarClassifier> jarClassifier, Provider<Boolean> enabled) {
+        return new JavaFXJarSpec(jarClassifier, enabled, false);
+    }
+
+    /**
+     * @return the spec of the jars that are not JavaFX jars, for tasks that always put the JavaFX jars on the module path
+     */
+    static JavaFXJarSpec classpath(Provider<JavaFXJarClassifier> jarClassifier) {
+        return new JavaFXJarSpec(jarClassifier, null, false);
+    }
+
+    @Override
+    public boolean isSatisfiedBy(File jar) {
+        if (enabled != null && !enabled.get()) {
+            return !modulePath;
+        }
+        return jarClassifier.get().isJavaFXJar(jar) == modulePath;
+    }
+
+    /**
+     * A runtime classpath split into the JavaFX jars and everything else.
+     */
+    static final class SplitClasspath {
+
+        private final FileCollection classpath;
+        private final FileCollection modulePath;
+
+        SplitClasspath(FileCollection runtimeClasspath, Provider<JavaFXJarClassifier> jarClassifier) {
+            this.classpath = runtimeClasspath.filter(classpath(jarClassifier));
+            this.modulePath = runtimeClasspath.filter(modulePath(jarClassifier));
+        }
+
+        FileCollection getClasspath() {
+            return classpath;
+        }
+
+        FileCollection getModulePath() {
+            return modulePath;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.ProjectLayout;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.SetProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.jvm.toolchain.JavaLauncher;
+import org.gradle.workers.WorkerExecutor;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Links a runtime image with jlink from the JavaFX modules and the modules of the application.
+ * The JDK modules are taken from the 'jmods' folder of the JDK of the {@link #getJavaLauncher() launcher},
+ * unless {@link #getJdkModulePath()} is set.
+ * <p>
+ * The task is cacheable and relocatable: the module path is an input with its content only, and the options
+ * are plain values. An image that was linked on another machine from the same modules and the same JDK
+ * version is taken from the build cache.
+ * <p>
+ * If {@link #getJmods()} is set, the JavaFX jmods are linked in addition to the module path. An archive is
+ * downloaded and extracted into the {@link #getJmodsCacheDir() cache} when the task runs.
+ */
+@CacheableTask
+public abstract class JavaFXJlink extends DefaultTask {
+
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
+    @Inject
+    protected abstract ProjectLayout getProjectLayout();
+
+    public JavaFXJlink() {
+        getStripDebug().convention(false);
+        getGenerateCdsArchive().convention(false);
+        getBindServices().convention(false);
+    }
+
+    /**
+     * @return the modular jars (or jmods) to link, in addition to the modules of the JDK
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getModulePath();
+
+    /**
+     * @return native libraries to copy into the image. They are excluded from the JavaFX modules, so that
+     * JavaFX loads them from the image instead of extracting them at runtime.
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public abstract ConfigurableFileCollection getNativeLibraries();
+
+    /**
+     * @return the root modules of the image, i.e. the JavaFX modules and the modules of the application
+     */
+    @Input
+    public abstract SetProperty<String> getModules();
+
+    /**
+     * @return whether to pass '--strip-debug' to jlink
+     */
+    @Input
+    public abstract Property<Boolean> getStripDebug();
+
+    /**
+     * @return the value of '--compress', e.g. '2' or, since JDK 21, 'zip-6'. Not compressed if not set.
+     */
+    @Input
+    @Optional
+    public abstract Property<String> getCompress();
+
+    /**
+     * @return whether to pass '--generate-cds-archive' to jlink (JDK 17+)
+     */
+    @Input
+    public abstract Property<Boolean> getGenerateCdsArchive();
+
+    /**
+     * @return whether to pass '--bind-services' to jlink
+     */
+    @Input
+    public abstract Property<Boolean> getBindServices();
+
+    /**
+     * @return additional options for jlink, e.g. '--no-header-files'
+     */
+    @Input
+    public abstract ListProperty<String> getOptions();
+
+    /**
+     * @return the JDK whose jlink and modules are used
+     */
+    @Nested
+    @Optional
+    public abstract Property<JavaLauncher> getJavaLauncher();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getImageDir();
+
+    /**
+     * @return the modules of the JDK. If empty, the 'jmods' folder of the JDK of the launcher. Set it to the
+     * 'jmods' folder of a JDK for another platform to link an image for that platform.
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public abstract ConfigurableFileCollection getJdkModulePath();
+
+    /**
+     * @return the platform the image is linked for, if it is not the {@link #getHostPlatform() platform the build
+     * runs on}. Then {@link #getJdkModulePath()} has to be set, because the modules of the JDK of the launcher are
+     * for the wrong platform.
+     */
+    @Input
+    @Optional
+    public abstract Property<JavaFXPlatform> getTargetPlatform();
+
+    /**
+     * @return the platform the build runs on
+     */
+    @Internal
+    public abstract Property<JavaFXPlatform> getHostPlatform();
+
+    /**
+     * @return the JavaFX jmods: a folder, a zip file or the URL of a zip file. A relative path is resolved against
+     * the project folder.
+     */
+    @Input
+    @Optional
+    public abstract Property<String> getJmods();
+
+    /**
+     * @return the local folder or zip file of {@link #getJmods()}, so that its content is an input as well
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public FileCollection getLocalJmods() {
+        return getProjectLayout().files((Callable<Object>) () -> getJmods().isPresent() && JavaFXArchiveCache.isPath(getJmods().get())
+                ? getJmods().get() : List.of());
+    }
+
+    /**
+     * @return the name of the folder an archive of {@link #getJmods()} is extracted to, e.g. version and platform
+     */
+    @Internal
+    public abstract Property<String> getJmodsKey();
+
+    /**
+     * @return the folder archives of {@link #getJmods()} are downloaded and extracted to, shared by all builds
+     * on the machine
+     */
+    @Internal
+    public abstract DirectoryProperty getJmodsCacheDir();
+
+    @TaskAction
+    public void link() {
+        if (getTargetPlatform().isPresent() && getTargetPlatform().get() != getHostPlatform().getOrNull()
+                && getJdkModulePath().isEmpty()) {
+            throw new GradleException("'" + getName() + "' links an image for " + getTargetPlatform().get().getClassifier() +
+                    ", but the JDK modules of the launcher are for the platform the build runs on. Set 'jdkModulePath' " +
+                    "to the 'jmods' folder of a JDK for " + getTargetPlatform().get().getClassifier() + ".");
+        }
+        File javaHome = getJavaLauncher().map(launcher -> launcher.getMetadata().getInstallationPath().getAsFile())
+                .getOrElse(new File(System.getProperty("java.home")));
+        File jmods = getJmods().isPresent()
+                ? findJmods(new JavaFXArchiveCache(getJmodsCacheDir().get().getAsFile(),
+                        getProjectLayout().getProjectDirectory().getAsFile()).provide(getJmods().get(), getJmodsKey().get()))
+                : null;
+        // Run by a worker, so that Gradle can link the images of other platforms at the same time
+        getWorkerExecutor().noIsolation().submit(JavaFXJlinkAction.class, parameters -> {
+            parameters.getJavaHome().set(javaHome);
+            parameters.getModulePath().from(getModulePath());
+            if (jmods != null) {
+                parameters.getModulePath().from(jmods);
+            }
+            parameters.getJdkModulePath().from(getJdkModulePath());
+            parameters.getNativeLibraries().from(getNativeLibraries());
+            parameters.getModules().set(getModules());
+            parameters.getArguments().set(getArguments());
+            parameters.getImageDir().set(getImageDir());
+        });
+    }
+
+    /**
+     * The jmods bundles of JavaFX contain the jmods in a top-level folder.
+     */
+    private static File findJmods(File dir) {
+        File[] jmods = dir.listFiles((d, name) -> name.endsWith(".jmod"));
+        if (jmods != null && jmods.length > 0) {
+            return dir;
+        }
+        File[] subDirs = dir.listFiles(File::isDirectory);
+        return subDirs != null && subDirs.length == 1 ? subDirs[0] : dir;
+    }
+
+    private List<String> getArguments() {
+        List<String> args = new ArrayList<>();
+        if (getStripDebug().get()) {
+            args.add("--strip-debug");
+        }
+        if (getCompress().isPresent()) {
+            args.add("--compress=" + getCompress().get());
+        }
+        if (getGenerateCdsArchive().get()) {
+            args.add("--generate-cds-archive");
+        }
+        if (getBindServices().get()) {
+            args.add("--bind-services");
+        }
+        if (!getNativeLibraries().isEmpty()) {
+            args.add("--exclude-resources=glob:/javafx.*/*.so,glob:/javafx.*/*.dylib,glob:/javafx.*/*.dll");
+        }
+        args.addAll(getOptions().get());
+        return args;
+    }
+}
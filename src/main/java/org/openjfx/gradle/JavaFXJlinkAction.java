@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.SetProperty;
+import org.gradle.process.ExecOperations;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs jlink for {@link JavaFXJlink} and copies the native libraries into the image.
+ */
+public abstract class JavaFXJlinkAction implements WorkAction<JavaFXJlinkAction.Parameters> {
+
+    public interface Parameters extends WorkParameters {
+
+        Property<File> getJavaHome();
+
+        ConfigurableFileCollection getModulePath();
+
+        ConfigurableFileCollection getJdkModulePath();
+
+        ConfigurableFileCollection getNativeLibraries();
+
+        SetProperty<String> getModules();
+
+        ListProperty<String> getArguments();
+
+        DirectoryProperty getImageDir();
+    }
+
+    @Inject
+    protected abstract ExecOperations getExecOperations();
+
+    @Inject
+    protected abstract FileSystemOperations getFileSystemOperations();
+
+    @Override
+    public void execute() {
+        Parameters parameters = getParameters();
+        File javaHome = parameters.getJavaHome().get();
+        File image = parameters.getImageDir().get().getAsFile();
+        // jlink does not write into an existing directory
+        getFileSystemOperations().delete(spec -> spec.delete(image));
+
+        List<String> modulePath = new ArrayList<>();
+        parameters.getModulePath().forEach(module -> modulePath.add(module.getAbsolutePath()));
+        if (parameters.getJdkModulePath().isEmpty()) {
+            File jdkModules = new File(javaHome, "jmods");
+            if (jdkModules.isDirectory()) {
+                modulePath.add(jdkModules.getAbsolutePath());
+            }
+        } else {
+            parameters.getJdkModulePath().forEach(module -> modulePath.add(module.getAbsolutePath()));
+        }
+
+        List<String> args = new ArrayList<>();
+        args.add("--module-path");
+        args.add(String.join(File.pathSeparator, modulePath));
+        args.add("--add-modules");
+        args.add(String.join(",", parameters.getModules().get()));
+        args.addAll(parameters.getArguments().get());
+        args.add("--output");
+        args.add(image.getAbsolutePath());
+
+        getExecOperations().exec(spec -> {
+            spec.setExecutable(new File(javaHome, "bin/jlink").getAbsolutePath());
+            spec.setArgs(args);
+        });
+
+        // The JDK looks for native libraries in 'bin' on Windows and in 'lib' otherwise
+        getFileSystemOperations().copy(spec -> {
+            spec.from(parameters.getNativeLibraries(), windows -> windows.include("*.dll").into("bin"));
+            spec.from(parameters.getNativeLibraries(), other -> other.exclude("*.dll").into("lib"));
+            spec.into(image);
+        });
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
+
+import javax.inject.Inject;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Downloads all JavaFX modules for the given versions and platforms in parallel into a local Maven repository.
+ * The modules in the repository have Gradle Module Metadata with a variant per platform, so that builds using the
+ * repository resolve them without {@link org.openjfx.gradle.metadatarule.JavaFXComponentMetadataRule}.
+ */
+public abstract class JavaFXMirror extends DefaultTask {
+
+    /**
+     * @return the JavaFX versions to download
+     */
+    @Input
+    public abstract ListProperty<String> getVersions();
+
+    /**
+     * @return the platforms to download, e.g. 'linux' or 'mac-aarch64'
+     */
+    @Input
+    public abstract ListProperty<String> getPlatforms();
+
+    /**
+     * @return the URL of the repository to download from, Maven Central by default
+     */
+    @Input
+    public abstract Property<String> getUpstream();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getRepositoryDir();
+
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
+    @TaskAction
+    public void mirror() {
+        String upstream = getUpstream().get().endsWith("/") ? getUpstream().get() : getUpstream().get() + "/";
+        List<JavaFXPlatform> platforms = getPlatforms().get().stream()
+                .map(JavaFXPlatform::fromString)
+                .distinct()
+                .collect(Collectors.toList());
+        WorkQueue workQueue = getWorkerExecutor().noIsolation();
+        for (String version : getVersions().get()) {
+            for (JavaFXModule module : JavaFXModule.values()) {
+                workQueue.submit(JavaFXMirrorAction.class, parameters -> {
+                    parameters.getUpstream().set(upstream);
+                    parameters.getRepositoryDir().set(getRepositoryDir());
+                    parameters.getModule().set(module);
+                    parameters.getVersion().set(version);
+                    parameters.getPlatforms().set(platforms);
+                });
+            }
+        }
+    }
+}
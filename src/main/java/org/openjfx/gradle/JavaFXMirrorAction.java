@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.UncheckedIOException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.openjfx.gradle.JavaFXOptions.MAVEN_JAVAFX_ARTIFACT_GROUP_ID;
+
+/**
+ * Downloads one version of a JavaFX module with its platform jars from the upstream repository into the mirror,
+ * and adds Gradle Module Metadata. Files that the mirror already contains are not downloaded again.
+ */
+public abstract class JavaFXMirrorAction implements WorkAction<JavaFXMirrorAction.Parameters> {
+
+    private static final String GRADLE_METADATA_MARKER = "<!-- do_not_remove: published-with-gradle-metadata -->";
+
+    public interface Parameters extends WorkParameters {
+
+        Property<String> getUpstream();
+
+        DirectoryProperty getRepositoryDir();
+
+        Property<JavaFXModule> getModule();
+
+        Property<String> getVersion();
+
+        ListProperty<JavaFXPlatform> getPlatforms();
+    }
+
+    @Override
+    public void execute() {
+        Parameters parameters = getParameters();
+        mirror(URI.create(parameters.getUpstream().get()), parameters.getRepositoryDir().get().getAsFile().toPath(),
+                parameters.getModule().get(), parameters.getVersion().get(), parameters.getPlatforms().get());
+    }
+
+    static void mirror(URI upstream, Path repository, JavaFXModule module, String version, List<JavaFXPlatform> platforms) {
+        String path = MAVEN_JAVAFX_ARTIFACT_GROUP_ID.replace('.', '/') + "/" + module.getArtifactName() + "/" + version + "/";
+        String baseName = module.getArtifactName() + "-" + version;
+        Path dir = repository.resolve(path);
+        try {
+            Path pom = dir.resolve(baseName + ".pom");
+            if (!download(upstream.resolve(path + pom.getFileName()), pom)) {
+                throw new GradleException(MAVEN_JAVAFX_ARTIFACT_GROUP_ID + ":" + module.getArtifactName() + ":" +
+                        version + " not found in " + upstream);
+            }
+            markPublishedWithGradleMetadata(pom);
+            JavaFXModuleMetadata.writeChecksums(pom);
+            // The jar without classifier and the parent POM are only needed by Maven
+            Path jar = dir.resolve(baseName + ".jar");
+            if (download(upstream.resolve(path + jar.getFileName()), jar)) {
+                JavaFXModuleMetadata.writeChecksums(jar);
+            }
+            String parentPath = MAVEN_JAVAFX_ARTIFACT_GROUP_ID.replace('.', '/') + "/javafx/" + version + "/javafx-" + version + ".pom";
+            if (module == JavaFXModule.BASE && download(upstream.resolve(parentPath), repository.resolve(parentPath))) {
+                JavaFXModuleMetadata.writeChecksums(repository.resolve(parentPath));
+            }
+
+            Map<JavaFXPlatform, Path> platformJars = new LinkedHashMap<>();
+            for (JavaFXPlatform platform : platforms) {
+                Path platformJar = dir.resolve(baseName + "-" + platform.getClassifier() + ".jar");
+                // Not every version is available for every platform
+                if (download(upstream.resolve(path + platformJar.getFileName()), platformJar)) {
+                    JavaFXModuleMetadata.writeChecksums(platformJar);
+                    platformJars.put(platform, platformJar);
+                }
+            }
+            if (platformJars.isEmpty()) {
+                throw new GradleException("No jars for " + platforms.stream().map(JavaFXPlatform::getClassifier)
+                        .collect(Collectors.joining(", ")) + " of " + MAVEN_JAVAFX_ARTIFACT_GROUP_ID + ":" +
+                        module.getArtifactName() + ":" + version + " found in " + upstream);
+            }
+            JavaFXModuleMetadata.write(dir, module, version, platformJars);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return false if the upstream repository doesn't have the file
+     */
+    private static boolean download(URI uri, Path target) throws IOException {
+        if (Files.isRegularFile(target)) {
+            return true;
+        }
+        Files.createDirectories(target.getParent());
+        Path tmp = target.resolveSibling(target.getFileName() + "-" + UUID.randomUUID() + ".tmp");
+        try (InputStream in = uri.toURL().openStream()) {
+            Files.copy(in, tmp);
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (FileNotFoundException | NoSuchFileException e) {
+            return false;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Without the marker, Gradle reads the POM of the module and ignores its Gradle Module Metadata.
+     */
+    private static void markPublishedWithGradleMetadata(Path pom) throws IOException {
+        String content = Files.readString(pom);
+        int modelVersion = content.indexOf("<modelVersion>");
+        if (content.contains(GRADLE_METADATA_MARKER) || modelVersion < 0) {
+            return;
+        }
+        Files.writeString(pom, content.substring(0, modelVersion) + GRADLE_METADATA_MARKER + "\n  " +
+                content.substring(modelVersion));
+    }
+}
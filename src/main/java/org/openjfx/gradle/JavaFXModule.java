@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2025, Gluon
+ * Copyright (c) 2018, 2026, Gluon
  * All rights reserved.
  *
  * Redistribution and use in source and binary forms, with or without
@@ -34,6 +34,7 @@ import org.gradle.api.GradleException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Pattern;
@@ -53,6 +54,30 @@ public enum JavaFXModule {
     static final String PREFIX_MODULE = "javafx.";
     private static final String PREFIX_ARTIFACT = "javafx-";
 
+    /**
+     * The packages of the modules. A package that is not in the map belongs to the module of its closest parent
+     * package, e.g. 'javafx.scene.control.cell' to 'javafx.controls' and 'javafx.scene.layout' to 'javafx.graphics'.
+     */
+    private static final Map<String, JavaFXModule> PACKAGES = Map.ofEntries(
+            Map.entry("javafx.beans", BASE),
+            Map.entry("javafx.collections", BASE),
+            Map.entry("javafx.event", BASE),
+            Map.entry("javafx.util", BASE),
+            Map.entry("javafx.animation", GRAPHICS),
+            Map.entry("javafx.application", GRAPHICS),
+            Map.entry("javafx.concurrent", GRAPHICS),
+            Map.entry("javafx.css", GRAPHICS),
+            Map.entry("javafx.geometry", GRAPHICS),
+            Map.entry("javafx.print", GRAPHICS),
+            Map.entry("javafx.scene", GRAPHICS),
+            Map.entry("javafx.stage", GRAPHICS),
+            Map.entry("javafx.scene.chart", CONTROLS),
+            Map.entry("javafx.scene.control", CONTROLS),
+            Map.entry("javafx.fxml", FXML),
+            Map.entry("javafx.scene.media", MEDIA),
+            Map.entry("javafx.embed.swing", SWING),
+            Map.entry("javafx.scene.web", WEB));
+
     private final List<JavaFXModule> dependentModules;
 
     JavaFXModule(JavaFXModule...dependentModules) {
@@ -65,6 +90,25 @@ public enum JavaFXModule {
                 .findFirst();
     }
 
+    /**
+     * @param packageName the name of a package, e.g. 'javafx.scene.control'
+     * @return the module that exports the package, if it is a JavaFX package
+     */
+    public static Optional<JavaFXModule> fromPackageName(String packageName) {
+        String name = packageName;
+        while (true) {
+            JavaFXModule javaFXModule = PACKAGES.get(name);
+            if (javaFXModule != null) {
+                return Optional.of(javaFXModule);
+            }
+            int dot = name.lastIndexOf('.');
+            if (dot < 0) {
+                return Optional.empty();
+            }
+            name = name.substring(0, dot);
+        }
+    }
+
     public String getModuleName() {
         return PREFIX_MODULE + name().toLowerCase(Locale.ROOT);
     }
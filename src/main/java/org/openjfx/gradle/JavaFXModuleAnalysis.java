@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.FileType;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.SetProperty;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.work.ChangeType;
+import org.gradle.work.FileChange;
+import org.gradle.work.Incremental;
+import org.gradle.work.InputChanges;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Finds the JavaFX modules an application uses, from the references to JavaFX classes in the constant pools of
+ * its compiled classes and from the imports of its FXML files. The {@link #getModulesFile() result} is the
+ * minimal set of modules to declare: the modules that are used directly, without the ones that are required by
+ * another used module anyway. Declared modules that are not used, and used modules that are not declared, are
+ * reported as warnings.
+ * <p>
+ * The task is incremental: only added and changed files are analyzed again. The packages each file refers to
+ * are kept in the {@link #getAnalysisFile() analysis file}.
+ */
+public abstract class JavaFXModuleAnalysis extends DefaultTask {
+
+    private static final Pattern CLASS_REFERENCE = Pattern.compile("(?:^|[L\\[])(javafx/[\\w/$]+)/[\\w$]+");
+    private static final Pattern FXML_IMPORT = Pattern.compile("<\\?import\\s+(javafx\\.[\\w.]+?)\\.(?:\\*|[A-Z][\\w.]*)\\s*\\?>");
+    private static final String SEPARATOR = "\t";
+
+    /**
+     * @return the compiled classes and the resources of the application
+     */
+    @Incremental
+    @InputFiles
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract ConfigurableFileCollection getClasses();
+
+    /**
+     * @return the JavaFX modules declared in the 'javafx' extension
+     */
+    @Input
+    public abstract SetProperty<String> getDeclaredModules();
+
+    /**
+     * @return the file with the minimal set of JavaFX modules, one per line
+     */
+    @OutputFile
+    public abstract RegularFileProperty getModulesFile();
+
+    /**
+     * @return the file with the JavaFX packages that each file of the application refers to
+     */
+    @OutputFile
+    public abstract RegularFileProperty getAnalysisFile();
+
+    @TaskAction
+    public void analyze(InputChanges inputChanges) throws IOException {
+        Path analysisFile = getAnalysisFile().get().getAsFile().toPath();
+        Map<String, Set<String>> packages = new TreeMap<>();
+        if (inputChanges.isIncremental()) {
+            readAnalysis(analysisFile, packages);
+        }
+        for (FileChange change : inputChanges.getFileChanges(getClasses())) {
+            if (change.getFileType() != FileType.FILE) {
+                continue;
+            }
+            String path = change.getNormalizedPath();
+            if (change.getChangeType() == ChangeType.REMOVED) {
+                packages.remove(path);
+            } else if (path.endsWith(".class")) {
+                packages.put(path, classReferences(change.getFile()));
+            } else if (path.endsWith(".fxml")) {
+                packages.put(path, fxmlImports(change.getFile()));
+            }
+        }
+        packages.values().removeIf(Set::isEmpty);
+        writeAnalysis(analysisFile, packages);
+
+        Set<JavaFXModule> used = packages.values().stream()
+                .flatMap(Collection::stream)
+                .map(JavaFXModule::fromPackageName)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toCollection(TreeSet::new));
+        Set<JavaFXModule> minimal = minimalModules(used);
+        Files.write(getModulesFile().get().getAsFile().toPath(), minimal.stream()
+                .map(JavaFXModule::getModuleName)
+                .collect(Collectors.toList()));
+
+        Set<JavaFXModule> declared = JavaFXModule.getJavaFXModules(getDeclaredModules().get());
+        Set<JavaFXModule> declaredWithDependencies = withDependencies(declared);
+        Set<JavaFXModule> usedWithDependencies = withDependencies(minimal);
+        List<String> unused = declared.stream()
+                .filter(javaFXModule -> !usedWithDependencies.contains(javaFXModule))
+                .map(JavaFXModule::getModuleName)
+                .sorted()
+                .collect(Collectors.toList());
+        List<String> missing = minimal.stream()
+                .filter(javaFXModule -> !declaredWithDependencies.contains(javaFXModule))
+                .map(JavaFXModule::getModuleName)
+                .collect(Collectors.toList());
+        if (!unused.isEmpty()) {
+            getLogger().warn("JavaFX modules that are declared, but not used: {}", unused);
+        }
+        if (!missing.isEmpty()) {
+            getLogger().warn("JavaFX modules that are used, but not declared: {}", missing);
+        }
+        getLogger().info("JavaFX modules used: {}", minimal.stream().map(JavaFXModule::getModuleName).collect(Collectors.toList()));
+    }
+
+    /**
+     * @return the modules without the ones that are a dependency of another module of the set
+     */
+    static Set<JavaFXModule> minimalModules(Set<JavaFXModule> javaFXModules) {
+        return javaFXModules.stream()
+                .filter(javaFXModule -> javaFXModules.stream()
+                        .noneMatch(other -> other.getDependentModules().contains(javaFXModule)))
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    static Set<JavaFXModule> withDependencies(Set<JavaFXModule> javaFXModules) {
+        Set<JavaFXModule> closure = new TreeSet<>(javaFXModules);
+        javaFXModules.forEach(javaFXModule -> closure.addAll(javaFXModule.getDependentModules()));
+        return closure;
+    }
+
+    /**
+     * @return the JavaFX packages the class refers to in its constant pool: classes, and the types in
+     * descriptors and signatures of fields, methods and annotations
+     */
+    static Set<String> classReferences(File classFile) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(classFile.toPath()))) {
+            return classReferences(in);
+        } catch (GradleException e) {
+            throw new GradleException("Could not analyze " + classFile + ": " + e.getMessage(), e);
+        }
+    }
+
+    static Set<String> classReferences(InputStream classFile) throws IOException {
+        DataInputStream in = new DataInputStream(classFile);
+        if (in.readInt() != 0xCAFEBABE) {
+            throw new GradleException("Not a class file");
+        }
+        in.readUnsignedShort();
+        in.readUnsignedShort();
+        int constantPoolCount = in.readUnsignedShort();
+        Set<String> packages = new TreeSet<>();
+        for (int i = 1; i < constantPoolCount; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    Matcher matcher = CLASS_REFERENCE.matcher(in.readUTF());
+                    while (matcher.find()) {
+                        packages.add(matcher.group(1).replace('/', '.'));
+                    }
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    in.skipBytes(8);
+                    i++;
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    in.skipBytes(4);
+                    break;
+                case 15: // MethodHandle
+                    in.skipBytes(3);
+                    break;
+                case 7: // Class
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    in.skipBytes(2);
+                    break;
+                default:
+                    throw new GradleException("Unknown constant pool tag " + tag);
+            }
+        }
+        return packages;
+    }
+
+    /**
+     * @return the JavaFX packages imported by the FXML file
+     */
+    static Set<String> fxmlImports(File fxmlFile) throws IOException {
+        Set<String> packages = new TreeSet<>();
+        Matcher matcher = FXML_IMPORT.matcher(Files.readString(fxmlFile.toPath(), StandardCharsets.UTF_8));
+        while (matcher.find()) {
+            packages.add(matcher.group(1));
+        }
+        return packages;
+    }
+
+    /**
+     * @return the modules in the {@link #getModulesFile() modules file}
+     */
+    static Set<String> readModules(File modulesFile) {
+        try {
+            return Files.readAllLines(modulesFile.toPath()).stream()
+                    .filter(line -> !line.isBlank())
+                    .collect(Collectors.toCollection(TreeSet::new));
+        } catch (IOException e) {
+            throw new GradleException("Could not read JavaFX modules from " + modulesFile, e);
+        }
+    }
+
+    private static void readAnalysis(Path analysisFile, Map<String, Set<String>> packages) throws IOException {
+        if (!Files.isRegularFile(analysisFile)) {
+            return;
+        }
+        for (String line : Files.readAllLines(analysisFile)) {
+            String[] fields = line.split(SEPARATOR, -1);
+            if (fields.length == 2) {
+                packages.put(fields[0], new TreeSet<>(List.of(fields[1].split(","))));
+            }
+        }
+    }
+
+    private static void writeAnalysis(Path analysisFile, Map<String, Set<String>> packages) throws IOException {
+        Files.write(analysisFile, packages.entrySet().stream()
+                .map(e -> e.getKey() + SEPARATOR + String.join(",", e.getValue()))
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.nativeplatform.MachineArchitecture;
+import org.gradle.nativeplatform.OperatingSystemFamily;
+import org.openjfx.gradle.transform.JavaFXStripNativesTransform;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.openjfx.gradle.JavaFXOptions.MAVEN_JAVAFX_ARTIFACT_GROUP_ID;
+
+/**
+ * Writes the <a href="https://github.com/gradle/gradle/blob/master/platforms/documentation/docs/src/docs/design/gradle-module-metadata-latest-specification.md">Gradle Module Metadata</a>
+ * of a JavaFX module to a local Maven repository. Like {@link org.openjfx.gradle.metadatarule.JavaFXComponentMetadataRule},
+ * it has a compile and a runtime variant per platform, but the consumers don't need the rule to find them.
+ */
+final class JavaFXModuleMetadata {
+
+    private static final Map<String, String> CHECKSUMS = new LinkedHashMap<>();
+
+    static {
+        CHECKSUMS.put("md5", "MD5");
+        CHECKSUMS.put("sha1", "SHA-1");
+        CHECKSUMS.put("sha256", "SHA-256");
+        CHECKSUMS.put("sha512", "SHA-512");
+    }
+
+    private JavaFXModuleMetadata() {
+    }
+
+    /**
+     * Writes '[artifact]-[version].module' and its checksums.
+     * @param dir the folder of the module version in the repository
+     * @param jars the platform jars of the module, in the same folder
+     */
+    static void write(Path dir, JavaFXModule module, String version, Map<JavaFXPlatform, Path> jars) throws IOException {
+        String dependencies = module.getDependentModules().stream()
+                .map(dependency -> "        {\n" +
+                        "          \"group\": \"" + MAVEN_JAVAFX_ARTIFACT_GROUP_ID + "\",\n" +
+                        "          \"module\": \"" + dependency.getArtifactName() + "\",\n" +
+                        "          \"version\": {\n" +
+                        "            \"requires\": \"" + version + "\"\n" +
+                        "          }\n" +
+                        "        }")
+                .collect(Collectors.joining(",\n"));
+        List<String> variants = new ArrayList<>();
+        for (Map.Entry<JavaFXPlatform, Path> jar : jars.entrySet()) {
+            String file = file(jar.getValue());
+            variants.add(variant(jar.getKey(), "ApiElements", "java-api", dependencies, file));
+            variants.add(variant(jar.getKey(), "RuntimeElements", "java-runtime", dependencies, file));
+        }
+        Path moduleFile = dir.resolve(module.getArtifactName() + "-" + version + ".module");
+        Files.writeString(moduleFile, "{\n" +
+                "  \"formatVersion\": \"1.1\",\n" +
+                "  \"component\": {\n" +
+                "    \"group\": \"" + MAVEN_JAVAFX_ARTIFACT_GROUP_ID + "\",\n" +
+                "    \"module\": \"" + module.getArtifactName() + "\",\n" +
+                "    \"version\": \"" + version + "\",\n" +
+                "    \"attributes\": {\n" +
+                "      \"org.gradle.status\": \"release\"\n" +
+                "    }\n" +
+                "  },\n" +
+                "  \"variants\": [\n" +
+                String.join(",\n", variants) + "\n" +
+                "  ]\n" +
+                "}\n");
+        writeChecksums(moduleFile);
+    }
+
+    /**
+     * Writes the '.md5', '.sha1', '.sha256' and '.sha512' files next to the file, like 'maven-publish' does.
+     */
+    static void writeChecksums(Path file) throws IOException {
+        for (Map.Entry<String, String> checksum : checksums(file).entrySet()) {
+            Files.writeString(file.resolveSibling(file.getFileName() + "." + checksum.getKey()), checksum.getValue());
+        }
+    }
+
+    private static String variant(JavaFXPlatform platform, String nameSuffix, String usage, String dependencies, String file) {
+        return "    {\n" +
+                "      \"name\": \"" + platform.getClassifier() + nameSuffix + "\",\n" +
+                "      \"attributes\": {\n" +
+                "        \"org.gradle.category\": \"library\",\n" +
+                "        \"org.gradle.dependency.bundling\": \"external\",\n" +
+                "        \"org.gradle.libraryelements\": \"jar\",\n" +
+                "        \"" + MachineArchitecture.ARCHITECTURE_ATTRIBUTE.getName() + "\": \"" + platform.getArch() + "\",\n" +
+                "        \"" + OperatingSystemFamily.OPERATING_SYSTEM_ATTRIBUTE.getName() + "\": \"" + platform.getOsFamily() + "\",\n" +
+                "        \"" + JavaFXStripNativesTransform.NATIVES_STRIPPED_ATTRIBUTE.getName() + "\": false,\n" +
+                "        \"org.gradle.usage\": \"" + usage + "\"\n" +
+                "      },\n" +
+                "      \"dependencies\": [\n" +
+                dependencies + (dependencies.isEmpty() ? "" : "\n") +
+                "      ],\n" +
+                "      \"files\": [\n" +
+                file +
+                "      ]\n" +
+                "    }";
+    }
+
+    private static String file(Path jar) throws IOException {
+        Map<String, String> checksums = checksums(jar);
+        return "        {\n" +
+                "          \"name\": \"" + jar.getFileName() + "\",\n" +
+                "          \"url\": \"" + jar.getFileName() + "\",\n" +
+                "          \"size\": " + Files.size(jar) + ",\n" +
+                "          \"sha512\": \"" + checksums.get("sha512") + "\",\n" +
+                "          \"sha256\": \"" + checksums.get("sha256") + "\",\n" +
+                "          \"sha1\": \"" + checksums.get("sha1") + "\",\n" +
+                "          \"md5\": \"" + checksums.get("md5") + "\"\n" +
+                "        }\n";
+    }
+
+    private static Map<String, String> checksums(Path file) throws IOException {
+        Map<String, MessageDigest> digests = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<String, String> checksum : CHECKSUMS.entrySet()) {
+                digests.put(checksum.getKey(), MessageDigest.getInstance(checksum.getValue()));
+            }
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                for (MessageDigest digest : digests.values()) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+        }
+        Map<String, String> checksums = new LinkedHashMap<>();
+        digests.forEach((name, digest) -> checksums.put(name, JavaFXArchiveCache.hex(digest.digest())));
+        return checksums;
+    }
+}
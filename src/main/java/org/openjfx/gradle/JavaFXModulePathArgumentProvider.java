@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.provider.SetProperty;
+import org.gradle.api.tasks.Internal;
+import org.gradle.process.CommandLineArgumentProvider;
+
+import java.io.File;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Adds '--module-path' and '--add-modules' for the JavaFX modules to the command line of a Java process.
+ * Nothing is added if there are no JavaFX jars on the module path, e.g. because the application is modular
+ * and Gradle takes care of the module path itself.
+ */
+public abstract class JavaFXModulePathArgumentProvider implements CommandLineArgumentProvider {
+
+    @Classpath
+    public abstract ConfigurableFileCollection getModulePath();
+
+    @Input
+    public abstract SetProperty<String> getModules();
+
+    /**
+     * @return the service that records the time spent in splitting the module path, if instrumentation is enabled
+     */
+    @Internal
+    public abstract Property<JavaFXInstrumentation> getInstrumentation();
+
+    /**
+     * @return the path of the task, for the instrumentation report
+     */
+    @Internal
+    public abstract Property<String> getTaskPath();
+
+    /**
+     * @return the folder of the instrumentation report
+     */
+    @Internal
+    public abstract DirectoryProperty getReportDir();
+
+    @Override
+    public Iterable<String> asArguments() {
+        long start = System.nanoTime();
+        Set<File> modulePath = getModulePath().getFiles();
+        if (getInstrumentation().isPresent()) {
+            String taskPath = getTaskPath().get();
+            String projectPath = taskPath.lastIndexOf(':') > 0 ? taskPath.substring(0, taskPath.lastIndexOf(':')) : ":";
+            getInstrumentation().get().recordModulePath(projectPath, getReportDir().get().getAsFile(), taskPath,
+                    modulePath.size(), modulePath.stream().mapToLong(File::length).sum(), System.nanoTime() - start);
+        }
+        if (modulePath.isEmpty()) {
+            return List.of();
+        }
+        return List.of(
+                "--module-path", modulePath.stream().map(File::getAbsolutePath).collect(Collectors.joining(File.pathSeparator)),
+                "--add-modules", String.join(",", getModules().get()));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2025, Gluon
+ * Copyright (c) 2018, 2026, Gluon
  * All rights reserved.
  *
  * Redistribution and use in source and binary forms, with or without
@@ -30,42 +30,80 @@
 package org.openjfx.gradle;
 
 import com.google.gradle.osdetector.OsDetector;
+import org.gradle.api.Action;
+import org.gradle.api.DomainObjectSet;
+import org.gradle.api.GradleException;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.ConfigurationContainer;
+import org.gradle.api.artifacts.Dependency;
 import org.gradle.api.artifacts.dsl.DependencyHandler;
 import org.gradle.api.artifacts.dsl.RepositoryHandler;
-import org.gradle.api.artifacts.repositories.FlatDirectoryArtifactRepository;
+import org.gradle.api.artifacts.repositories.MavenArtifactRepository;
+import org.gradle.api.attributes.Attribute;
+import org.gradle.api.attributes.Bundling;
+import org.gradle.api.attributes.Category;
+import org.gradle.api.attributes.LibraryElements;
+import org.gradle.api.attributes.Usage;
+import org.gradle.api.file.Directory;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.ProjectLayout;
 import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.provider.ProviderFactory;
 import org.gradle.api.provider.SetProperty;
+import org.gradle.api.tasks.SourceSet;
 import org.gradle.api.tasks.SourceSetContainer;
 import org.gradle.nativeplatform.MachineArchitecture;
 import org.gradle.nativeplatform.OperatingSystemFamily;
+import org.gradle.util.GradleVersion;
+import org.openjfx.gradle.metadatarule.JavaFXComponentMetadataRule;
+import org.openjfx.gradle.metadatarule.JavaFXPlatformCatalog;
+import org.openjfx.gradle.transform.JavaFXStripNativesTransform;
 
 import javax.inject.Inject;
 import java.io.File;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 abstract public class JavaFXOptions {
 
     static final String MAVEN_JAVAFX_ARTIFACT_GROUP_ID = "org.openjfx";
     private static final String JAVAFX_SDK_LIB_FOLDER = "lib";
+    private static final String JAVAFX_SDK_BIN_FOLDER = "bin";
+    // The attributes of the classpaths can be derived from the properties since Gradle 7.4
+    private static final boolean LAZY_ATTRIBUTES = GradleVersion.current().compareTo(GradleVersion.version("7.4")) >= 0;
+
     private final SetProperty<String> modules;
     private final Property<JavaFXPlatform> platform;
-
-
-    private String version = "17";
-    private String sdk;
-    private String[] configurations = new String[] { "implementation" };
-    private FlatDirectoryArtifactRepository customSDKArtifactRepository;
+    private final Property<String> version;
+    private final Property<String> sdk;
+    private final ListProperty<String> configurations;
+    private final SetProperty<String> stripNatives;
+    private final Map<String, List<String>> platformCatalog = new TreeMap<>(JavaFXPlatformCatalog.defaults());
+    private Provider<JavaFXInstrumentation> instrumentation;
+    private String instrumentedProjectPath;
+    private Provider<Directory> instrumentationReportDir;
+    private MavenArtifactRepository customSDKArtifactRepository;
+    private final Map<Set<JavaFXModule>, String> sdkVersions = new ConcurrentHashMap<>();
 
     private final SourceSetContainer sourceSets;
-    private final Set<String> seenConfigurations = new HashSet<>();
+    private final DomainObjectSet<JavaFXPlatform> distributionPlatforms;
+    private final JavaFXPerformance performance;
+    private final JavaFXProfiling profiling;
+    private final Map<JavaFXPlatform, Configuration> platformRuntimeClasspaths = new LinkedHashMap<>();
+    private final File sdkCacheDir;
+    private final JavaFXArchiveCache sdkCache;
 
     @Inject
     abstract protected ObjectFactory getObjects();
@@ -79,12 +117,32 @@ abstract public class JavaFXOptions {
     @Inject
     abstract protected DependencyHandler getDependencies();
 
-    public JavaFXOptions(SourceSetContainer sourceSets, OsDetector osDetector) {
+    @Inject
+    abstract protected ProjectLayout getProjectLayout();
+
+    @Inject
+    abstract protected ProviderFactory getProviders();
+
+    public JavaFXOptions(SourceSetContainer sourceSets, OsDetector osDetector, File sdkCacheDir) {
         this.sourceSets = sourceSets;
+        this.sdkCacheDir = sdkCacheDir;
+        this.sdkCache = new JavaFXArchiveCache(sdkCacheDir, getProjectLayout().getProjectDirectory().getAsFile());
         platform = getObjects().property(JavaFXPlatform.class);
+        version = getObjects().property(String.class).convention("17");
+        sdk = getObjects().property(String.class);
+        configurations = getObjects().listProperty(String.class).convention(List.of("implementation"));
+        stripNatives = getObjects().setProperty(String.class).convention(Set.of());
+        distributionPlatforms = getObjects().domainObjectSet(JavaFXPlatform.class);
+        performance = getObjects().newInstance(JavaFXPerformance.class);
+        profiling = getObjects().newInstance(JavaFXProfiling.class);
         getFxPlatform().convention(JavaFXPlatform.detect(osDetector));
         setClasspathAttributesForAllSourceSets();
         modules = getObjects().setProperty(String.class);
+        getCdsArchive().convention(false);
+        getExtractNatives().convention(false);
+        getInferModules().convention(false);
+        getHeadlessTests().convention(false);
+        getMonocleVersion().convention(version.map(JavaFXOptions::defaultMonocleVersion));
     }
 
 
@@ -103,45 +161,191 @@ abstract public class JavaFXOptions {
      */
     public void setPlatform(String platform) {
         this.getFxPlatform().set(JavaFXPlatform.fromString(platform));
-        setClasspathAttributesForAllSourceSets();
+        if (!LAZY_ATTRIBUTES) {
+            setClasspathAttributesForAllSourceSets();
+        }
     }
 
     private void setClasspathAttributesForAllSourceSets() {
         sourceSets.all(sourceSet -> {
-            setClasspathAttributes(getConfigurationContainer().getByName(sourceSet.getCompileClasspathConfigurationName()));
-            setClasspathAttributes(getConfigurationContainer().getByName(sourceSet.getRuntimeClasspathConfigurationName()));
+            setClasspathAttributes(getConfigurationContainer().getByName(sourceSet.getCompileClasspathConfigurationName()), platform);
+            setClasspathAttributes(getConfigurationContainer().getByName(sourceSet.getRuntimeClasspathConfigurationName()), platform);
         });
     }
 
-    private void setClasspathAttributes(Configuration classpath) {
-        classpath.getAttributes().attribute(
-                OperatingSystemFamily.OPERATING_SYSTEM_ATTRIBUTE,
-                getObjects().named(OperatingSystemFamily.class, platform.get().getOsFamily()));
-        classpath.getAttributes().attribute(
-                MachineArchitecture.ARCHITECTURE_ATTRIBUTE,
-                getObjects().named(MachineArchitecture.class, platform.get().getArch()));
+    private void setClasspathAttributes(Configuration classpath, Provider<JavaFXPlatform> javaFXPlatform) {
+        setAttribute(classpath, OperatingSystemFamily.OPERATING_SYSTEM_ATTRIBUTE,
+                javaFXPlatform.map(p -> getObjects().named(OperatingSystemFamily.class, p.getOsFamily())));
+        setAttribute(classpath, MachineArchitecture.ARCHITECTURE_ATTRIBUTE,
+                javaFXPlatform.map(p -> getObjects().named(MachineArchitecture.class, p.getArch())));
     }
 
-    public String getVersion() {
+    /**
+     * Sets the attribute from the provider when the classpath is resolved or, before Gradle 7.4, right away.
+     * The setters of the properties then set the attributes again.
+     */
+    private static <T> void setAttribute(Configuration classpath, Attribute<T> attribute, Provider<T> value) {
+        if (LAZY_ATTRIBUTES) {
+            classpath.getAttributes().attributeProvider(attribute, value);
+        } else {
+            classpath.getAttributes().attribute(attribute, value.get());
+        }
+    }
+
+    public DomainObjectSet<JavaFXPlatform> getFxDistributionPlatforms() {
+        return distributionPlatforms;
+    }
+
+    public Set<JavaFXPlatform> getDistributionPlatforms() {
+        return Set.copyOf(distributionPlatforms);
+    }
+
+    /**
+     * Sets the platforms to build distributions for, in addition to the distribution of the 'application' plugin.
+     * For each platform, there is a runtime classpath with the JavaFX jars of the platform, a 'javafxDistZip'
+     * and a 'javafxJlink' task, e.g. 'javafxDistZipMacAarch64'. The 'javafxDistributions' task builds the
+     * distributions of all platforms at the same time.
+     * @param platforms platform classifiers, as for {@link #setPlatform(String)}
+     */
+    public void setDistributionPlatforms(List<String> platforms) {
+        distributionPlatforms.clear();
+        platforms.forEach(p -> distributionPlatforms.add(JavaFXPlatform.fromString(p)));
+    }
+
+    public void distributionPlatforms(String... platforms) {
+        setDistributionPlatforms(List.of(platforms));
+    }
+
+    /**
+     * @return the runtime classpath of the 'main' source set for the platform
+     */
+    Configuration getRuntimeClasspath(JavaFXPlatform javaFXPlatform) {
+        return platformRuntimeClasspaths.computeIfAbsent(javaFXPlatform, p -> {
+            SourceSet main = sourceSets.getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+            Configuration classpath = getConfigurationContainer().create("javafx" + p.getNameSuffix() + "RuntimeClasspath");
+            classpath.setDescription("Runtime classpath of source set 'main' for " + p.getClassifier() + ".");
+            classpath.setVisible(false);
+            classpath.setCanBeConsumed(false);
+            classpath.setCanBeResolved(true);
+            classpath.extendsFrom(
+                    getConfigurationContainer().getByName(main.getImplementationConfigurationName()),
+                    getConfigurationContainer().getByName(main.getRuntimeOnlyConfigurationName()));
+            classpath.getAttributes().attribute(Usage.USAGE_ATTRIBUTE, getObjects().named(Usage.class, Usage.JAVA_RUNTIME));
+            classpath.getAttributes().attribute(Category.CATEGORY_ATTRIBUTE, getObjects().named(Category.class, Category.LIBRARY));
+            classpath.getAttributes().attribute(LibraryElements.LIBRARY_ELEMENTS_ATTRIBUTE,
+                    getObjects().named(LibraryElements.class, LibraryElements.JAR));
+            classpath.getAttributes().attribute(Bundling.BUNDLING_ATTRIBUTE, getObjects().named(Bundling.class, Bundling.EXTERNAL));
+            setClasspathAttributes(classpath, getProviders().provider(() -> p));
+            classpath.withDependencies(dependencySet -> checkPublished(p));
+            return classpath;
+        });
+    }
+
+    /**
+     * @return the runtime classpath, with the JavaFX jars stripped of 'javafx.stripNatives'
+     */
+    FileCollection withNativesStripped(Configuration runtimeClasspath) {
+        return withNativesStripped(runtimeClasspath, runtimeClasspath);
+    }
+
+    /**
+     * Replaces the JavaFX jars of the runtime classpath among the files, e.g. the runtime classpath of a source set,
+     * by the jars 'JavaFXStripNativesTransform' strips of 'javafx.stripNatives'. Only the JavaFX variants have the
+     * attribute the artifact view requests, so no other jar is transformed.
+     */
+    FileCollection withNativesStripped(FileCollection files, Configuration runtimeClasspath) {
+        FileCollection strippedClasspath = runtimeClasspath.getIncoming().artifactView(view -> view.attributes(attributes ->
+                attributes.attribute(JavaFXStripNativesTransform.NATIVES_STRIPPED_ATTRIBUTE, true))).getFiles();
+        return getObjects().fileCollection().from((Callable<Object>) () -> {
+            if (stripNatives.get().isEmpty()) {
+                return files;
+            }
+            // A stripped jar has the name of the jar it replaces
+            Set<File> jars = runtimeClasspath.getFiles();
+            Map<String, File> strippedJars = strippedClasspath.getFiles().stream()
+                    .filter(jar -> !jars.contains(jar))
+                    .collect(Collectors.toMap(File::getName, jar -> jar));
+            return files.getFiles().stream()
+                    .map(file -> jars.contains(file) ? strippedJars.getOrDefault(file.getName(), file) : file)
+                    .collect(Collectors.toList());
+        }).builtBy(files, strippedClasspath);
+    }
+
+    /**
+     * Records the time spent in declaring the JavaFX dependencies of the project.
+     */
+    void setInstrumentation(Provider<JavaFXInstrumentation> instrumentation, String projectPath, Provider<Directory> reportDir) {
+        this.instrumentation = instrumentation;
+        this.instrumentedProjectPath = projectPath;
+        this.instrumentationReportDir = reportDir;
+    }
+
+    public Map<String, List<String>> getPlatformCatalog() {
+        return Collections.unmodifiableMap(platformCatalog);
+    }
+
+    /**
+     * Sets the JavaFX versions that are published for the given platforms. The variants of the other versions are
+     * left out of the metadata of the JavaFX modules, so that Gradle does not look for jars that do not exist, and
+     * the build fails before it resolves the JavaFX modules for a platform the version is not published for.
+     * Platforms that are not in the catalog are published for all versions. By default, the catalog has entries
+     * for 'linux-aarch64' and 'mac-aarch64', which are published since JavaFX 11.0.12 and JavaFX 17. The catalog
+     * is read when the JavaFX modules are resolved.
+     * @param catalog platform classifiers, as for {@link #setPlatform(String)}, and their version ranges, e.g.
+     * '[11.0.12,12)' or '[17,)', see {@link JavaFXPlatformCatalog}
+     */
+    public void setPlatformCatalog(Map<String, List<String>> catalog) {
+        platformCatalog.clear();
+        catalog.forEach(this::platformCatalog);
+    }
+
+    /**
+     * Sets the version ranges of one platform in the platform catalog, see {@link #setPlatformCatalog(Map)}.
+     */
+    public void platformCatalog(String platform, List<String> versionRanges) {
+        versionRanges.forEach(JavaFXPlatformCatalog::validate);
+        platformCatalog.put(JavaFXPlatform.fromString(platform).getClassifier(), List.copyOf(versionRanges));
+    }
+
+    /**
+     * The JavaFX version, 17 by default. It is read when a configuration with JavaFX dependencies is resolved.
+     * @return the JavaFX version
+     */
+    public Property<String> getFxVersion() {
         return version;
     }
 
+    public String getVersion() {
+        return version.get();
+    }
+
     public void setVersion(String version) {
-        this.version = version;
+        this.version.set(version);
+    }
+
+    /**
+     * The JavaFX SDK, see {@link #setSdk(String)}. If it is set from a provider, the repository of the SDK is
+     * registered when a configuration with JavaFX dependencies is resolved.
+     * @return the location of the local JavaFX SDK
+     */
+    public Property<String> getFxSdk() {
+        return sdk;
     }
 
     /**
      * If set, the JavaFX modules will be taken from this local
      * repository, and not from Maven Central
-     * @param sdk, the path to the local JavaFX SDK folder
+     * @param sdk, the path to the local JavaFX SDK folder, or to a JavaFX SDK zip file (local path or URL).
+     * When the dependencies are resolved, the required modules are published from the SDK into a Maven repository
+     * in the Gradle user home, with Gradle Module Metadata for the platform of the SDK.
      */
     public void setSdk(String sdk) {
-        this.sdk = sdk;
+        this.sdk.set(sdk);
         updateCustomSDKArtifactRepository();
     }
 
     public String getSdk() {
-        return sdk;
+        return sdk.getOrNull();
     }
 
     /**
@@ -159,21 +363,24 @@ abstract public class JavaFXOptions {
      * @param configurations List of configuration names
      */
     public void setConfigurations(String[] configurations) {
-        this.configurations = configurations;
-        for (String conf : configurations) {
-            if (!seenConfigurations.contains(conf)) {
-                declareFXDependencies(conf);
-                seenConfigurations.add(conf);
-            }
-        }
+        this.configurations.set(List.of(configurations));
+    }
+
+    /**
+     * The configurations the JavaFX dependencies are declared in, 'implementation' by default. The dependencies
+     * are declared right before one of the configurations, or a configuration that extends it, is resolved.
+     * @return the configuration names
+     */
+    public ListProperty<String> getFxConfigurations() {
+        return configurations;
     }
 
     public String getConfiguration() {
-        return configurations[0];
+        return configurations.get().get(0);
     }
 
     public String[] getConfigurations() {
-        return configurations;
+        return configurations.get().toArray(new String[0]);
     }
 
     public SetProperty<String> getFxModules() {
@@ -193,58 +400,273 @@ abstract public class JavaFXOptions {
         setModules(List.of(moduleNames));
     }
 
-    private void declareFXDependencies(String conf) {
-        // Use 'withDependencies' to declare the dependencies late (i.e., right before dependency resolution starts).
-        // This allows users to make multiple modifications to the 'configurations' list at arbitrary times during
-        // build configuration.
-        getConfigurationContainer().getByName(conf).withDependencies(dependencySet -> {
-            if (!List.of(configurations).contains(conf)) {
-                // configuration was removed: do nothing
-                return;
-            }
+    public SetProperty<String> getFxStripNatives() {
+        return stripNatives;
+    }
 
-            var javaFXModules = JavaFXModule.getJavaFXModules(getModules());
-            if (customSDKArtifactRepository == null) {
-                javaFXModules.stream()
-                        .sorted()
-                        .forEach(javaFXModule ->
-                                dependencySet.add(getDependencies().create(
-                                        MAVEN_JAVAFX_ARTIFACT_GROUP_ID + ":" +
-                                                javaFXModule.getArtifactName() + ":" +
-                                                getVersion())));
-            } else {
-                // Use the list of dependencies of each module to also add direct dependencies for those.
-                // This is needed, because there is no information about transitive dependencies in the metadata
-                // of the modules (as there is no such metadata in the local sdk).
-                var javaFXModulesWithTransitives = Stream.concat(
-                                javaFXModules.stream(),
-                                javaFXModules.stream()
-                                        .flatMap(m -> m.getDependentModules().stream()))
-                        .distinct()
-                        .sorted();
-
-                javaFXModulesWithTransitives.forEach(javaFXModule ->
-                        dependencySet.add(getDependencies().create(
-                                Map.of("name", javaFXModule.getModuleName()))));
-            }
+    public Set<String> getStripNatives() {
+        return stripNatives.get();
+    }
+
+    /**
+     * Removes native libraries from the JavaFX jars of the runtime classpaths, and hence from 'run', 'test'
+     * and the distribution, e.g. 'libjfxwebkit' or 'libgstreamer-lite'. The name of a library can be given
+     * with or without 'lib' prefix and file extension, and '*' matches any characters, e.g. 'libavplugin*'.
+     * The stripped jars are created once by an artifact transform and cached by Gradle.
+     * @param natives names of the native libraries to remove
+     */
+    public void setStripNatives(List<String> natives) {
+        this.stripNatives.set(Set.copyOf(natives));
+    }
+
+    public void stripNatives(String... natives) {
+        setStripNatives(List.of(natives));
+    }
+
+    /**
+     * If enabled, the 'run' task uses the AppCDS archive created by the 'javafxCdsArchive' task. The archive is not
+     * part of the distribution, because it only matches the JavaFX jars in the Gradle cache, and not used by the
+     * tests, which have JavaFX on the classpath or, if headless, patch 'javafx.graphics'. Disabled by default.
+     * @return whether to use an AppCDS archive of the JavaFX classes
+     */
+    public abstract Property<Boolean> getCdsArchive();
+
+    /**
+     * If enabled, the native libraries of the JavaFX jars are extracted at build time by the 'javafxNatives'
+     * task and added to the distribution and the jlink image. 'run' and the start scripts point JavaFX to them,
+     * so that it does not extract them into the user's home folder at runtime. Disabled by default.
+     * @return whether to extract the JavaFX native libraries at build time
+     */
+    public abstract Property<Boolean> getExtractNatives();
+
+    /**
+     * If enabled, 'run', the 'JavaFXExec' tasks, the AppCDS archive and jlink use the JavaFX modules that the
+     * 'javafxModuleAnalysis' task finds in the classes of the application, instead of 'modules'. The dependencies
+     * are still declared for 'modules', which the classes are compiled against. Disabled by default.
+     * @return whether to launch and link the application with the JavaFX modules it uses
+     */
+    public abstract Property<Boolean> getInferModules();
+
+    /**
+     * If enabled, the 'test' tasks run JavaFX with the headless Monocle platform and software rendering, so that
+     * UI tests need neither a display nor Xvfb. The JavaFX jars are put on the module path, and JavaFX uses the
+     * native libraries extracted by 'javafxNatives', so that parallel test forks do not extract them concurrently.
+     * Disabled by default.
+     * @return whether to run the tests with headless JavaFX
+     */
+    public abstract Property<Boolean> getHeadlessTests();
+
+    /**
+     * The version of 'org.testfx:openjfx-monocle' for the headless tests. By default, the latest version for the
+     * JavaFX version. Dependencies added to the 'javafxMonocle' configuration replace it.
+     * @return the version of Monocle
+     */
+    public abstract Property<String> getMonocleVersion();
+
+    /**
+     * The JavaFX jmods for jlink: a local folder, a local zip file or the URL of a zip file, e.g. the jmods
+     * bundle from gluonhq.com. Archives are downloaded and extracted once into the Gradle user home. If not set,
+     * jlink uses the JavaFX jars.
+     * @return the location of the JavaFX jmods
+     */
+    public abstract Property<String> getJmods();
+
+    /**
+     * The JavaFX and JVM settings for 'run', the 'JavaFXExec' and 'Test' tasks, the start scripts and the
+     * jlink images, with named profiles.
+     * @return the performance settings
+     */
+    public JavaFXPerformance getPerformance() {
+        return performance;
+    }
+
+    public void performance(Action<? super JavaFXPerformance> action) {
+        action.execute(performance);
+    }
+
+    /**
+     * The profiling of 'run', the 'JavaFXExec' and 'Test' tasks.
+     * @return the profiling settings
+     */
+    public JavaFXProfiling getProfiling() {
+        return profiling;
+    }
+
+    public void profiling(Action<? super JavaFXProfiling> action) {
+        action.execute(profiling);
+    }
+
+    static String defaultMonocleVersion(String javaFXVersion) {
+        int feature;
+        try {
+            feature = Integer.parseInt(javaFXVersion.split("[.+-]", 2)[0]);
+        } catch (NumberFormatException e) {
+            feature = 0;
+        }
+        if (feature >= 21 || feature == 0) {
+            // Unknown versions (e.g. a snapshot) use the latest Monocle
+            return "21.0.2";
+        } else if (feature >= 17) {
+            return "17.0.10";
+        } else if (feature >= 12) {
+            return "jdk-12.0.1+2";
+        }
+        return "jdk-11+26";
+    }
+
+    /**
+     * Adds a provider of the JavaFX dependencies to every configuration. It only returns dependencies for the
+     * configurations that are listed in 'configurations', and is only called when the dependencies of the
+     * configuration are needed, e.g. right before it or a configuration that extends it is resolved, when the
+     * JavaFX version, the modules and the platform are final. The plugin calls it once, when it is applied.
+     */
+    void declareFXDependencies() {
+        getConfigurationContainer().configureEach(configuration -> {
+            // Gradle reads the repositories before the dependencies, so the repository of an SDK that is set from
+            // a provider is registered right before the resolution starts
+            configuration.withDependencies(dependencySet -> updateCustomSDKArtifactRepository());
+            configuration.getDependencies().addAllLater(
+                    getProviders().provider(() -> fxDependencies(configuration.getName())));
         });
     }
 
+    private List<Dependency> fxDependencies(String conf) {
+        if (!configurations.get().contains(conf)) {
+            return List.of();
+        }
+        // In case the dependencies are read before the configuration is resolved
+        updateCustomSDKArtifactRepository();
+
+        long start = System.nanoTime();
+        List<Dependency> dependencies = createFXDependencies();
+        if (instrumentation != null) {
+            instrumentation.get().recordDependencies(instrumentedProjectPath, instrumentationReportDir.get().getAsFile(),
+                    conf, System.nanoTime() - start);
+        }
+        return dependencies;
+    }
+
+    private List<Dependency> createFXDependencies() {
+        var javaFXModules = JavaFXModule.getJavaFXModules(getModules());
+        if (!javaFXModules.isEmpty()) {
+            checkPublished(getPlatform());
+        }
+        String version = customSDKArtifactRepository == null ? getVersion() : generateSdkRepository(javaFXModules);
+        return javaFXModules.stream()
+                .sorted()
+                .map(javaFXModule -> getDependencies().create(
+                        MAVEN_JAVAFX_ARTIFACT_GROUP_ID + ":" +
+                                javaFXModule.getArtifactName() + ":" +
+                                version))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Registers a rule for the JavaFX modules that adds variant information, like 'JavaFXComponentMetadataRule'.
+     * Future JavaFX versions could publish this information using Gradle Metadata. The rule reads the platform
+     * catalog when Gradle runs it, so that the catalog can be changed until the JavaFX modules are resolved.
+     * The rules are registered for all JavaFX modules, as libraries can depend on modules that are not in 'modules',
+     * but Gradle only runs them for the modules and versions that take part in dependency resolution. The plugin
+     * calls it once, when it is applied.
+     */
+    void registerComponentMetadataRules() {
+        Provider<Map<String, List<String>>> catalog = getProviders().provider(() -> Map.copyOf(platformCatalog));
+        for (JavaFXModule javaFXModule : JavaFXModule.values()) {
+            getDependencies().getComponents().withModule(
+                    MAVEN_JAVAFX_ARTIFACT_GROUP_ID + ":" + javaFXModule.getArtifactName(),
+                    details -> JavaFXComponentMetadataRule.addVariants(details, catalog.get(), getObjects()));
+        }
+    }
+
+    /**
+     * Without a variant for the platform, Gradle would silently fall back to the JavaFX jars without natives.
+     */
+    private void checkPublished(JavaFXPlatform javaFXPlatform) {
+        if (customSDKArtifactRepository == null
+                && !JavaFXPlatformCatalog.isPublished(platformCatalog, javaFXPlatform.getClassifier(), getVersion())) {
+            throw new GradleException(String.format("JavaFX %s is not published for platform '%s'. " +
+                    "If it is, add the version to 'javafx.platformCatalog'.", getVersion(), javaFXPlatform.getClassifier()));
+        }
+    }
+
     private void updateCustomSDKArtifactRepository() {
+        String location = sdk.getOrNull();
+        if (location == null || location.isEmpty()) {
+            if (customSDKArtifactRepository != null) {
+                getRepositories().remove(customSDKArtifactRepository);
+                customSDKArtifactRepository = null;
+            }
+            return;
+        }
         if (customSDKArtifactRepository != null) {
-            getRepositories().remove(customSDKArtifactRepository);
-            customSDKArtifactRepository = null;
+            return;
         }
+        customSDKArtifactRepository = getRepositories().maven(repository -> {
+            repository.setName("customSDKArtifactRepository");
+            // The folder depends on the SDK and the platform, which are only read when the repository is used
+            repository.setUrl(getProviders().provider(() -> sdkRepository().getRepositoryDir()));
+            repository.metadataSources(MavenArtifactRepository.MetadataSources::gradleMetadata);
+            repository.content(content -> content.includeGroup(MAVEN_JAVAFX_ARTIFACT_GROUP_ID));
+        });
+        // Take precedence over Maven Central, which has the same modules
+        getRepositories().remove(customSDKArtifactRepository);
+        getRepositories().addFirst(customSDKArtifactRepository);
+    }
 
-        if (sdk != null && !sdk.isEmpty()) {
-            Map<String, String> dirs = new HashMap<>();
-            dirs.put("name", "customSDKArtifactRepository");
-            if (sdk.endsWith(File.separator)) {
-                dirs.put("dirs", sdk + JAVAFX_SDK_LIB_FOLDER);
-            } else {
-                dirs.put("dirs", sdk + File.separator + JAVAFX_SDK_LIB_FOLDER);
-            }
-            customSDKArtifactRepository = getRepositories().flatDir(dirs);
+    /**
+     * @return the repository of the SDK and the platform, which is shared by all builds on the machine
+     */
+    private JavaFXSdkRepository sdkRepository() {
+        return new JavaFXSdkRepository(new File(sdkCacheDir, "repositories/" + JavaFXArchiveCache.sha256(
+                sdkCache.resolveLocation(sdk.get()) + "|" + getPlatform().getClassifier()).substring(0, 16)));
+    }
+
+    /**
+     * Generates the modules and the modules they depend on into the SDK repository. The SDK is only inspected
+     * once per build and set of modules.
+     * @return the version of the SDK
+     */
+    private String generateSdkRepository(Set<JavaFXModule> javaFXModules) {
+        return sdkVersions.computeIfAbsent(Set.copyOf(javaFXModules), modules -> {
+            Set<JavaFXModule> modulesWithDependencies = Stream.concat(
+                            modules.stream(),
+                            modules.stream().flatMap(m -> m.getDependentModules().stream()))
+                    .collect(Collectors.toCollection(TreeSet::new));
+            File sdkLib = findSdkLib(sdkCache.provide(sdk.get(), "sdk", entry -> isRequiredSdkEntry(entry, modulesWithDependencies)));
+            return sdkRepository().generate(sdkLib, getPlatform(), modulesWithDependencies, getVersion());
+        });
+    }
+
+    private static boolean isRequiredSdkEntry(String entry, Set<JavaFXModule> javaFXModules) {
+        String[] segments = entry.split("/");
+        if (segments.length < 2) {
+            return false;
+        }
+        String folder = segments[segments.length - 2];
+        String name = segments[segments.length - 1];
+        if (!folder.equals(JAVAFX_SDK_LIB_FOLDER) && !folder.equals(JAVAFX_SDK_BIN_FOLDER)) {
+            return false;
+        }
+        if (name.endsWith(".jar")) {
+            return javaFXModules.stream().anyMatch(javaFXModule -> name.equals(javaFXModule.getModuleJarFileName()));
+        }
+        // the native libraries are loaded from next to the jars ('lib'), or from 'bin' on Windows
+        return name.endsWith(".so") || name.endsWith(".dylib") || name.endsWith(".dll") || name.equals("javafx.properties");
+    }
+
+    /**
+     * @param sdk the SDK folder, or the folder the SDK archive was extracted to
+     * @return the 'lib' folder of the SDK, which might be nested in a 'javafx-sdk-*' folder
+     */
+    private static File findSdkLib(File sdk) {
+        File lib = new File(sdk, JAVAFX_SDK_LIB_FOLDER);
+        if (lib.isDirectory()) {
+            return lib;
+        }
+        File[] nested = sdk.listFiles(file -> new File(file, JAVAFX_SDK_LIB_FOLDER).isDirectory());
+        if (nested == null || nested.length != 1) {
+            throw new GradleException("The JavaFX SDK " + sdk + " has no '" + JAVAFX_SDK_LIB_FOLDER + "' folder");
         }
+        return new File(nested[0], JAVAFX_SDK_LIB_FOLDER);
     }
 }
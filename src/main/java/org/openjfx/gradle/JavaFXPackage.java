@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.UncheckedIOException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.Directory;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.FileType;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.jvm.toolchain.JavaLauncher;
+import org.gradle.nativeplatform.OperatingSystemFamily;
+import org.gradle.process.ExecOperations;
+import org.gradle.work.ChangeType;
+import org.gradle.work.FileChange;
+import org.gradle.work.Incremental;
+import org.gradle.work.InputChanges;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Packages the application as an app image with 'jpackage --type app-image', with the runtime image of
+ * {@link JavaFXJlink}. jpackage can only package for the operating system it runs on.
+ * <p>
+ * The task is incremental: if only the jars of the application changed, they are copied into the existing app
+ * image and the classpath in the configuration of its launcher is updated, without running jpackage, which copies
+ * the whole runtime image. Any other change, e.g. to the runtime image or the main class, packages the image again.
+ * The modules of a modular application are linked into the runtime image, so it is always packaged again.
+ */
+public abstract class JavaFXPackage extends DefaultTask {
+
+    private static final String CLASSPATH_KEY = "app.classpath=";
+
+    @Inject
+    protected abstract ExecOperations getExecOperations();
+
+    @Inject
+    protected abstract FileSystemOperations getFileSystemOperations();
+
+    /**
+     * @return the jars of a non-modular application, which jpackage puts on the classpath
+     */
+    @Incremental
+    @Classpath
+    public abstract ConfigurableFileCollection getLibraries();
+
+    /**
+     * @return the runtime image with the JavaFX modules, e.g. of the 'javafxJlink' task
+     */
+    @InputDirectory
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract DirectoryProperty getRuntimeImage();
+
+    @Input
+    public abstract Property<String> getApplicationName();
+
+    @Input
+    public abstract Property<String> getMainClass();
+
+    /**
+     * @return the main module of a modular application
+     */
+    @Input
+    @Optional
+    public abstract Property<String> getMainModule();
+
+    /**
+     * @return the name of the jar of {@link #getLibraries()} with the main class of a non-modular application
+     */
+    @Input
+    @Optional
+    public abstract Property<String> getMainJar();
+
+    /**
+     * @return the version of the application. jpackage requires one to three numbers, e.g. '1.2.3'.
+     */
+    @Input
+    @Optional
+    public abstract Property<String> getAppVersion();
+
+    /**
+     * @return the JVM options of the launcher
+     */
+    @Input
+    public abstract ListProperty<String> getJavaOptions();
+
+    /**
+     * @return additional options for jpackage, e.g. '--icon'
+     */
+    @Input
+    public abstract ListProperty<String> getOptions();
+
+    /**
+     * @return the JavaFX platform of the runtime image, which must be the one of the operating system
+     */
+    @Input
+    public abstract Property<JavaFXPlatform> getPlatform();
+
+    /**
+     * @return the JDK whose jpackage is used, JDK 14 or later
+     */
+    @Nested
+    @Optional
+    public abstract Property<JavaLauncher> getJavaLauncher();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getDestinationDir();
+
+    /**
+     * @return the app image in the destination folder, e.g. 'app' or, on macOS, 'app.app'
+     */
+    @Internal
+    public Provider<Directory> getImageDir() {
+        return getDestinationDir().dir(getApplicationName().map(name ->
+                OperatingSystemFamily.MACOS.equals(getPlatform().get().getOsFamily()) ? name + ".app" : name));
+    }
+
+    @TaskAction
+    public void packageImage(InputChanges inputChanges) {
+        JavaFXPlatform platform = getPlatform().get();
+        if (!platform.getOsFamily().equals(hostOsFamily())) {
+            throw new GradleException(String.format("jpackage can only package for the operating system it runs on. " +
+                    "Set 'javafx.platform' to the platform of %s instead of '%s'.", System.getProperty("os.name"), platform.getClassifier()));
+        }
+        File image = getImageDir().get().getAsFile();
+        if (inputChanges.isIncremental() && image.isDirectory()) {
+            updateLibraries(inputChanges, image);
+        } else {
+            packageAll();
+        }
+    }
+
+    private void updateLibraries(InputChanges inputChanges, File image) {
+        File appDir = appDir(image);
+        try {
+            for (FileChange change : inputChanges.getFileChanges(getLibraries())) {
+                if (change.getFileType() == FileType.DIRECTORY) {
+                    continue;
+                }
+                File target = new File(appDir, change.getFile().getName());
+                if (change.getChangeType() == ChangeType.REMOVED) {
+                    Files.deleteIfExists(target.toPath());
+                } else {
+                    Files.copy(change.getFile().toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            File cfg = new File(appDir, getApplicationName().get() + ".cfg");
+            Files.writeString(cfg.toPath(), withClasspath(Files.readString(cfg.toPath(), StandardCharsets.UTF_8), classpath()),
+                    StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        getLogger().info("Updated the application jars of {}", image);
+    }
+
+    private void packageAll() {
+        File javaHome = getJavaLauncher().map(launcher -> launcher.getMetadata().getInstallationPath().getAsFile())
+                .getOrElse(new File(System.getProperty("java.home")));
+        File jpackage = new File(javaHome, "bin/jpackage" + (OperatingSystemFamily.WINDOWS.equals(hostOsFamily()) ? ".exe" : ""));
+        if (!jpackage.isFile()) {
+            throw new GradleException("jpackage is not available in " + javaHome + ". It requires JDK 14 or later.");
+        }
+        File destination = getDestinationDir().get().getAsFile();
+        // jpackage does not write into an existing app image
+        getFileSystemOperations().delete(spec -> spec.delete(destination));
+        File input = new File(getTemporaryDir(), "input");
+        getFileSystemOperations().delete(spec -> spec.delete(input));
+        getFileSystemOperations().copy(spec -> {
+            spec.from(getLibraries().filter(File::isFile));
+            spec.into(input);
+        });
+
+        List<String> args = new ArrayList<>(List.of("--type", "app-image",
+                "--name", getApplicationName().get(),
+                "--dest", destination.getAbsolutePath(),
+                "--runtime-image", getRuntimeImage().get().getAsFile().getAbsolutePath()));
+        if (getMainModule().isPresent()) {
+            args.add("--module");
+            args.add(getMainModule().get() + "/" + getMainClass().get());
+        } else {
+            args.addAll(List.of("--input", input.getAbsolutePath(),
+                    "--main-jar", getMainJar().get(),
+                    "--main-class", getMainClass().get()));
+        }
+        if (getAppVersion().isPresent()) {
+            args.add("--app-version");
+            args.add(getAppVersion().get());
+        }
+        for (String option : getJavaOptions().get()) {
+            args.add("--java-options");
+            args.add(option);
+        }
+        args.addAll(getOptions().get());
+        getExecOperations().exec(spec -> {
+            spec.setExecutable(jpackage.getAbsolutePath());
+            spec.args(args);
+        });
+    }
+
+    private List<String> classpath() {
+        List<String> jars = new ArrayList<>();
+        getLibraries().forEach(library -> {
+            if (library.isFile()) {
+                jars.add(library.getName());
+            }
+        });
+        // jpackage puts the main jar first
+        if (getMainJar().isPresent() && jars.remove(getMainJar().get())) {
+            jars.add(0, getMainJar().get());
+        }
+        return jars;
+    }
+
+    private File appDir(File image) {
+        String osFamily = getPlatform().get().getOsFamily();
+        if (OperatingSystemFamily.MACOS.equals(osFamily)) {
+            return new File(image, "Contents/app");
+        }
+        return OperatingSystemFamily.WINDOWS.equals(osFamily) ? new File(image, "app") : new File(image, "lib/app");
+    }
+
+    /**
+     * Replaces the classpath in the configuration of a launcher of jpackage, keeping the prefix of the entries,
+     * e.g. '$APPDIR/'.
+     */
+    static String withClasspath(String cfg, List<String> jars) {
+        String lineSeparator = cfg.contains("\r\n") ? "\r\n" : "\n";
+        List<String> lines = new ArrayList<>(Arrays.asList(cfg.split("\r?\n", -1)));
+        int index = -1;
+        String prefix = "$APPDIR/";
+        for (int i = lines.size() - 1; i >= 0; i--) {
+            String line = lines.get(i);
+            if (line.startsWith(CLASSPATH_KEY)) {
+                // '$APPDIR/' or, on Windows, '$APPDIR\'
+                prefix = line.substring(CLASSPATH_KEY.length(), Math.max(line.lastIndexOf('/'), line.lastIndexOf('\\')) + 1);
+                lines.remove(i);
+                index = i;
+            }
+        }
+        if (index < 0) {
+            index = lines.indexOf("[Application]") + 1;
+        }
+        for (int i = 0; i < jars.size(); i++) {
+            lines.add(index + i, CLASSPATH_KEY + prefix + jars.get(i));
+        }
+        return String.join(lineSeparator, lines);
+    }
+
+    private static String hostOsFamily() {
+        String osName = System.getProperty("os.name").toLowerCase(Locale.ROOT);
+        if (osName.startsWith("windows")) {
+            return OperatingSystemFamily.WINDOWS;
+        }
+        return osName.startsWith("mac") ? OperatingSystemFamily.MACOS : OperatingSystemFamily.LINUX;
+    }
+}
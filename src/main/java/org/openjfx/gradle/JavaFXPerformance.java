@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.Action;
+import org.gradle.api.GradleException;
+import org.gradle.api.Named;
+import org.gradle.api.NamedDomainObjectContainer;
+import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.provider.ProviderFactory;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * The runtime settings of JavaFX and the JVM for 'run', the 'JavaFXExec' and 'Test' tasks, the start scripts and
+ * the jlink images, in 'javafx.performance'. The settings of the selected profile override these settings.
+ * The profile is selected with 'profile', or on the command line with '-Pjavafx.performance.profile=dev'.
+ */
+public abstract class JavaFXPerformance extends JavaFXPerformanceSettings {
+
+    public static final String PROFILE_PROPERTY = "javafx.performance.profile";
+
+    private static final Map<String, String> GARBAGE_COLLECTORS = Map.of(
+            "G1", "-XX:+UseG1GC",
+            "Parallel", "-XX:+UseParallelGC",
+            "Serial", "-XX:+UseSerialGC",
+            "Z", "-XX:+UseZGC",
+            "Shenandoah", "-XX:+UseShenandoahGC");
+
+    private final NamedDomainObjectContainer<Profile> profiles;
+
+    @Inject
+    protected abstract ObjectFactory getObjects();
+
+    @Inject
+    protected abstract ProviderFactory getProviders();
+
+    public JavaFXPerformance() {
+        profiles = getObjects().domainObjectContainer(Profile.class, name -> getObjects().newInstance(Profile.class, name));
+        getProfile().convention(getProviders().gradleProperty(PROFILE_PROPERTY));
+        profiles.register("dev", profile -> profile.getTieredStopAtLevel().convention(1));
+        profiles.register("ci-headless", profile -> {
+            profile.getPrismOrder().convention("sw");
+            profile.getVsync().convention(false);
+        });
+        profiles.register("production");
+    }
+
+    /**
+     * The profile to use. By default, the value of the Gradle property 'javafx.performance.profile'.
+     * @return the name of the selected profile
+     */
+    public abstract Property<String> getProfile();
+
+    /**
+     * The profiles. 'dev' uses the C1 compiler only, 'ci-headless' renders in software without vsync, and
+     * 'production' uses the settings of 'javafx.performance'. They can be changed, and other profiles added.
+     * @return the profiles
+     */
+    public NamedDomainObjectContainer<Profile> getProfiles() {
+        return profiles;
+    }
+
+    public void profiles(Action<? super NamedDomainObjectContainer<Profile>> action) {
+        action.execute(profiles);
+    }
+
+    /**
+     * @return the JVM arguments of these settings and of the selected profile
+     */
+    public Provider<List<String>> getJvmArguments() {
+        return getProviders().provider(() -> {
+            if (!getProfile().isPresent()) {
+                return jvmArguments(this, this);
+            }
+            Profile profile = profiles.findByName(getProfile().get());
+            if (profile == null) {
+                throw new GradleException(String.format("The JavaFX performance profile '%s' does not exist. " +
+                        "Available profiles: %s", getProfile().get(), profiles.getNames()));
+            }
+            return jvmArguments(profile, this);
+        });
+    }
+
+    private static List<String> jvmArguments(JavaFXPerformanceSettings profile, JavaFXPerformanceSettings defaults) {
+        List<String> args = new ArrayList<>();
+        addArgument(args, profile, defaults, JavaFXPerformanceSettings::getPrismOrder, order -> "-Dprism.order=" + order);
+        addArgument(args, profile, defaults, JavaFXPerformanceSettings::getVsync, vsync -> "-Dprism.vsync=" + vsync);
+        addArgument(args, profile, defaults, JavaFXPerformanceSettings::getMaxVram, vram -> "-Dprism.maxvram=" + vram);
+        addArgument(args, profile, defaults, JavaFXPerformanceSettings::getPulseLogging, log -> log ? "-Djavafx.pulseLogger=true" : null);
+        addArgument(args, profile, defaults, JavaFXPerformanceSettings::getDirtyOptimization, dirty -> "-Dprism.dirtyopts=" + dirty);
+        addArgument(args, profile, defaults, JavaFXPerformanceSettings::getShowDirtyRegions, show -> show ? "-Dprism.showdirty=true" : null);
+        addArgument(args, profile, defaults, JavaFXPerformanceSettings::getTieredStopAtLevel, level -> "-XX:TieredStopAtLevel=" + level);
+        addArgument(args, profile, defaults, JavaFXPerformanceSettings::getInitialHeap, heap -> "-Xms" + heap);
+        addArgument(args, profile, defaults, JavaFXPerformanceSettings::getMaxHeap, heap -> "-Xmx" + heap);
+        addArgument(args, profile, defaults, JavaFXPerformanceSettings::getGarbageCollector, gc -> {
+            String option = GARBAGE_COLLECTORS.get(gc);
+            if (option == null) {
+                throw new GradleException(String.format("Unknown garbage collector '%s'. Supported: %s",
+                        gc, String.join(", ", new TreeSet<>(GARBAGE_COLLECTORS.keySet()))));
+            }
+            return option;
+        });
+        if (profile != defaults) {
+            args.addAll(defaults.getJvmArgs().get());
+        }
+        args.addAll(profile.getJvmArgs().get());
+        return args;
+    }
+
+    private static <T> void addArgument(List<String> args, JavaFXPerformanceSettings profile, JavaFXPerformanceSettings defaults,
+                                        Function<JavaFXPerformanceSettings, Property<T>> setting, Function<T, String> argument) {
+        T value = setting.apply(profile).getOrElse(setting.apply(defaults).getOrNull());
+        String arg = value == null ? null : argument.apply(value);
+        if (arg != null) {
+            args.add(arg);
+        }
+    }
+
+    /**
+     * A named set of settings, which overrides the settings of 'javafx.performance' if it is selected.
+     */
+    public abstract static class Profile extends JavaFXPerformanceSettings implements Named {
+
+        private final String name;
+
+        @Inject
+        public Profile(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+
+/**
+ * The JavaFX and JVM settings of 'javafx.performance' and of its profiles. Those that are not set add no option,
+ * so that JavaFX and the JVM use their defaults.
+ */
+public abstract class JavaFXPerformanceSettings {
+
+    /**
+     * @return the Prism rendering pipelines in the order of preference, e.g. 'es2,sw' ('prism.order')
+     */
+    public abstract Property<String> getPrismOrder();
+
+    /**
+     * @return whether to synchronize rendering with the display refresh ('prism.vsync')
+     */
+    public abstract Property<Boolean> getVsync();
+
+    /**
+     * @return the maximum video memory of the textures, e.g. '512m' ('prism.maxvram')
+     */
+    public abstract Property<String> getMaxVram();
+
+    /**
+     * @return whether to log pulses that take longer than a frame ('javafx.pulseLogger')
+     */
+    public abstract Property<Boolean> getPulseLogging();
+
+    /**
+     * @return whether to only repaint the dirty regions of the scene ('prism.dirtyopts')
+     */
+    public abstract Property<Boolean> getDirtyOptimization();
+
+    /**
+     * @return whether to highlight the repainted regions ('prism.showdirty')
+     */
+    public abstract Property<Boolean> getShowDirtyRegions();
+
+    /**
+     * @return the highest JIT compilation tier, e.g. 1 for a faster startup in development ('-XX:TieredStopAtLevel')
+     */
+    public abstract Property<Integer> getTieredStopAtLevel();
+
+    /**
+     * @return the initial heap size, e.g. '256m' ('-Xms')
+     */
+    public abstract Property<String> getInitialHeap();
+
+    /**
+     * @return the maximum heap size, e.g. '1g' ('-Xmx')
+     */
+    public abstract Property<String> getMaxHeap();
+
+    /**
+     * @return the garbage collector: 'G1', 'Parallel', 'Serial', 'Z' or 'Shenandoah'
+     */
+    public abstract Property<String> getGarbageCollector();
+
+    /**
+     * @return other JVM arguments. Those of a profile are added after those of 'javafx.performance'.
+     */
+    public abstract ListProperty<String> getJvmArgs();
+}
@@ -69,6 +69,15 @@ public enum JavaFXPlatform {
         return arch;
     }
 
+    /**
+     * @return the classifier in camel case for the names of tasks and configurations, e.g. 'MacAarch64'
+     */
+    String getNameSuffix() {
+        return Arrays.stream(classifier.split("-"))
+                .map(part -> Character.toUpperCase(part.charAt(0)) + part.substring(1))
+                .collect(Collectors.joining());
+    }
+
     public static JavaFXPlatform detect(OsDetector osDetector) {
 
         final String osClassifier = osDetector.getClassifier();
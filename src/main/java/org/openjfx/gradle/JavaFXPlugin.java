@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2025, Gluon
+ * Copyright (c) 2018, 2026, Gluon
  * All rights reserved.
  *
  * Redistribution and use in source and binary forms, with or without
@@ -32,26 +32,70 @@ package org.openjfx.gradle;
 import com.google.gradle.osdetector.OsDetector;
 import com.google.gradle.osdetector.OsDetectorPlugin;
 import org.gradle.api.*;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.artifacts.type.ArtifactTypeDefinition;
+import org.gradle.api.distribution.DistributionContainer;
+import org.gradle.api.distribution.plugins.DistributionPlugin;
+import org.gradle.api.file.CopySpec;
+import org.gradle.api.file.Directory;
 import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.RegularFile;
 import org.gradle.api.plugins.ApplicationPlugin;
+import org.gradle.api.plugins.JavaApplication;
 import org.gradle.api.plugins.JavaBasePlugin;
-import org.gradle.api.provider.Property;
+import org.gradle.api.plugins.HelpTasksPlugin;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.plugins.JavaPluginExtension;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.provider.SetProperty;
 import org.gradle.api.tasks.JavaExec;
+import org.gradle.api.tasks.SourceSet;
 import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.Sync;
+import org.gradle.api.tasks.TaskProvider;
+import org.gradle.api.tasks.testing.Test;
+import org.gradle.jvm.application.tasks.CreateStartScripts;
+import org.gradle.jvm.tasks.Jar;
+import org.gradle.jvm.toolchain.JavaToolchainService;
+import org.gradle.process.JavaForkOptions;
 import org.gradle.util.GradleVersion;
-import org.openjfx.gradle.metadatarule.JavaFXComponentMetadataRule;
+import org.openjfx.gradle.transform.JavaFXStripNativesTransform;
 
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 import static org.openjfx.gradle.JavaFXOptions.MAVEN_JAVAFX_ARTIFACT_GROUP_ID;
 
+
 @NonNullApi
 public class JavaFXPlugin implements Plugin<Project> {
 
+    private static final String JAR_CLASSIFIER_CACHE = "caches/javafx-plugin/jar-module-names.txt";
+    private static final String JMODS_CACHE = "caches/javafx-plugin/jmods";
+    private static final String SDK_CACHE = "caches/javafx-plugin/sdks";
+    private static final String CDS_ARCHIVE_TASK_NAME = "javafxCdsArchive";
+    private static final String JLINK_TASK_NAME = "javafxJlink";
+    private static final String PACKAGE_TASK_NAME = "javafxPackage";
+    private static final String STARTUP_BENCHMARK_TASK_NAME = "javafxStartupBenchmark";
+    private static final String FOOTPRINT_TASK_NAME = "javafxFootprint";
+    private static final String PROFILING_AGENTS_TASK_NAME = "javafxProfilingAgents";
+    private static final String NATIVES_TASK_NAME = "javafxNatives";
+    private static final String MIRROR_TASK_NAME = "javafxMirror";
+    private static final String DISTRIBUTIONS_TASK_NAME = "javafxDistributions";
+    private static final String MODULE_ANALYSIS_TASK_NAME = "javafxModuleAnalysis";
+    private static final String MONOCLE_CONFIGURATION_NAME = "javafxMonocle";
+    private static final String MONOCLE_ARTIFACT = "org.testfx:openjfx-monocle";
+    private static final String MAVEN_CENTRAL = "https://repo.maven.apache.org/maven2/";
+    static final String REPORTS_DIR = "reports/javafx";
+
     @Override
     public void apply(Project project) {
         if (GradleVersion.current().compareTo(GradleVersion.version("6.4")) < 0) {
@@ -67,70 +111,705 @@ public class JavaFXPlugin implements Plugin<Project> {
 
         JavaFXOptions javaFXOptions = project.getExtensions().create("javafx", JavaFXOptions.class,
                 project.getExtensions().getByType(SourceSetContainer.class),
-                project.getExtensions().getByType(OsDetector.class));
-
-        // Register 'JavaFXComponentMetadataRule' to add variant information to all JavaFX modules.
-        // Future JavaFX versions could publish this information using Gradle Metadata.
-        for (JavaFXModule javaFXModule: JavaFXModule.values()) {
-            project.getDependencies().getComponents().withModule(
-                    MAVEN_JAVAFX_ARTIFACT_GROUP_ID + ":" + javaFXModule.getArtifactName(),
-                    JavaFXComponentMetadataRule.class);
+                project.getExtensions().getByType(OsDetector.class),
+                new File(project.getGradle().getGradleUserHomeDir(), SDK_CACHE));
+
+        // The dependencies, the variants of the JavaFX modules and the platform catalog are only read when the
+        // configurations are resolved
+        javaFXOptions.registerComponentMetadataRules();
+        javaFXOptions.declareFXDependencies();
+
+        registerStripNativesTransform(project, javaFXOptions);
+
+        // Shared by all projects of the build: classifies jars as JavaFX modules and caches the result.
+        Provider<JavaFXJarClassifier> jarClassifier = project.getGradle().getSharedServices().registerIfAbsent(
+                "javafxJarClassifier", JavaFXJarClassifier.class, spec -> spec.getParameters().getCacheFile().set(
+                        new File(project.getGradle().getGradleUserHomeDir(), JAR_CLASSIFIER_CACHE)));
+
+        project.getTasks().register(MIRROR_TASK_NAME, JavaFXMirror.class, task -> {
+            task.setDescription("Downloads the JavaFX modules for all platforms into a local repository with Gradle Module Metadata.");
+            task.getVersions().convention(javaFXOptions.getFxVersion().map(List::of));
+            task.getPlatforms().convention(Arrays.stream(JavaFXPlatform.values())
+                    .map(JavaFXPlatform::getClassifier)
+                    .collect(Collectors.toList()));
+            task.getUpstream().convention(MAVEN_CENTRAL);
+            task.getRepositoryDir().convention(project.getLayout().getBuildDirectory().dir("javafx/mirror"));
+        });
+
+        // The modules the application is launched and linked with: the declared modules or, if 'inferModules'
+        // is enabled, the modules the analysis finds in the classes. The dependencies are always the declared ones.
+        SetProperty<String> declaredModules = javaFXOptions.getFxModules();
+        Provider<Set<String>> runtimeModules = javaFXOptions.getInferModules().flatMap(infer -> infer
+                ? project.getTasks().named(MODULE_ANALYSIS_TASK_NAME, JavaFXModuleAnalysis.class)
+                        .flatMap(JavaFXModuleAnalysis::getModulesFile)
+                        .map(file -> {
+                            Set<String> modules = JavaFXModuleAnalysis.readModules(file.getAsFile());
+                            // e.g. JavaFX is only used by reflection
+                            return modules.isEmpty() ? declaredModules.get() : modules;
+                        })
+                : declaredModules);
+        project.getPlugins().withId("java", p -> {
+            registerModuleAnalysis(project, javaFXOptions);
+            registerNativesTask(project, jarClassifier);
+            configureHeadlessTests(project, javaFXOptions, jarClassifier, runtimeModules);
+            configureProfiling(project, javaFXOptions, jarClassifier);
+        });
+
+        // Opt-in: records the time the plugin takes in the project, see 'JavaFXInstrumentation'
+        Provider<JavaFXInstrumentation> instrumentation =
+                Boolean.parseBoolean(project.getProviders().gradleProperty(JavaFXInstrumentation.PROPERTY).getOrElse("false"))
+                        ? registerInstrumentation(project, javaFXOptions)
+                        : null;
+
+        // The same JavaFX and JVM settings for every way the application is launched
+        Provider<List<String>> performanceArguments = javaFXOptions.getPerformance().getJvmArguments();
+        project.getTasks().withType(JavaFXExec.class).configureEach(task ->
+                task.getJvmArgumentProviders().add(performanceArgumentProvider(project, performanceArguments)));
+        project.getPlugins().withId("java", p -> project.getTasks().withType(Test.class).configureEach(task ->
+                task.getJvmArgumentProviders().add(performanceArgumentProvider(project, performanceArguments))));
+
+        project.getTasks().withType(JavaFXExec.class).configureEach(task -> {
+            task.getJarClassifier().set(jarClassifier);
+            task.usesService(jarClassifier);
+            task.getJavaFXModules().convention(runtimeModules);
+            if (instrumentation != null) {
+                task.getInstrumentation().set(instrumentation);
+            }
+        });
+        project.getPlugins().withId("java", p -> project.getTasks().withType(JavaFXExec.class).configureEach(task ->
+                task.getRuntimeClasspath().from(mainRuntimeClasspath(project))));
+        project.getPlugins().withId("application", p -> {
+            JavaApplication application = project.getExtensions().getByType(JavaApplication.class);
+            project.getTasks().withType(JavaFXExec.class).configureEach(task -> {
+                task.getMainClass().convention(application.getMainClass());
+                task.getMainModule().convention(application.getMainModule());
+            });
+            Configuration runtimeJars = project.getConfigurations().getByName(JavaPlugin.RUNTIME_CLASSPATH_CONFIGURATION_NAME);
+            // A modular application runs with the jars of the configuration rather than the runtime classpath of 'main'
+            project.getTasks().named(ApplicationPlugin.TASK_RUN_NAME, JavaExec.class, task ->
+                    task.setClasspath(javaFXOptions.withNativesStripped(task.getClasspath(), runtimeJars)));
+            project.getTasks().named(ApplicationPlugin.TASK_RUN_NAME, JavaExec.class, task ->
+                    putJavaFXJarsOnModulePathForClasspathApplication(project, task, jarClassifier, runtimeModules, instrumentation));
+            project.getTasks().named(ApplicationPlugin.TASK_RUN_NAME, JavaExec.class, task ->
+                    task.getJvmArgumentProviders().add(performanceArgumentProvider(project, performanceArguments)));
+            project.getTasks().named(ApplicationPlugin.TASK_START_SCRIPTS_NAME, CreateStartScripts.class, task ->
+                    putJavaFXJarsOnModulePathForStartScripts(project, task, jarClassifier, runtimeModules, performanceArguments));
+            CopySpec distribution = project.getExtensions().getByType(DistributionContainer.class)
+                    .getByName(DistributionPlugin.MAIN_DISTRIBUTION_NAME).getContents();
+            stripNativesOfDistribution(distribution, javaFXOptions, runtimeJars);
+            distribution.eachFile(new JavaFXModulePathLayout(
+                    JavaFXJarSpec.modulePath(jarClassifier, classpathApplication(project, application.getMainModule()))));
+            // The layout of the distribution asks the classifier which jars belong on the module path
+            for (String distributionTask : List.of("distZip", "distTar", DistributionPlugin.TASK_INSTALL_NAME)) {
+                project.getTasks().named(distributionTask, task -> task.usesService(jarClassifier));
+            }
+            Provider<List<File>> natives = registerNatives(project, application, javaFXOptions);
+            if (supportsToolchains()) {
+                registerCdsArchive(project, application, javaFXOptions, jarClassifier, runtimeModules);
+                registerJlink(project, application, javaFXOptions, jarClassifier, runtimeModules, natives, performanceArguments);
+                registerPackage(project, application, javaFXOptions, jarClassifier, performanceArguments);
+                registerStartupBenchmark(project, application, javaFXOptions, jarClassifier, runtimeModules, performanceArguments);
+                registerFootprint(project, application, javaFXOptions, jarClassifier, runtimeModules, performanceArguments);
+            }
+            registerPlatformDistributions(project, application, javaFXOptions, jarClassifier, runtimeModules, performanceArguments);
+        });
+    }
+
+    /**
+     * Registers the 'javafxModuleAnalysis' task, which compares the JavaFX modules the main classes use with the
+     * modules in 'javafx.modules'.
+     */
+    private static void registerModuleAnalysis(Project project, JavaFXOptions javaFXOptions) {
+        project.getTasks().register(MODULE_ANALYSIS_TASK_NAME, JavaFXModuleAnalysis.class, task -> {
+            task.setGroup(HelpTasksPlugin.HELP_GROUP);
+            task.setDescription("Finds the JavaFX modules the classes of the application use.");
+            task.getClasses().from(project.getExtensions().getByType(SourceSetContainer.class)
+                    .getByName(SourceSet.MAIN_SOURCE_SET_NAME).getOutput());
+            task.getDeclaredModules().convention(javaFXOptions.getFxModules());
+            task.getModulesFile().convention(project.getLayout().getBuildDirectory().file("javafx/modules.txt"));
+            task.getAnalysisFile().convention(project.getLayout().getBuildDirectory().file("javafx/module-analysis.txt"));
+        });
+    }
+
+    /**
+     * Registers 'JavaFXStripNativesTransform' for the JavaFX jars, whose variants are not stripped. The runtime
+     * classpaths of the source sets get the stripped jars once 'javafx.stripNatives' is set, until then the transform
+     * does not run at all. The compile classpaths keep the original jars.
+     */
+    private static void registerStripNativesTransform(Project project, JavaFXOptions javaFXOptions) {
+        var dependencies = project.getDependencies();
+        dependencies.getAttributesSchema().attribute(JavaFXStripNativesTransform.NATIVES_STRIPPED_ATTRIBUTE, strategy ->
+                strategy.getDisambiguationRules().add(JavaFXStripNativesTransform.PreferPlatformVariants.class));
+        project.getExtensions().getByType(SourceSetContainer.class).all(sourceSet ->
+                sourceSet.setRuntimeClasspath(javaFXOptions.withNativesStripped(sourceSet.getRuntimeClasspath(),
+                        project.getConfigurations().getByName(sourceSet.getRuntimeClasspathConfigurationName()))));
+        dependencies.registerTransform(JavaFXStripNativesTransform.class, spec -> {
+            spec.getFrom().attribute(ArtifactTypeDefinition.ARTIFACT_TYPE_ATTRIBUTE, ArtifactTypeDefinition.JAR_TYPE)
+                    .attribute(JavaFXStripNativesTransform.NATIVES_STRIPPED_ATTRIBUTE, false);
+            spec.getTo().attribute(ArtifactTypeDefinition.ARTIFACT_TYPE_ATTRIBUTE, ArtifactTypeDefinition.JAR_TYPE)
+                    .attribute(JavaFXStripNativesTransform.NATIVES_STRIPPED_ATTRIBUTE, true);
+            spec.parameters(parameters -> parameters.getNatives().set(javaFXOptions.getFxStripNatives()));
+        });
+    }
+
+    /**
+     * The 'application' plugin copies the jars of the configuration into the 'lib' folder of the distribution.
+     * Once 'javafx.stripNatives' is set, the JavaFX jars are replaced by the stripped ones.
+     */
+    private static void stripNativesOfDistribution(CopySpec distribution, JavaFXOptions javaFXOptions, Configuration runtimeJars) {
+        FileCollection strippedJars = javaFXOptions.withNativesStripped(runtimeJars);
+        distribution.exclude(file -> runtimeJars.contains(file.getFile()) && !strippedJars.contains(file.getFile()));
+        distribution.into("lib", lib -> lib.from(strippedJars.minus(runtimeJars)));
+    }
+
+    /**
+     * Registers the 'javafxCdsArchive' task. If 'javafx.cdsArchive' is enabled, the archive is used by 'run'. The 'test'
+     * task does not get the archive: headless tests patch Monocle into 'javafx.graphics', which disables CDS, and the
+     * other tests have JavaFX on the classpath. Neither does the distribution: the JVM only uses the archive with the
+     * jars of the training run, at their location in the Gradle cache, and not with the jars in 'lib/javafx'.
+     */
+    private static void registerCdsArchive(Project project, JavaApplication application, JavaFXOptions javaFXOptions, Provider<JavaFXJarClassifier> jarClassifier,
+                                           Provider<Set<String>> runtimeModules) {
+        FileCollection runtimeClasspath = mainRuntimeClasspath(project);
+        TaskProvider<JavaFXCdsArchive> cdsArchive = project.getTasks().register(CDS_ARCHIVE_TASK_NAME, JavaFXCdsArchive.class, task -> {
+            task.setGroup(ApplicationPlugin.APPLICATION_GROUP);
+            task.setDescription("Creates an AppCDS archive of the JavaFX classes with a training run of the application.");
+            JavaFXJarSpec.SplitClasspath split = splitClasspath(task, jarClassifier, runtimeClasspath);
+            task.getClasspath().from(split.getClasspath());
+            task.getModulePath().from(split.getModulePath());
+            task.getModules().convention(runtimeModules);
+            task.getMainClass().convention(application.getMainClass());
+            task.getJavaLauncher().convention(project.getTasks().named(ApplicationPlugin.TASK_RUN_NAME, JavaExec.class)
+                    .flatMap(JavaExec::getJavaLauncher));
+            task.getArchiveFile().convention(project.getLayout().getBuildDirectory().file("javafx/cds/" + project.getName() + ".jsa"));
+        });
+
+        Provider<List<RegularFile>> archive = javaFXOptions.getCdsArchive().flatMap(enabled -> enabled ?
+                cdsArchive.flatMap(JavaFXCdsArchive::getArchiveFile).map(List::of) : project.provider(List::of));
+        project.getTasks().named(ApplicationPlugin.TASK_RUN_NAME, JavaExec.class, task ->
+                task.getJvmArgumentProviders().add(cdsArgumentProvider(project, archive)));
+    }
+
+    /**
+     * Registers the 'javafxNatives' task, which extracts the native libraries of the JavaFX jars.
+     */
+    private static void registerNativesTask(Project project, Provider<JavaFXJarClassifier> jarClassifier) {
+        FileCollection runtimeClasspath = mainRuntimeClasspath(project);
+        project.getTasks().register(NATIVES_TASK_NAME, Sync.class, task -> {
+            task.setDescription("Extracts the native libraries of the JavaFX jars.");
+            FileCollection javaFXJars = splitClasspath(task, jarClassifier, runtimeClasspath).getModulePath();
+            task.from((Callable<Object>) () -> javaFXJars.getFiles().stream().map(project::zipTree).collect(Collectors.toList()));
+            task.include("*.so", "*.dylib", "*.dll");
+            task.into(project.getLayout().getBuildDirectory().dir("javafx/natives"));
+        });
+    }
+
+    /**
+     * If 'javafx.extractNatives' is enabled, adds the native libraries of the 'javafxNatives' task to the folder of
+     * the JavaFX jars in the distribution, and points 'run', all {@link JavaFXExec} tasks and the start scripts to
+     * them with 'javafx.cachedir'.
+     *
+     * @return the folder with the native libraries if enabled, an empty list otherwise
+     */
+    private static Provider<List<File>> registerNatives(Project project, JavaApplication application, JavaFXOptions javaFXOptions) {
+        TaskProvider<Sync> nativesTask = project.getTasks().named(NATIVES_TASK_NAME, Sync.class);
+        Provider<List<File>> natives = javaFXOptions.getExtractNatives().flatMap(enabled -> enabled ?
+                nativesTask.map(task -> List.of(task.getDestinationDir())) : project.provider(List::of));
+
+        project.getTasks().named(ApplicationPlugin.TASK_RUN_NAME, JavaExec.class, task ->
+                task.getJvmArgumentProviders().add(nativesArgumentProvider(project, natives)));
+        project.getTasks().withType(JavaFXExec.class).configureEach(task ->
+                task.getJvmArgumentProviders().add(nativesArgumentProvider(project, natives)));
+
+        // The native libraries are next to the JavaFX jars, which are in 'lib/javafx' for a non-modular application
+        Provider<String> nativesFolder = classpathApplication(project, application.getMainModule()).map(enabled -> enabled
+                ? JavaFXModulePathLayout.MODULE_PATH : "lib");
+        application.getApplicationDistribution().from(natives, spec -> spec.into(nativesFolder));
+        Provider<List<String>> startScriptOptions = project.provider(() -> javaFXOptions.getExtractNatives().get()
+                ? List.of("-Djavafx.cachedir=" + JavaFXStartScripts.APP_HOME + "/" + nativesFolder.get())
+                : List.of());
+        project.getTasks().named(ApplicationPlugin.TASK_START_SCRIPTS_NAME, CreateStartScripts.class, task -> {
+            task.getInputs().property("javafxNativesJvmOptions", startScriptOptions);
+            task.doLast(new JavaFXStartScripts(startScriptOptions));
+        });
+        return natives;
+    }
+
+    /**
+     * If 'javafx.headlessTests' is enabled, the 'Test' tasks put the JavaFX jars on the module path, like 'run',
+     * and run JavaFX with the headless Monocle platform from the 'javafxMonocle' configuration. JavaFX loads the
+     * native libraries extracted by 'javafxNatives', so that forks running in parallel do not write them into the
+     * same cache folder at the same time. Modular tests are left alone, except for the Monocle setup.
+     */
+    private static void configureHeadlessTests(Project project, JavaFXOptions javaFXOptions, Provider<JavaFXJarClassifier> jarClassifier,
+                                               Provider<Set<String>> runtimeModules) {
+        Configuration monocle = project.getConfigurations().create(MONOCLE_CONFIGURATION_NAME, configuration -> {
+            configuration.setDescription("The Monocle platform for the headless JavaFX tests.");
+            configuration.setVisible(false);
+            configuration.setCanBeConsumed(false);
+            configuration.setTransitive(false);
+            configuration.defaultDependencies(dependencies -> dependencies.add(project.getDependencies().create(
+                    MONOCLE_ARTIFACT + ":" + javaFXOptions.getMonocleVersion().get())));
+        });
+        Provider<Boolean> headless = javaFXOptions.getHeadlessTests();
+        SourceSet main = project.getExtensions().getByType(SourceSetContainer.class).getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+        JavaPluginExtension java = project.getExtensions().getByType(JavaPluginExtension.class);
+        // Gradle puts the JavaFX modules of modular tests on the module path already
+        Provider<Boolean> classpathTests = project.provider(() -> headless.get() &&
+                !(java.getModularity().getInferModulePath().get() && main.getJava().getSrcDirs().stream()
+                        .anyMatch(dir -> new File(dir, "module-info.java").isFile())));
+        Provider<List<File>> natives = headless.flatMap(enabled -> enabled ?
+                project.getTasks().named(NATIVES_TASK_NAME, Sync.class).map(task -> List.of(task.getDestinationDir()))
+                : project.provider(List::of));
+
+        project.getTasks().withType(Test.class).configureEach(task -> {
+            FileCollection classpath = task.getClasspath();
+            task.usesService(jarClassifier);
+            task.setClasspath(classpath.filter(JavaFXJarSpec.classpath(jarClassifier, classpathTests)));
+
+            var modulePathArguments = project.getObjects().newInstance(JavaFXModulePathArgumentProvider.class);
+            modulePathArguments.getModulePath().from(classpath.filter(JavaFXJarSpec.modulePath(jarClassifier, classpathTests)));
+            modulePathArguments.getModules().set(runtimeModules);
+            task.getJvmArgumentProviders().add(modulePathArguments);
+
+            var headlessArguments = project.getObjects().newInstance(JavaFXHeadlessArgumentProvider.class);
+            headlessArguments.getEnabled().set(headless);
+            headlessArguments.getMonocle().from((Callable<Object>) () -> headless.get() ? monocle : List.of());
+            task.getJvmArgumentProviders().add(headlessArguments);
+            task.getJvmArgumentProviders().add(nativesArgumentProvider(project, natives));
+        });
+    }
+
+    /**
+     * If 'javafx.profiling.jfr' is enabled, 'run', the 'JavaFXExec' and the 'Test' tasks attach the agent of
+     * 'javafxProfilingAgents', which records the JavaFX pulses with JFR into 'build/reports/javafx/profiling/<task>'.
+     * After the task, the recordings are summarized in the same folder. If 'javafx.profiling.stallWatchdog' is
+     * enabled, 'run', the 'JavaFXExec' and the headless 'Test' tasks attach the watchdog agent, and the stalls of the
+     * FX thread are reported in 'build/reports/javafx/stalls/<task>'. The agents need toolchain support, which is
+     * available since Gradle 6.7.
+     */
+    private static void configureProfiling(Project project, JavaFXOptions javaFXOptions, Provider<JavaFXJarClassifier> jarClassifier) {
+        boolean toolchains = supportsToolchains();
+        if (toolchains) {
+            SourceSetContainer sourceSets = project.getExtensions().getByType(SourceSetContainer.class);
+            FileCollection runtimeClasspath = project.files(
+                    sourceSets.getByName(SourceSet.MAIN_SOURCE_SET_NAME).getRuntimeClasspath(),
+                    sourceSets.getByName(SourceSet.TEST_SOURCE_SET_NAME).getRuntimeClasspath());
+            JavaPluginExtension java = project.getExtensions().getByType(JavaPluginExtension.class);
+            project.getTasks().register(PROFILING_AGENTS_TASK_NAME, JavaFXProfilingAgents.class, task -> {
+                task.setDescription("Builds the agents that record the JavaFX pulses with JFR and watch the FX thread for stalls.");
+                task.getModulePath().from(splitClasspath(task, jarClassifier, runtimeClasspath).getModulePath());
+                task.getJavaLauncher().convention(project.getExtensions().getByType(JavaToolchainService.class)
+                        .launcherFor(java.getToolchain()));
+                task.getDestinationDir().convention(project.getLayout().getBuildDirectory().dir("javafx/profiling-agents"));
+            });
         }
 
-        // Only set the default 'configuration' to 'implementation' when the 'java' plugin is applied.
-        // Otherwise, it won't exist. (Note: 'java' is implicitly applied by 'application' or 'java-library'
-        // and other Java-base plugins like Kotlin JVM)
-        project.getPlugins().withId("java", p -> javaFXOptions.setConfiguration("implementation"));
+        JavaFXProfiling profiling = javaFXOptions.getProfiling();
+        Provider<Boolean> headlessStallWatchdog = profiling.getStallWatchdog().zip(javaFXOptions.getHeadlessTests(),
+                (watchdog, headless) -> watchdog && headless);
+        project.getTasks().withType(Test.class).configureEach(task ->
+                profile(project, task, profiling, headlessStallWatchdog, toolchains));
+        project.getTasks().withType(JavaFXExec.class).configureEach(task ->
+                profile(project, task, profiling, profiling.getStallWatchdog(), toolchains));
+        project.getPlugins().withId("application", p -> project.getTasks().named(ApplicationPlugin.TASK_RUN_NAME, JavaExec.class,
+                task -> profile(project, task, profiling, profiling.getStallWatchdog(), toolchains)));
+    }
 
+    private static <T extends Task & JavaForkOptions> void profile(Project project, T task, JavaFXProfiling profiling,
+                                                                  Provider<Boolean> stallWatchdog, boolean toolchains) {
+        Provider<Boolean> jfr = profiling.getJfr();
+        Provider<Directory> recordingDir = project.getLayout().getBuildDirectory().dir(REPORTS_DIR + "/profiling/" + task.getName());
+        var profilingArguments = project.getObjects().newInstance(JavaFXProfilingArgumentProvider.class);
+        profilingArguments.getEnabled().set(jfr);
+        profilingArguments.getAgent().from((Callable<Object>) () -> jfr.get()
+                ? profilingAgents(project, toolchains).flatMap(JavaFXProfilingAgents::getAgentJar) : List.of());
+        profilingArguments.getSettings().from((Callable<Object>) () -> jfr.get()
+                ? profilingAgents(project, toolchains).flatMap(JavaFXProfilingAgents::getSettingsFile) : List.of());
+        profilingArguments.getRecordingDir().set(recordingDir);
+        profilingArguments.getAllPulsePhases().set(profiling.getAllPulsePhases());
+        profilingArguments.getRunLaterProbeInterval().set(profiling.getRunLaterProbeInterval());
+        task.getJvmArgumentProviders().add(profilingArguments);
+        task.doFirst(new JavaFXProfilingReport.DeleteReports(jfr, recordingDir));
+        task.doLast(new JavaFXProfilingReport(jfr, recordingDir));
 
-        project.afterEvaluate(new Action<Project>() {
-            @Override
-            public void execute(Project project) {
-                if (!project.getPlugins().hasPlugin("application") ||
-                        (project.getPlugins().hasPlugin("org.javamodularity.moduleplugin")) && project.getExtensions().findByName("modulename") != null) {
-                    return;
-                }
+        Provider<Directory> stallsDir = project.getLayout().getBuildDirectory().dir(REPORTS_DIR + "/stalls/" + task.getName());
+        var watchdogArguments = project.getObjects().newInstance(JavaFXWatchdogArgumentProvider.class);
+        watchdogArguments.getEnabled().set(stallWatchdog);
+        watchdogArguments.getAgent().from((Callable<Object>) () -> stallWatchdog.get()
+                ? profilingAgents(project, toolchains).flatMap(JavaFXProfilingAgents::getWatchdogAgentJar) : List.of());
+        watchdogArguments.getBudget().set(profiling.getStallBudget());
+        watchdogArguments.getReportDir().set(stallsDir);
+        task.getJvmArgumentProviders().add(watchdogArguments);
+        task.doFirst(new JavaFXProfilingReport.DeleteReports(stallWatchdog, stallsDir));
+        task.doLast(new JavaFXStallReport(stallWatchdog, stallsDir, profiling.getStallBudget(), profiling.getFailOnStall()));
+    }
 
-                project.getTasks().named("run", JavaExec.class, new Action<JavaExec>() {
-                    @Override
-                    public void execute(JavaExec task) {
-                        if (task.getMainModule().isPresent()) {
-                            return;
-                        }
-                        final var fxPlatform = javaFXOptions.getFxPlatform();
-                        final var fxModules = javaFXOptions.getFxModules();
-                        task.doFirst(a -> {
-                            putJavaFXJarsOnModulePathForClasspathApplication(task, fxPlatform, fxModules);
-                        });
-                    }
-                });
+    private static TaskProvider<JavaFXProfilingAgents> profilingAgents(Project project, boolean toolchains) {
+        if (!toolchains) {
+            throw new GradleException("'javafx.profiling' requires Gradle 6.7+");
+        }
+        return project.getTasks().named(PROFILING_AGENTS_TASK_NAME, JavaFXProfilingAgents.class);
+    }
 
+    /**
+     * Registers the 'javafxJlink' task, which links the JavaFX modules into a runtime image. For a modular
+     * application, the application jar and its dependencies are linked as well. If 'javafx.jmods' is set, the
+     * JavaFX jmods are linked instead of the jars. If 'javafx.extractNatives' is enabled, the native libraries
+     * of the jars are copied into the image.
+     */
+    private static void registerJlink(Project project, JavaApplication application, JavaFXOptions javaFXOptions, Provider<JavaFXJarClassifier> jarClassifier,
+                                      Provider<Set<String>> runtimeModules, Provider<List<File>> natives,
+                                      Provider<List<String>> performanceArguments) {
+        FileCollection runtimeClasspath = mainRuntimeClasspath(project);
+        FileCollection runtimeJars = project.getConfigurations().getByName(JavaPlugin.RUNTIME_CLASSPATH_CONFIGURATION_NAME);
+        File jmodsCacheDir = new File(project.getGradle().getGradleUserHomeDir(), JMODS_CACHE);
+        project.getTasks().register(JLINK_TASK_NAME, JavaFXJlink.class, task -> {
+            task.setGroup(ApplicationPlugin.APPLICATION_GROUP);
+            task.setDescription("Links a runtime image with the JavaFX modules.");
+            task.getJmods().convention(javaFXOptions.getJmods());
+            task.getJmodsKey().convention(project.provider(() ->
+                    javaFXOptions.getVersion() + "-" + javaFXOptions.getPlatform().getClassifier()));
+            task.getJmodsCacheDir().convention(project.getLayout().dir(project.provider(() -> jmodsCacheDir)));
+            configureJlink(project, task, application, jarClassifier, runtimeModules, runtimeClasspath, runtimeJars,
+                    performanceArguments);
+            // The jmods contain the native libraries as such
+            Provider<String> jmods = task.getJmods();
+            task.getNativeLibraries().from((Callable<Object>) () -> jmods.isPresent() ? List.of() : natives);
+            task.getImageDir().convention(project.getLayout().getBuildDirectory().dir("javafx/image"));
+        });
+    }
+
+    /**
+     * Registers the 'javafxStartupBenchmark' task, which compares the startup of the application with the JavaFX
+     * jars on the classpath, on the module path and, if 'javafx.cdsArchive' is enabled, with the AppCDS archive.
+     * The launches use the 'javafx.performance' settings, like 'run', and are headless like the training run of the
+     * archive if it is enabled.
+     */
+    private static void registerStartupBenchmark(Project project, JavaApplication application, JavaFXOptions javaFXOptions,
+                                                 Provider<JavaFXJarClassifier> jarClassifier, Provider<Set<String>> runtimeModules,
+                                                 Provider<List<String>> performanceArguments) {
+        FileCollection runtimeClasspath = mainRuntimeClasspath(project);
+        Configuration monocle = project.getConfigurations().getByName(MONOCLE_CONFIGURATION_NAME);
+        TaskProvider<JavaFXCdsArchive> cdsArchive = project.getTasks().named(CDS_ARCHIVE_TASK_NAME, JavaFXCdsArchive.class);
+        project.getTasks().register(STARTUP_BENCHMARK_TASK_NAME, JavaFXStartupBenchmark.class, task -> {
+            task.setGroup(ApplicationPlugin.APPLICATION_GROUP);
+            task.setDescription("Measures the startup time of the application with the JavaFX jars on the classpath and on the module path.");
+            JavaFXJarSpec.SplitClasspath split = splitClasspath(task, jarClassifier, runtimeClasspath);
+            task.getClasspath().from(split.getClasspath());
+            task.getModulePath().from(split.getModulePath());
+            task.getModules().convention(runtimeModules);
+            task.getMainClass().convention(application.getMainClass());
+            task.getJvmArgs().convention(performanceArguments);
+            task.getVariants().convention(javaFXOptions.getCdsArchive().map(enabled -> enabled
+                    ? List.of(JavaFXStartupBenchmark.CLASSPATH, JavaFXStartupBenchmark.MODULE_PATH, JavaFXStartupBenchmark.MODULE_PATH_CDS)
+                    : List.of(JavaFXStartupBenchmark.CLASSPATH, JavaFXStartupBenchmark.MODULE_PATH)));
+            Provider<List<String>> variants = task.getVariants();
+            task.getCdsArchive().from((Callable<Object>) () -> variants.get().contains(JavaFXStartupBenchmark.MODULE_PATH_CDS)
+                    ? cdsArchive.flatMap(JavaFXCdsArchive::getArchiveFile) : List.of());
+            // With the archive, all variants launch like its training run
+            task.getHeadless().convention(javaFXOptions.getCdsArchive().flatMap(enabled -> enabled
+                    ? cdsArchive.flatMap(JavaFXCdsArchive::getHeadless) : project.provider(() -> true)));
+            Provider<Boolean> headless = task.getHeadless();
+            task.getMonocle().from((Callable<Object>) () -> headless.get() ? monocle : List.of());
+            task.getBaselineFile().convention(project.getLayout().getProjectDirectory().file("javafx-startup-baseline.properties"));
+            task.getReportFile().convention(project.getLayout().getBuildDirectory().file(REPORTS_DIR + "/startup-benchmark.json"));
+            task.getJavaLauncher().convention(project.getTasks().named(ApplicationPlugin.TASK_RUN_NAME, JavaExec.class)
+                    .flatMap(JavaExec::getJavaLauncher));
+        });
+    }
+
+    /**
+     * Registers the 'javafxFootprint' task, which measures the native memory, the heap and the Prism pools of the
+     * application after it ran for a while, and compares them with the baseline. The launch uses the
+     * 'javafx.performance' settings, like 'run'.
+     */
+    private static void registerFootprint(Project project, JavaApplication application, JavaFXOptions javaFXOptions,
+                                          Provider<JavaFXJarClassifier> jarClassifier, Provider<Set<String>> runtimeModules,
+                                          Provider<List<String>> performanceArguments) {
+        FileCollection runtimeClasspath = mainRuntimeClasspath(project);
+        Configuration monocle = project.getConfigurations().getByName(MONOCLE_CONFIGURATION_NAME);
+        project.getTasks().register(FOOTPRINT_TASK_NAME, JavaFXFootprint.class, task -> {
+            task.setGroup(ApplicationPlugin.APPLICATION_GROUP);
+            task.setDescription("Measures the native memory, heap and Prism texture pools of the application.");
+            JavaFXJarSpec.SplitClasspath split = splitClasspath(task, jarClassifier, runtimeClasspath);
+            task.getClasspath().from(split.getClasspath());
+            task.getModulePath().from(split.getModulePath());
+            task.getModules().convention(runtimeModules);
+            task.getJavaFXVersion().convention(javaFXOptions.getFxVersion());
+            task.getMainClass().convention(application.getMainClass());
+            task.getJvmArgs().convention(performanceArguments);
+            Provider<Boolean> headless = task.getHeadless();
+            task.getMonocle().from((Callable<Object>) () -> headless.get() ? monocle : List.of());
+            task.getBaselineFile().convention(project.getLayout().getProjectDirectory().file("javafx-footprint-baseline.properties"));
+            task.getReportFile().convention(project.getLayout().getBuildDirectory().file(REPORTS_DIR + "/footprint.json"));
+            task.getJavaLauncher().convention(project.getTasks().named(ApplicationPlugin.TASK_RUN_NAME, JavaExec.class)
+                    .flatMap(JavaExec::getJavaLauncher));
+        });
+    }
+
+    /**
+     * Registers the 'javafxPackage' task, which packages the application with jpackage as an app image, with the
+     * runtime image of 'javafxJlink'. The JavaFX jars are left out of the jars of a non-modular application,
+     * because the runtime image contains the JavaFX modules.
+     */
+    private static void registerPackage(Project project, JavaApplication application, JavaFXOptions javaFXOptions,
+                                        Provider<JavaFXJarClassifier> jarClassifier, Provider<List<String>> performanceArguments) {
+        TaskProvider<Jar> jar = project.getTasks().named(JavaPlugin.JAR_TASK_NAME, Jar.class);
+        FileCollection runtimeJars = project.getConfigurations().getByName(JavaPlugin.RUNTIME_CLASSPATH_CONFIGURATION_NAME);
+        project.getTasks().register(PACKAGE_TASK_NAME, JavaFXPackage.class, task -> {
+            task.setGroup(ApplicationPlugin.APPLICATION_GROUP);
+            task.setDescription("Packages the application as an app image with jpackage.");
+            FileCollection libraries = project.files(jar, splitClasspath(task, jarClassifier, runtimeJars).getClasspath());
+            task.getLibraries().from((Callable<Object>) () -> application.getMainModule().isPresent() ? List.of() : libraries);
+            task.getRuntimeImage().convention(project.getTasks().named(JLINK_TASK_NAME, JavaFXJlink.class)
+                    .flatMap(JavaFXJlink::getImageDir));
+            task.getApplicationName().convention(project.provider(application::getApplicationName));
+            task.getMainClass().convention(application.getMainClass());
+            task.getMainModule().convention(application.getMainModule());
+            task.getMainJar().convention(jar.flatMap(Jar::getArchiveFileName));
+            task.getJavaOptions().convention(performanceArguments);
+            task.getPlatform().convention(javaFXOptions.getFxPlatform());
+            task.getJavaLauncher().convention(project.getTasks().named(ApplicationPlugin.TASK_RUN_NAME, JavaExec.class)
+                    .flatMap(JavaExec::getJavaLauncher));
+            task.getDestinationDir().convention(project.getLayout().getBuildDirectory().dir("javafx/package"));
+        });
+    }
+
+    /**
+     * @param runtimeClasspath the runtime classpath with the JavaFX jars
+     * @param runtimeJars the jars of the runtime classpath, i.e. without the class folders of the project
+     * @param performanceArguments the JVM arguments that the 'java' launcher of the image adds
+     */
+    private static void configureJlink(Project project, JavaFXJlink task, JavaApplication application, Provider<JavaFXJarClassifier> jarClassifier,
+                                       Provider<Set<String>> runtimeModules, FileCollection runtimeClasspath,
+                                       FileCollection runtimeJars, Provider<List<String>> performanceArguments) {
+        FileCollection javaFXJars = splitClasspath(task, jarClassifier, runtimeClasspath).getModulePath();
+        // The JavaFX jmods, if set, are linked instead of the JavaFX jars
+        Provider<String> jmods = task.getJmods();
+        task.getModulePath().from((Callable<Object>) () -> jmods.isPresent() ? List.of() : javaFXJars);
+        task.getModulePath().from((Callable<Object>) () -> application.getMainModule().isPresent()
+                ? List.of(project.getTasks().named(JavaPlugin.JAR_TASK_NAME),
+                        runtimeJars.filter(JavaFXJarSpec.classpath(jarClassifier)))
+                : List.of());
+        // Mapped, not wrapped, so that the task still depends on 'javafxModuleAnalysis' if 'inferModules' is enabled
+        task.getModules().convention(runtimeModules.zip(application.getMainModule().orElse(""), (modules, mainModule) -> {
+            Set<String> linkedModules = new TreeSet<>(modules);
+            if (!mainModule.isEmpty()) {
+                linkedModules.add(mainModule);
             }
+            return linkedModules;
+        }));
+        task.getJavaLauncher().convention(project.getTasks().named(ApplicationPlugin.TASK_RUN_NAME, JavaExec.class)
+                .flatMap(JavaExec::getJavaLauncher));
+        task.getOptions().addAll(performanceArguments.map(args -> args.isEmpty()
+                ? List.<String>of() : List.of("--add-options=" + String.join(" ", args))));
+    }
+
+    /**
+     * Registers start scripts, a distribution and a jlink image for each of 'javafx.distributionPlatforms', and
+     * the 'javafxDistributions' task, which builds the distributions of all platforms. The image of a platform
+     * other than the one the build runs on needs the 'jdkModulePath' of a JDK for that platform.
+     */
+    private static void registerPlatformDistributions(Project project, JavaApplication application, JavaFXOptions javaFXOptions,
+                                                      Provider<JavaFXJarClassifier> jarClassifier, Provider<Set<String>> runtimeModules,
+                                                      Provider<List<String>> performanceArguments) {
+        TaskProvider<Task> distributions = project.getTasks().register(DISTRIBUTIONS_TASK_NAME, task -> {
+            task.setGroup("distribution");
+            task.setDescription("Bundles the project as distribution for each of the JavaFX distribution platforms.");
         });
+        JavaFXPlatform hostPlatform = JavaFXPlatform.detect(project.getExtensions().getByType(OsDetector.class));
+        javaFXOptions.getFxDistributionPlatforms().all(platform -> {
+            FileCollection runtimeClasspath = javaFXOptions.withNativesStripped(javaFXOptions.getRuntimeClasspath(platform));
+            FileCollection libraries = project.files(project.getTasks().named(JavaPlugin.JAR_TASK_NAME), runtimeClasspath);
+            String suffix = platform.getNameSuffix();
+            Provider<Directory> platformDir = project.getLayout().getBuildDirectory().dir("javafx/distributions/" + platform.getClassifier());
+
+            Provider<Boolean> classpathApplication = classpathApplication(project, application.getMainModule());
+            TaskProvider<CreateStartScripts> startScripts = project.getTasks().register("javafxStartScripts" + suffix, CreateStartScripts.class, task -> {
+                task.setDescription("Creates the start scripts of the application for " + platform.getClassifier() + ".");
+                task.getMainClass().convention(application.getMainClass());
+                task.getMainModule().convention(application.getMainModule());
+                task.getModularity().getInferModulePath().convention(project.getExtensions()
+                        .getByType(JavaPluginExtension.class).getModularity().getInferModulePath());
+                task.setApplicationName(application.getApplicationName());
+                task.setDefaultJvmOpts(application.getApplicationDefaultJvmArgs());
+                task.setClasspath(libraries);
+                task.setOutputDir(platformDir.get().dir("scripts").getAsFile());
+                putJavaFXJarsOnModulePathForStartScripts(project, task, jarClassifier, runtimeModules, performanceArguments);
+            });
+            TaskProvider<JavaFXDistribution> distZip = project.getTasks().register("javafxDistZip" + suffix, JavaFXDistribution.class, task -> {
+                task.setGroup("distribution");
+                task.setDescription("Bundles the project as distribution for " + platform.getClassifier() + ".");
+                task.getDistributionBaseName().convention(project.provider(() -> application.getApplicationName() + "-" + platform.getClassifier()));
+                task.usesService(jarClassifier);
+                task.getLibraries().from(libraries.filter(JavaFXJarSpec.classpath(jarClassifier, classpathApplication)));
+                task.getModulePathLibraries().from(libraries.filter(JavaFXJarSpec.modulePath(jarClassifier, classpathApplication)));
+                task.getStartScriptsDir().convention(project.getLayout().dir(startScripts.map(CreateStartScripts::getOutputDir)));
+                task.getArchiveFile().convention(project.getLayout().getBuildDirectory().file(project.provider(() -> {
+                    String version = Project.DEFAULT_VERSION.equals(project.getVersion().toString()) ? "" : "-" + project.getVersion();
+                    return "distributions/" + application.getApplicationName() + version + "-" + platform.getClassifier() + ".zip";
+                })));
+            });
+            distributions.configure(task -> task.dependsOn(distZip));
+
+            if (supportsToolchains()) {
+                project.getTasks().register(JLINK_TASK_NAME + suffix, JavaFXJlink.class, task -> {
+                    task.setGroup(ApplicationPlugin.APPLICATION_GROUP);
+                    task.setDescription("Links a runtime image with the JavaFX modules for " + platform.getClassifier() + ".");
+                    configureJlink(project, task, application, jarClassifier, runtimeModules, runtimeClasspath, runtimeClasspath,
+                            performanceArguments);
+                    task.getImageDir().convention(platformDir.map(dir -> dir.dir("image")));
+                    task.getTargetPlatform().set(platform);
+                    task.getHostPlatform().set(hostPlatform);
+                });
+            }
+        });
+    }
+
+    private static JavaFXNativesArgumentProvider nativesArgumentProvider(Project project, Provider<List<File>> natives) {
+        var nativesArguments = project.getObjects().newInstance(JavaFXNativesArgumentProvider.class);
+        nativesArguments.getNativesDir().from(natives);
+        return nativesArguments;
+    }
 
+    private static JavaFXPerformanceArgumentProvider performanceArgumentProvider(Project project, Provider<List<String>> arguments) {
+        var performanceArguments = project.getObjects().newInstance(JavaFXPerformanceArgumentProvider.class);
+        performanceArguments.getArguments().set(arguments);
+        return performanceArguments;
+    }
+
+    private static JavaFXCdsArgumentProvider cdsArgumentProvider(Project project, Provider<List<RegularFile>> archive) {
+        var cdsArguments = project.getObjects().newInstance(JavaFXCdsArgumentProvider.class);
+        cdsArguments.getArchive().from(archive);
+        return cdsArguments;
     }
 
     /**
      * Gradle does currently not put anything on the --module-path if the application itself is executed from
      * the classpath. Hence, this patches the setup of Gradle's standard ':run' task to move all JavaFX Jars
      * from '-classpath' to '-module-path'. This functionality is only relevant for NON-MODULAR apps.
+     * The split is computed lazily, when the task executes, the same way as for {@link JavaFXExec}.
      */
-    private static void putJavaFXJarsOnModulePathForClasspathApplication(JavaExec execTask, final Property<JavaFXPlatform> platform, final SetProperty<String> stringSetProperty) {
+    private static void putJavaFXJarsOnModulePathForClasspathApplication(Project project, JavaExec execTask, final Provider<JavaFXJarClassifier> jarClassifier,
+                                                                         final Provider<Set<String>> modules, Provider<JavaFXInstrumentation> instrumentation) {
+        Provider<Boolean> classpathApplication = classpathApplication(project, execTask.getMainModule());
         FileCollection classpath = execTask.getClasspath();
 
-        execTask.setClasspath(classpath.filter(jar -> !isJavaFXJar(jar, platform.get())));
-        var modulePath = classpath.filter(jar -> isJavaFXJar(jar, platform.get()));
+        execTask.usesService(jarClassifier);
+        execTask.setClasspath(classpath.filter(JavaFXJarSpec.classpath(jarClassifier, classpathApplication)));
 
-        execTask.getJvmArgumentProviders().add(() -> List.of(
-                "--module-path", modulePath.getAsPath(),
-                "--add-modules", String.join(",", stringSetProperty.get())
-        ));
+        var modulePathArguments = project.getObjects().newInstance(JavaFXModulePathArgumentProvider.class);
+        modulePathArguments.getModulePath().from(classpath.filter(JavaFXJarSpec.modulePath(jarClassifier, classpathApplication)));
+        modulePathArguments.getModules().set(modules);
+        if (instrumentation != null) {
+            modulePathArguments.getInstrumentation().set(instrumentation);
+            modulePathArguments.getTaskPath().set(execTask.getPath());
+            modulePathArguments.getReportDir().set(project.getLayout().getBuildDirectory().dir(REPORTS_DIR));
+        }
+        execTask.getJvmArgumentProviders().add(modulePathArguments);
     }
 
-    private static boolean isJavaFXJar(File jar, JavaFXPlatform platform) {
-        return jar.isFile() &&
-                Arrays.stream(JavaFXModule.values()).anyMatch(javaFXModule ->
-                        javaFXModule.compareJarFileName(platform, jar.getName()) ||
-                                javaFXModule.getModuleJarFileName().equals(jar.getName()));
+    /**
+     * Like for 'run', the start scripts of a non-modular application put the JavaFX jars on the module path, from
+     * the 'lib/javafx' folder of the distribution. The modules and the performance settings are written to an
+     * argument file next to the scripts, so that a launch from the distribution matches 'run'.
+     */
+    private static void putJavaFXJarsOnModulePathForStartScripts(Project project, CreateStartScripts task, Provider<JavaFXJarClassifier> jarClassifier,
+                                                                 Provider<Set<String>> modules, Provider<List<String>> performanceArguments) {
+        Provider<Boolean> classpathApplication = classpathApplication(project, task.getMainModule());
+        FileCollection classpath = task.getClasspath();
+        task.usesService(jarClassifier);
+        task.setClasspath(classpath.filter(JavaFXJarSpec.classpath(jarClassifier, classpathApplication)));
+
+        Provider<List<String>> jvmOptions = classpathApplication.map(enabled -> enabled
+                ? List.of("--module-path", JavaFXStartScripts.APP_HOME + "/" + JavaFXModulePathLayout.MODULE_PATH)
+                : List.of());
+        Provider<List<String>> argFileOptions = project.provider(() -> {
+            List<String> options = new ArrayList<>();
+            if (classpathApplication.get()) {
+                options.add("--add-modules");
+                options.add(String.join(",", modules.get()));
+            }
+            options.addAll(performanceArguments.get());
+            return options;
+        });
+        task.getInputs().property("javafxModulePathJvmOptions", jvmOptions);
+        task.getInputs().property("javafxArgFileOptions", argFileOptions);
+        task.doLast(new JavaFXStartScripts(jvmOptions, argFileOptions));
+    }
+
+    /**
+     * The tasks that launch a JDK tool or a JVM, e.g. jlink or the training run of the AppCDS archive, need
+     * toolchain support, which is available since Gradle 6.7.
+     */
+    private static boolean supportsToolchains() {
+        return GradleVersion.current().compareTo(GradleVersion.version("6.7")) >= 0;
+    }
+
+    /**
+     * @return the runtime classpath of the 'main' source set
+     */
+    private static FileCollection mainRuntimeClasspath(Project project) {
+        return project.getExtensions().getByType(SourceSetContainer.class).getByName(SourceSet.MAIN_SOURCE_SET_NAME).getRuntimeClasspath();
+    }
+
+    /**
+     * Splits the runtime classpath for a task that always puts the JavaFX jars on the module path, and declares that
+     * the task uses the classifier.
+     */
+    private static JavaFXJarSpec.SplitClasspath splitClasspath(Task task, Provider<JavaFXJarClassifier> jarClassifier,
+                                                               FileCollection runtimeClasspath) {
+        task.usesService(jarClassifier);
+        return new JavaFXJarSpec.SplitClasspath(runtimeClasspath, jarClassifier);
+    }
+
+    /**
+     * Modular applications are left alone: Gradle, or the 'org.javamodularity.moduleplugin', sets up the module path.
+     */
+    private static Provider<Boolean> classpathApplication(Project project, Provider<String> mainModule) {
+        return project.provider(() -> !mainModule.isPresent() &&
+                !(project.getPlugins().hasPlugin("org.javamodularity.moduleplugin") && project.getExtensions().findByName("modulename") != null));
+    }
+
+    /**
+     * Registers the shared 'JavaFXInstrumentation' service, and records the time spent in declaring the JavaFX
+     * dependencies and in resolving the configurations of the project that contain JavaFX modules.
+     * The tasks the plugin registers or configures declare that they use the service: they launch the application
+     * or resolve the JavaFX modules. Other tasks are not configured, so that they are still created lazily.
+     */
+    static Provider<JavaFXInstrumentation> registerInstrumentation(Project project, JavaFXOptions javaFXOptions) {
+        Provider<JavaFXInstrumentation> instrumentation = project.getGradle().getSharedServices().registerIfAbsent(
+                "javafxInstrumentation", JavaFXInstrumentation.class, spec -> { });
+        for (Class<? extends Task> type : List.of(JavaFXExec.class, Test.class, CreateStartScripts.class, JavaFXCdsArchive.class,
+                JavaFXJlink.class, JavaFXPackage.class, JavaFXStartupBenchmark.class, JavaFXFootprint.class, JavaFXDistribution.class)) {
+            project.getTasks().withType(type).configureEach(task -> task.usesService(instrumentation));
+        }
+        project.getPlugins().withId("java", p ->
+                project.getTasks().named(NATIVES_TASK_NAME, task -> task.usesService(instrumentation)));
+        project.getPlugins().withId("application", p -> {
+            for (String name : List.of(ApplicationPlugin.TASK_RUN_NAME, "distZip", "distTar", DistributionPlugin.TASK_INSTALL_NAME)) {
+                project.getTasks().named(name, task -> task.usesService(instrumentation));
+            }
+        });
+        String projectPath = project.getPath();
+        Provider<Directory> reportDir = project.getLayout().getBuildDirectory().dir(REPORTS_DIR);
+        javaFXOptions.setInstrumentation(instrumentation, projectPath, reportDir);
+        project.getConfigurations().configureEach(configuration -> {
+            AtomicLong start = new AtomicLong();
+            configuration.getIncoming().beforeResolve(dependencies -> start.set(System.nanoTime()));
+            configuration.getIncoming().afterResolve(dependencies -> {
+                long nanos = System.nanoTime() - start.get();
+                long javaFXModules = dependencies.getResolutionResult().getAllComponents().stream()
+                        .filter(component -> component.getId() instanceof ModuleComponentIdentifier
+                                && MAVEN_JAVAFX_ARTIFACT_GROUP_ID.equals(((ModuleComponentIdentifier) component.getId()).getGroup()))
+                        .count();
+                if (javaFXModules > 0) {
+                    instrumentation.get().recordResolution(projectPath, reportDir.get().getAsFile(), configuration.getName(),
+                            nanos, (int) javaFXModules);
+                }
+            });
+        });
+        return instrumentation;
     }
 }
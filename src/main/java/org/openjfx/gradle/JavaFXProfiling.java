@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.provider.Property;
+
+import java.time.Duration;
+
+/**
+ * Profiling of 'run', the 'JavaFXExec' and 'Test' tasks, in 'javafx.profiling'.
+ */
+public abstract class JavaFXProfiling {
+
+    public JavaFXProfiling() {
+        getJfr().convention(false);
+        getAllPulsePhases().convention(false);
+        getStallWatchdog().convention(false);
+        getStallBudget().convention(Duration.ofMillis(100));
+        getFailOnStall().convention(false);
+    }
+
+    /**
+     * If true, the JVM records the pulses of JavaFX with JFR: each pulse, its CSS and layout passes and the render
+     * time, and, with a {@link #getRunLaterProbeInterval() probe interval}, the latency of 'Platform.runLater'. The
+     * pulse logger of JavaFX runs to measure them, so the times include its own overhead. Each task writes the recordings and a summary with the
+     * percentiles to 'build/reports/javafx/profiling/&lt;task&gt;'. False by default.
+     * @return whether the JVMs are profiled with JFR
+     */
+    public abstract Property<Boolean> getJfr();
+
+    /**
+     * If true, 'jfr' records the phases of all pulses. Otherwise, the pulse logger logs the phases of the pulses
+     * that take longer than 'javafx.pulseLogger.threshold', 17 ms by default, and only the time of the others.
+     * Logging all pulses slows them down, as the pulse logger prints a block of text for each. False by default.
+     * @return whether the phases of all pulses are recorded
+     */
+    public abstract Property<Boolean> getAllPulsePhases();
+
+    /**
+     * If set, 'jfr' posts a probe with 'Platform.runLater' at this interval, and records how long it waits for the
+     * FX thread. The probes add work to the FX thread, e.g. 50 per second with 20 ms. Not set by default.
+     * @return the interval of the 'Platform.runLater' probe
+     */
+    public abstract Property<Duration> getRunLaterProbeInterval();
+
+    /**
+     * If true, 'run', the 'JavaFXExec' tasks and, with 'javafx.headlessTests', the 'Test' tasks watch the JavaFX
+     * Application Thread. When it does not respond within the {@link #getStallBudget() budget}, e.g. because an
+     * event handler or a pulse blocks on I/O, its stack is captured. Each task writes the stalls, grouped by call
+     * site, to 'build/reports/javafx/stalls/&lt;task&gt;'. False by default.
+     * @return whether the FX thread is watched for stalls
+     */
+    public abstract Property<Boolean> getStallWatchdog();
+
+    /**
+     * @return how long the FX thread may be busy with a single event handler or pulse, 100 ms by default
+     */
+    public abstract Property<Duration> getStallBudget();
+
+    /**
+     * @return whether a task fails if the FX thread stalled, false by default
+     */
+    public abstract Property<Boolean> getFailOnStall();
+}
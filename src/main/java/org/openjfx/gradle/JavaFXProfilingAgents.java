@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.jvm.toolchain.JavaLauncher;
+import org.gradle.process.ExecOperations;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Builds the agents of 'javafx.profiling', see 'JavaFXProfilingAgent.java' and 'JavaFXWatchdogAgent.java' in the
+ * resources, and writes the settings of the JFR recording next to them.
+ */
+@CacheableTask
+public abstract class JavaFXProfilingAgents extends DefaultTask {
+
+    static final String AGENT_JAR = "javafx-profiling-agent.jar";
+    static final String WATCHDOG_AGENT_JAR = "javafx-watchdog-agent.jar";
+    static final String SETTINGS = "javafx-profiling.jfc";
+
+    private static final String AGENT_CLASS = "JavaFXProfilingAgent";
+    private static final String WATCHDOG_AGENT_CLASS = "JavaFXWatchdogAgent";
+
+    @Inject
+    protected abstract ExecOperations getExecOperations();
+
+    @Inject
+    protected abstract FileSystemOperations getFileSystemOperations();
+
+    /**
+     * @return the JavaFX jars, which the agents are compiled against
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getModulePath();
+
+    /**
+     * @return the JDK that compiles the agents, the JDK of Gradle if not set
+     */
+    @Nested
+    @Optional
+    public abstract Property<JavaLauncher> getJavaLauncher();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getDestinationDir();
+
+    @Internal
+    public Provider<RegularFile> getAgentJar() {
+        return getDestinationDir().file(AGENT_JAR);
+    }
+
+    @Internal
+    public Provider<RegularFile> getWatchdogAgentJar() {
+        return getDestinationDir().file(WATCHDOG_AGENT_JAR);
+    }
+
+    @Internal
+    public Provider<RegularFile> getSettingsFile() {
+        return getDestinationDir().file(SETTINGS);
+    }
+
+    @TaskAction
+    public void build() throws IOException {
+        File javaHome = getJavaLauncher().map(launcher -> launcher.getMetadata().getInstallationPath().getAsFile())
+                .getOrElse(new File(System.getProperty("java.home")));
+        getFileSystemOperations().delete(spec -> spec.delete(getDestinationDir()));
+        JavaFXAgentCompiler compiler = new JavaFXAgentCompiler(getExecOperations(), getFileSystemOperations());
+        compiler.compile(javaHome, AGENT_CLASS, getModulePath(), new File(getTemporaryDir(), "profiling"),
+                getAgentJar().get().getAsFile());
+        compiler.compile(javaHome, WATCHDOG_AGENT_CLASS, getModulePath(), new File(getTemporaryDir(), "watchdog"),
+                getWatchdogAgentJar().get().getAsFile());
+        try (InputStream in = JavaFXProfilingAgents.class.getResourceAsStream(SETTINGS)) {
+            Files.copy(in, getSettingsFile().get().getAsFile().toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.process.CommandLineArgumentProvider;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * If 'javafx.profiling.jfr' is enabled, attaches the profiling agent, which records the JavaFX pulses with JFR
+ * into the recording directory. Without a probe interval, the agent does not probe 'Platform.runLater'.
+ */
+public abstract class JavaFXProfilingArgumentProvider implements CommandLineArgumentProvider {
+
+    @Input
+    public abstract Property<Boolean> getEnabled();
+
+    @Classpath
+    public abstract ConfigurableFileCollection getAgent();
+
+    @InputFiles
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract ConfigurableFileCollection getSettings();
+
+    @Input
+    public abstract Property<Boolean> getAllPulsePhases();
+
+    @Input
+    @Optional
+    public abstract Property<Duration> getRunLaterProbeInterval();
+
+    @Internal
+    public abstract DirectoryProperty getRecordingDir();
+
+    @Override
+    public Iterable<String> asArguments() {
+        if (!getEnabled().get()) {
+            return List.of();
+        }
+        return List.of("-javaagent:" + getAgent().getSingleFile().getAbsolutePath() + "=" +
+                getSettings().getSingleFile().getAbsolutePath() + File.pathSeparator +
+                getRecordingDir().get().getAsFile().getAbsolutePath() + File.pathSeparator +
+                getAllPulsePhases().get() + File.pathSeparator +
+                getRunLaterProbeInterval().map(Duration::toMillis).getOrElse(0L));
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.Action;
+import org.gradle.api.Task;
+import org.gradle.api.UncheckedIOException;
+import org.gradle.api.file.Directory;
+import org.gradle.api.provider.Provider;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Summarizes the JFR recordings of the profiling agent, after a task with 'javafx.profiling.jfr' enabled: the
+ * percentiles of the JavaFX events of all recordings in the recording directory, e.g. of every fork of a 'Test'
+ * task, are logged and written to {@value #SUMMARY}. {@link DeleteReports} removes the recordings of the
+ * previous execution before the task runs.
+ */
+class JavaFXProfilingReport implements Action<Task> {
+
+    static final String SUMMARY = "summary.json";
+
+    static final Map<String, String> METRICS = Map.of(
+            "org.openjfx.Pulse", "pulse",
+            "org.openjfx.CssPass", "cssPass",
+            "org.openjfx.LayoutPass", "layoutPass",
+            "org.openjfx.Render", "render",
+            "org.openjfx.RunLaterLatency", "runLaterLatency");
+
+    private static final List<String> ORDER = List.of("pulse", "cssPass", "layoutPass", "render", "runLaterLatency");
+
+    private final Provider<Boolean> enabled;
+    private final Provider<Directory> recordingDir;
+
+    JavaFXProfilingReport(Provider<Boolean> enabled, Provider<Directory> recordingDir) {
+        this.enabled = enabled;
+        this.recordingDir = recordingDir;
+    }
+
+    @Override
+    public void execute(Task task) {
+        if (!enabled.get()) {
+            return;
+        }
+        File dir = recordingDir.get().getAsFile();
+        List<Path> recordings = files(dir, ".jfr");
+        if (recordings.isEmpty()) {
+            task.getLogger().warn("No JFR recording was written to {}", dir);
+            return;
+        }
+        Map<String, List<Long>> micros = new LinkedHashMap<>();
+        ORDER.forEach(metric -> micros.put(metric, new ArrayList<>()));
+        try {
+            for (Path recording : recordings) {
+                for (RecordedEvent event : RecordingFile.readAllEvents(recording)) {
+                    String metric = METRICS.get(event.getEventType().getName());
+                    if (metric != null) {
+                        Duration time = event.hasField("time") ? event.getDuration("time") : event.getDuration();
+                        micros.get(metric).add(time.toNanos() / 1000);
+                    }
+                }
+            }
+            Map<String, Map<String, Long>> summary = summarize(micros);
+            Files.writeString(new File(dir, SUMMARY).toPath(), toJson(task.getPath(), recordings, summary), StandardCharsets.UTF_8);
+            task.getLogger().lifecycle("JavaFX profile of {} in milliseconds, see {}:\n{}", task.getPath(), dir, toTable(summary));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the count and the percentiles of each metric, in microseconds
+     */
+    static Map<String, Map<String, Long>> summarize(Map<String, List<Long>> micros) {
+        Map<String, Map<String, Long>> summary = new LinkedHashMap<>();
+        micros.forEach((metric, values) -> {
+            Map<String, Long> percentiles = new LinkedHashMap<>();
+            percentiles.put("count", (long) values.size());
+            percentiles.putAll(JavaFXStartupBenchmark.percentiles(values));
+            summary.put(metric, percentiles);
+        });
+        return summary;
+    }
+
+    private static String toJson(String taskPath, List<Path> recordings, Map<String, Map<String, Long>> summary) {
+        return "{\n" +
+                "  \"task\": \"" + taskPath + "\",\n" +
+                "  \"recordings\": [" + recordings.stream()
+                        .map(recording -> "\"" + recording.getFileName() + "\"")
+                        .collect(Collectors.joining(", ")) + "],\n" +
+                "  \"metrics\": {" + summary.entrySet().stream()
+                        .map(metric -> "\n    \"" + metric.getKey() + "Micros\": " + metric.getValue().entrySet().stream()
+                                .map(p -> "\"" + p.getKey() + "\": " + p.getValue())
+                                .collect(Collectors.joining(", ", "{ ", " }")))
+                        .collect(Collectors.joining(",")) +
+                "\n  }\n}\n";
+    }
+
+    private static String toTable(Map<String, Map<String, Long>> summary) {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%-16s %8s %8s %8s %8s %8s%n",
+                "Metric", "count", "p50", "p90", "p99", "max"));
+        summary.forEach((metric, values) -> {
+            if (values.get("count") > 0) {
+                table.append(String.format(Locale.ROOT, "%-16s %8d %8.1f %8.1f %8.1f %8.1f%n", metric, values.get("count"),
+                        values.get("p50") / 1000.0, values.get("p90") / 1000.0, values.get("p99") / 1000.0, values.get("max") / 1000.0));
+            }
+        });
+        return table.toString();
+    }
+
+    /**
+     * @return the files in the directory with the extension, in the order of their names
+     */
+    static List<Path> files(File dir, String extension) {
+        if (!dir.isDirectory()) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir.toPath())) {
+            return files.filter(file -> Files.isRegularFile(file) && file.getFileName().toString().endsWith(extension))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Removes the files of the previous execution of a task from its report directory, e.g. the recordings.
+     */
+    static class DeleteReports implements Action<Task> {
+
+        private final Provider<Boolean> enabled;
+        private final Provider<Directory> reportDir;
+
+        DeleteReports(Provider<Boolean> enabled, Provider<Directory> reportDir) {
+            this.enabled = enabled;
+            this.reportDir = reportDir;
+        }
+
+        @Override
+        public void execute(Task task) {
+            if (!enabled.get()) {
+                return;
+            }
+            try {
+                for (Path file : files(reportDir.get().getAsFile(), "")) {
+                    Files.delete(file);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
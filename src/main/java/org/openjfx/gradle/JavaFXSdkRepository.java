@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.UncheckedIOException;
+import org.gradle.nativeplatform.OperatingSystemFamily;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.openjfx.gradle.JavaFXOptions.MAVEN_JAVAFX_ARTIFACT_GROUP_ID;
+
+/**
+ * Generates a local Maven repository with Gradle Module Metadata from the 'lib' folder of a JavaFX SDK.
+ * The modules are published like the ones on Maven Central: a platform jar with the native libraries of the
+ * module, and variants for the platform that depend on the other JavaFX modules. A module is only generated
+ * again if its jar or native libraries in the SDK changed.
+ */
+final class JavaFXSdkRepository {
+
+    private static final String FINGERPRINT_FILE = ".sdk-fingerprint";
+    // Changes with the metadata that is generated, so that the modules of an older version of the plugin are replaced
+    private static final String METADATA_FORMAT = "2";
+    private static final String JAVAFX_PROPERTIES = "javafx.properties";
+    private static final List<String> NATIVE_EXTENSIONS = List.of(".so", ".dylib", ".dll");
+
+    private final File repositoryDir;
+
+    JavaFXSdkRepository(File repositoryDir) {
+        this.repositoryDir = repositoryDir;
+    }
+
+    File getRepositoryDir() {
+        return repositoryDir;
+    }
+
+    /**
+     * Adds the modules to the repository, unless it already contains them.
+     * @param sdkLib the 'lib' folder of the SDK
+     * @param platform the platform of the SDK
+     * @param modules the modules to add, including their dependencies
+     * @param defaultVersion the version, if the SDK has no 'javafx.properties'
+     * @return the version of the modules in the repository
+     */
+    String generate(File sdkLib, JavaFXPlatform platform, Collection<JavaFXModule> modules, String defaultVersion) {
+        String version = readVersion(sdkLib, defaultVersion);
+        // the native libraries are next to the jars ('lib'), or in 'bin' on Windows
+        List<File> natives = new ArrayList<>(listNatives(sdkLib));
+        natives.addAll(listNatives(new File(sdkLib.getParentFile(), "bin")));
+        checkPlatform(sdkLib.getParentFile(), platform, natives);
+
+        for (JavaFXModule module : modules) {
+            File jar = new File(sdkLib, module.getModuleJarFileName());
+            if (!jar.isFile()) {
+                throw new GradleException("The JavaFX SDK " + sdkLib.getParentFile() + " has no " + jar.getName());
+            }
+            List<File> moduleNatives = natives.stream()
+                    .filter(file -> nativeModule(file.getName()) == module)
+                    .collect(Collectors.toList());
+            String fingerprint = fingerprint(platform, jar, moduleNatives);
+            File moduleDir = new File(repositoryDir, MAVEN_JAVAFX_ARTIFACT_GROUP_ID.replace('.', '/') + "/" +
+                    module.getArtifactName() + "/" + version);
+            if (fingerprint.equals(readFingerprint(moduleDir))) {
+                continue;
+            }
+            JavaFXArchiveCache.withLock(new File(repositoryDir, module.getArtifactName() + ".lock"), () -> {
+                if (fingerprint.equals(readFingerprint(moduleDir))) {
+                    // generated by another build while waiting for the lock
+                    return moduleDir;
+                }
+                Path tmp = moduleDir.toPath().resolveSibling(version + "-" + UUID.randomUUID() + ".tmp");
+                try {
+                    Files.createDirectories(tmp);
+                    writeModule(tmp, module, version, platform, jar, moduleNatives);
+                    Files.writeString(tmp.resolve(FINGERPRINT_FILE), fingerprint);
+                    JavaFXArchiveCache.deleteRecursively(moduleDir.toPath());
+                    Files.move(tmp, moduleDir.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    JavaFXArchiveCache.deleteRecursively(tmp);
+                }
+                return moduleDir;
+            });
+        }
+        return version;
+    }
+
+    /**
+     * The SDK is published for the configured platform, as the native libraries tell its operating system, but not
+     * its architecture. Fails if they are for another operating system. An SDK without native libraries is taken to
+     * be for the configured platform.
+     */
+    static void checkPlatform(File sdkDir, JavaFXPlatform platform, List<File> natives) {
+        Set<String> osFamilies = natives.stream()
+                .map(file -> nativeOsFamily(file.getName()))
+                .collect(Collectors.toCollection(TreeSet::new));
+        if (!osFamilies.isEmpty() && !osFamilies.equals(Set.of(platform.getOsFamily()))) {
+            throw new GradleException("The JavaFX SDK " + sdkDir + " contains native libraries for " +
+                    String.join(", ", osFamilies) + ", but the JavaFX platform is '" + platform.getClassifier() +
+                    "'. Set 'platform' to the platform of the SDK, or use the SDK for '" + platform.getClassifier() + "'.");
+        }
+    }
+
+    private static String nativeOsFamily(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".dylib")) {
+            return OperatingSystemFamily.MACOS;
+        }
+        if (name.endsWith(".dll")) {
+            return OperatingSystemFamily.WINDOWS;
+        }
+        return OperatingSystemFamily.LINUX;
+    }
+
+    /**
+     * The JavaFX platform jars on Maven Central contain the native libraries of their module:
+     * WebKit for 'javafx.web', GStreamer and its plugins for 'javafx.media' and all others for 'javafx.graphics'.
+     */
+    static JavaFXModule nativeModule(String fileName) {
+        String name = fileName.startsWith("lib") ? fileName.substring(3) : fileName;
+        if (name.startsWith("jfxwebkit")) {
+            return JavaFXModule.WEB;
+        }
+        if (name.startsWith("jfxmedia") || name.startsWith("gstreamer") || name.startsWith("glib") ||
+                name.startsWith("avplugin") || name.startsWith("fxplugins")) {
+            return JavaFXModule.MEDIA;
+        }
+        return JavaFXModule.GRAPHICS;
+    }
+
+    private static List<File> listNatives(File dir) {
+        File[] files = dir.listFiles(file -> file.isFile() &&
+                NATIVE_EXTENSIONS.stream().anyMatch(file.getName().toLowerCase(Locale.ROOT)::endsWith));
+        if (files == null) {
+            return List.of();
+        }
+        Arrays.sort(files);
+        return Arrays.asList(files);
+    }
+
+    private static String readVersion(File sdkLib, String defaultVersion) {
+        File properties = new File(sdkLib, JAVAFX_PROPERTIES);
+        if (!properties.isFile()) {
+            return defaultVersion;
+        }
+        Properties javafx = new Properties();
+        try (InputStream in = new FileInputStream(properties)) {
+            javafx.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return javafx.getProperty("javafx.version", defaultVersion);
+    }
+
+    private static String fingerprint(JavaFXPlatform platform, File jar, List<File> natives) {
+        StringBuilder fingerprint = new StringBuilder(METADATA_FORMAT).append('|').append(platform.getClassifier());
+        for (File file : concat(jar, natives)) {
+            fingerprint.append('|').append(file.getAbsolutePath())
+                    .append('|').append(file.length())
+                    .append('|').append(file.lastModified());
+        }
+        return JavaFXArchiveCache.sha256(fingerprint.toString());
+    }
+
+    private static String readFingerprint(File moduleDir) {
+        try {
+            Path file = moduleDir.toPath().resolve(FINGERPRINT_FILE);
+            return Files.isRegularFile(file) ? Files.readString(file) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeModule(Path dir, JavaFXModule module, String version, JavaFXPlatform platform,
+                                    File jar, List<File> natives) throws IOException {
+        String baseName = module.getArtifactName() + "-" + version;
+        Path platformJar = dir.resolve(baseName + "-" + platform.getClassifier() + ".jar");
+        writeJar(platformJar, jar, natives);
+        JavaFXModuleMetadata.writeChecksums(platformJar);
+
+        JavaFXModuleMetadata.write(dir, module, version, Map.of(platform, platformJar));
+
+        Path pom = dir.resolve(baseName + ".pom");
+        Files.writeString(pom, pom(module, version, platform));
+        JavaFXModuleMetadata.writeChecksums(pom);
+    }
+
+    private static void writeJar(Path target, File jar, List<File> natives) throws IOException {
+        try (ZipFile zip = new ZipFile(jar);
+             ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(target))) {
+            for (ZipEntry entry : Collections.list(zip.entries())) {
+                ZipEntry copy = new ZipEntry(entry.getName());
+                copy.setTime(entry.getTime());
+                out.putNextEntry(copy);
+                try (InputStream in = zip.getInputStream(entry)) {
+                    in.transferTo(out);
+                }
+                out.closeEntry();
+            }
+            for (File file : natives) {
+                ZipEntry entry = new ZipEntry(file.getName());
+                entry.setTime(file.lastModified());
+                out.putNextEntry(entry);
+                Files.copy(file.toPath(), out);
+                out.closeEntry();
+            }
+        }
+    }
+
+    private static String pom(JavaFXModule module, String version, JavaFXPlatform platform) {
+        String dependencies = module.getDependentModules().stream()
+                .map(dependency -> "    <dependency>\n" +
+                        "      <groupId>" + MAVEN_JAVAFX_ARTIFACT_GROUP_ID + "</groupId>\n" +
+                        "      <artifactId>" + dependency.getArtifactName() + "</artifactId>\n" +
+                        "      <version>" + version + "</version>\n" +
+                        "      <classifier>" + platform.getClassifier() + "</classifier>\n" +
+                        "    </dependency>\n")
+                .collect(Collectors.joining());
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<project xmlns=\"http://maven.apache.org/POM/4.0.0\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"" +
+                " xsi:schemaLocation=\"http://maven.apache.org/POM/4.0.0 https://maven.apache.org/xsd/maven-4.0.0.xsd\">\n" +
+                "  <!-- do_not_remove: published-with-gradle-metadata -->\n" +
+                "  <modelVersion>4.0.0</modelVersion>\n" +
+                "  <groupId>" + MAVEN_JAVAFX_ARTIFACT_GROUP_ID + "</groupId>\n" +
+                "  <artifactId>" + module.getArtifactName() + "</artifactId>\n" +
+                "  <version>" + version + "</version>\n" +
+                "  <dependencies>\n" +
+                dependencies +
+                "  </dependencies>\n" +
+                "</project>\n";
+    }
+
+    private static List<File> concat(File file, List<File> files) {
+        List<File> all = new ArrayList<>();
+        all.add(file);
+        all.addAll(files);
+        return all;
+    }
+}
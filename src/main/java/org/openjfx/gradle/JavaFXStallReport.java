@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.Action;
+import org.gradle.api.GradleException;
+import org.gradle.api.Task;
+import org.gradle.api.UncheckedIOException;
+import org.gradle.api.file.Directory;
+import org.gradle.api.provider.Provider;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reports the stalls of the FX thread that the watchdog agent found, after a task with
+ * 'javafx.profiling.stallWatchdog' enabled. The stalls of all JVMs of the task, e.g. of every fork of a 'Test' task,
+ * are grouped by call site, which is the innermost frame of the application, and written to {@value #REPORT}.
+ * With 'javafx.profiling.failOnStall', the task fails if there are stalls.
+ */
+class JavaFXStallReport implements Action<Task> {
+
+    static final String REPORT = "stalls.txt";
+
+    /**
+     * The frames of these packages are not call sites of the application
+     */
+    private static final List<String> PLATFORM_PACKAGES = List.of("java.", "javax.", "jdk.", "sun.", "com.sun.",
+            "javafx.", "org.testfx.", "kotlin.", "groovy.", "org.codehaus.groovy.");
+    private static final int MAX_FRAMES = 30;
+
+    private final Provider<Boolean> enabled;
+    private final Provider<Directory> reportDir;
+    private final Provider<Duration> budget;
+    private final Provider<Boolean> failOnStall;
+
+    JavaFXStallReport(Provider<Boolean> enabled, Provider<Directory> reportDir, Provider<Duration> budget, Provider<Boolean> failOnStall) {
+        this.enabled = enabled;
+        this.reportDir = reportDir;
+        this.budget = budget;
+        this.failOnStall = failOnStall;
+    }
+
+    @Override
+    public void execute(Task task) {
+        if (!enabled.get()) {
+            return;
+        }
+        File dir = reportDir.get().getAsFile();
+        List<Stall> stalls = new ArrayList<>();
+        try {
+            for (Path file : JavaFXProfilingReport.files(dir, ".txt")) {
+                if (!file.getFileName().toString().equals(REPORT)) {
+                    stalls.addAll(parse(Files.readAllLines(file, StandardCharsets.UTF_8)));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (stalls.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<Stall>> callSites = groupByCallSite(stalls);
+        File report = new File(dir, REPORT);
+        try {
+            Files.writeString(report.toPath(), format(task.getPath(), budget.get().toMillis(), callSites), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String message = String.format("The FX thread stalled %d time(s) for longer than %d ms in %s, at %d call site(s). See %s",
+                stalls.size(), budget.get().toMillis(), task.getPath(), callSites.size(), report);
+        if (failOnStall.get()) {
+            throw new GradleException(message);
+        }
+        task.getLogger().warn(message);
+    }
+
+    /**
+     * Parses the stalls the agent appended to a file, see 'JavaFXWatchdogAgent.java' in the resources.
+     */
+    static List<Stall> parse(List<String> lines) {
+        List<Stall> stalls = new ArrayList<>();
+        Stall stall = null;
+        for (String line : lines) {
+            if (line.startsWith("stall ")) {
+                String[] values = line.split(" ");
+                stall = new Stall(Long.parseLong(values[1]), Long.parseLong(values[2]), values[3]);
+                stalls.add(stall);
+            } else if (stall != null && line.startsWith("\tat ")) {
+                stall.frames.add(line.substring(4));
+            }
+        }
+        return stalls;
+    }
+
+    /**
+     * @return the stalls by call site, the call site with the longest total stall first
+     */
+    static Map<String, List<Stall>> groupByCallSite(List<Stall> stalls) {
+        Map<String, List<Stall>> callSites = new LinkedHashMap<>();
+        stalls.forEach(stall -> callSites.computeIfAbsent(callSite(stall.frames), key -> new ArrayList<>()).add(stall));
+        Map<String, List<Stall>> sorted = new LinkedHashMap<>();
+        callSites.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, List<Stall>> e) -> totalMillis(e.getValue())).reversed())
+                .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+        return sorted;
+    }
+
+    /**
+     * @return the innermost frame that is not part of Java, JavaFX or a test library, or else the innermost frame
+     */
+    static String callSite(List<String> frames) {
+        for (String frame : frames) {
+            // e.g. 'java.base/java.io.FileInputStream.read(FileInputStream.java:276)' or 'app//demo.Main.load(Main.java:12)'
+            int end = frame.indexOf('(');
+            int slash = frame.lastIndexOf('/', end < 0 ? frame.length() : end);
+            if (frame.startsWith("0x", slash + 1)) {
+                // the frames of hidden classes, e.g. of lambdas, only forward the call
+                continue;
+            }
+            String withoutModule = frame.substring(slash + 1);
+            if (PLATFORM_PACKAGES.stream().noneMatch(withoutModule::startsWith)) {
+                return withoutModule;
+            }
+        }
+        return frames.isEmpty() ? "<unknown>" : frames.get(0);
+    }
+
+    private static long totalMillis(List<Stall> stalls) {
+        return stalls.stream().mapToLong(stall -> stall.durationMillis).sum();
+    }
+
+    private static String format(String taskPath, long budgetMillis, Map<String, List<Stall>> callSites) {
+        StringBuilder text = new StringBuilder(String.format("Stalls of the FX thread longer than %d ms in %s, by call site%n",
+                budgetMillis, taskPath));
+        callSites.forEach((callSite, stalls) -> {
+            // The longest stall stands for the call site
+            Stall longest = stalls.stream().max(Comparator.comparingLong(stall -> stall.durationMillis)).orElseThrow();
+            text.append(String.format("%n%s: %d stall(s), %d ms in total, %d ms at most%n",
+                    callSite, stalls.size(), totalMillis(stalls), longest.durationMillis));
+            text.append(String.format("  The longest started %d ms after the start of the JVM, with the FX thread %s:%n",
+                    longest.startMillis, longest.state));
+            longest.frames.stream().limit(MAX_FRAMES).forEach(frame -> text.append("\tat ").append(frame).append('\n'));
+            if (longest.frames.size() > MAX_FRAMES) {
+                text.append("\t... ").append(longest.frames.size() - MAX_FRAMES).append(" more\n");
+            }
+        });
+        return text.toString();
+    }
+
+    static class Stall {
+
+        final long startMillis;
+        final long durationMillis;
+        final String state;
+        final List<String> frames = new ArrayList<>();
+
+        Stall(long startMillis, long durationMillis, String state) {
+            this.startMillis = startMillis;
+            this.durationMillis = durationMillis;
+            this.state = state;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.Action;
+import org.gradle.api.GradleException;
+import org.gradle.api.Task;
+import org.gradle.api.UncheckedIOException;
+import org.gradle.api.provider.Provider;
+import org.gradle.jvm.application.tasks.CreateStartScripts;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Adds JVM options that refer to files of the distribution to the start scripts. Gradle can't express APP_HOME
+ * in 'defaultJvmOpts'. Hence, the options use the placeholder {@value #APP_HOME} and a line is added after the
+ * declaration of DEFAULT_JVM_OPTS, which replaces the placeholder with APP_HOME. Other options can be written to
+ * an argument file next to the scripts, e.g. 'bin/app.args', which keeps the command line short.
+ */
+class JavaFXStartScripts implements Action<Task> {
+
+    static final String APP_HOME = "__APP_HOME__";
+    static final String ARG_FILE_EXTENSION = ".args";
+
+    private static final Pattern UNIX_DEFAULT_JVM_OPTS = Pattern.compile("^DEFAULT_JVM_OPTS=.*$", Pattern.MULTILINE);
+    private static final Pattern WINDOWS_DEFAULT_JVM_OPTS = Pattern.compile("^set DEFAULT_JVM_OPTS=.*$", Pattern.MULTILINE);
+
+    private final Provider<List<String>> jvmOptions;
+    private final Provider<List<String>> argFileOptions;
+
+    JavaFXStartScripts(Provider<List<String>> jvmOptions) {
+        this(jvmOptions, null);
+    }
+
+    /**
+     * @param argFileOptions the options for the argument file, which must not refer to files of the distribution
+     */
+    JavaFXStartScripts(Provider<List<String>> jvmOptions, Provider<List<String>> argFileOptions) {
+        this.jvmOptions = jvmOptions;
+        this.argFileOptions = argFileOptions;
+    }
+
+    @Override
+    public void execute(Task task) {
+        CreateStartScripts startScripts = (CreateStartScripts) task;
+        List<String> options = new ArrayList<>(jvmOptions.get());
+        List<String> argFile = argFileOptions == null ? List.of() : argFileOptions.get();
+        if (!argFile.isEmpty()) {
+            String argFileName = startScripts.getApplicationName() + ARG_FILE_EXTENSION;
+            writeArgFile(new File(startScripts.getOutputDir(), argFileName), argFile);
+            options.add("@" + APP_HOME + "/bin/" + argFileName);
+        }
+        if (options.isEmpty()) {
+            return;
+        }
+        addOptions(new File(startScripts.getOutputDir(), startScripts.getApplicationName()), UNIX_DEFAULT_JVM_OPTS,
+                "DEFAULT_JVM_OPTS=\"$DEFAULT_JVM_OPTS" + options.stream()
+                        .map(option -> " \\\"" + option.replace(APP_HOME, "$APP_HOME") + "\\\"")
+                        .collect(Collectors.joining()) + "\"");
+        addOptions(new File(startScripts.getOutputDir(), startScripts.getApplicationName() + ".bat"), WINDOWS_DEFAULT_JVM_OPTS,
+                "set DEFAULT_JVM_OPTS=%DEFAULT_JVM_OPTS%" + options.stream()
+                        .map(option -> " \"" + (option.contains(APP_HOME)
+                                ? option.replace(APP_HOME, "%APP_HOME%").replace('/', '\\') : option) + "\"")
+                        .collect(Collectors.joining()));
+    }
+
+    private static void writeArgFile(File argFile, List<String> options) {
+        try {
+            Files.writeString(argFile.toPath(), options.stream()
+                    .map(JavaFXStartScripts::quote)
+                    .collect(Collectors.joining("\n", "", "\n")), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Quotes an option for an argument file, if it contains whitespace or characters with a meaning there.
+     */
+    static String quote(String option) {
+        if (option.isEmpty() || option.chars().anyMatch(c ->
+                Character.isWhitespace(c) || c == '"' || c == '\'' || c == '\\' || c == '#')) {
+            return "\"" + option.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+        }
+        return option;
+    }
+
+    private static void addOptions(File script, Pattern declaration, String line) {
+        try {
+            String content = Files.readString(script.toPath(), StandardCharsets.UTF_8);
+            Matcher matcher = declaration.matcher(content);
+            if (!matcher.find()) {
+                throw new GradleException("DEFAULT_JVM_OPTS is not declared in " + script);
+            }
+            String lineSeparator = content.contains("\r\n") ? "\r\n" : "\n";
+            String patched = content.substring(0, matcher.end()) + lineSeparator + line + content.substring(matcher.end());
+            Files.writeString(script.toPath(), patched, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
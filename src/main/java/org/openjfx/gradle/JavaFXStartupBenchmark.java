@@ -0,0 +1,442 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.SetProperty;
+import org.gradle.api.specs.Specs;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.options.Option;
+import org.gradle.jvm.toolchain.JavaLauncher;
+import org.gradle.process.ExecOperations;
+import org.gradle.process.ExecResult;
+
+import javax.inject.Inject;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the startup of the application: it is launched {@link #getRuns() several times} for each of the
+ * {@link #getVariants() variants}, with an agent that records the time since the start of the JVM until the agent
+ * starts, 'Application.init' and 'Application.start' are called, and the first window has its first pulse.
+ * The percentiles of each variant are logged and written to the {@link #getReportFile() report}.
+ * <p>
+ * The variants are:
+ * <ul>
+ *     <li>{@value #CLASSPATH}: the JavaFX jars are on the classpath</li>
+ *     <li>{@value #MODULE_PATH}: the JavaFX jars are on the module path, like with 'run'</li>
+ *     <li>{@value #MODULE_PATH_CDS}: like {@value #MODULE_PATH}, with the {@link #getCdsArchive() AppCDS archive}</li>
+ * </ul>
+ * The median times are compared to the {@link #getBaselineFile() baseline}, which is written if it does not exist
+ * or with '--update-baseline'. If {@link #getMaxRegression()} is set, the task fails if the median time to the
+ * first pulse of a variant is slower than the baseline by more than that percentage.
+ * <p>
+ * The agent is compiled against the JavaFX modules with 'javac' of the {@link #getJavaLauncher() JDK}.
+ */
+public abstract class JavaFXStartupBenchmark extends DefaultTask {
+
+    public static final String CLASSPATH = "classpath";
+    public static final String MODULE_PATH = "module-path";
+    public static final String MODULE_PATH_CDS = "module-path-cds";
+
+    static final List<String> METRICS = List.of("agent", "init", "start", "firstPulse");
+
+    private static final String AGENT_CLASS = "JavaFXStartupAgent";
+
+    @Inject
+    protected abstract ExecOperations getExecOperations();
+
+    @Inject
+    protected abstract FileSystemOperations getFileSystemOperations();
+
+    public JavaFXStartupBenchmark() {
+        getRuns().convention(10);
+        getWarmupRuns().convention(1);
+        getLaunchTimeout().convention(Duration.ofSeconds(60));
+        getHeadless().convention(true);
+        getUpdateBaseline().convention(false);
+        // Measurements are never up-to-date
+        getOutputs().upToDateWhen(Specs.satisfyNone());
+    }
+
+    /**
+     * @return the classpath of the application, without the JavaFX jars
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getClasspath();
+
+    /**
+     * @return the JavaFX jars
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getModulePath();
+
+    @Input
+    public abstract SetProperty<String> getModules();
+
+    @Input
+    public abstract Property<String> getMainClass();
+
+    @Input
+    public abstract ListProperty<String> getArgs();
+
+    /**
+     * @return the JVM arguments of every launch, e.g. the 'javafx.performance' settings
+     */
+    @Input
+    public abstract ListProperty<String> getJvmArgs();
+
+    /**
+     * @return the variants to compare: {@value #CLASSPATH}, {@value #MODULE_PATH} and {@value #MODULE_PATH_CDS}
+     */
+    @Input
+    public abstract ListProperty<String> getVariants();
+
+    /**
+     * @return the AppCDS archive for {@value #MODULE_PATH_CDS}
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract ConfigurableFileCollection getCdsArchive();
+
+    /**
+     * @return the number of measured launches of each variant, 10 by default
+     */
+    @Input
+    public abstract Property<Integer> getRuns();
+
+    /**
+     * @return the number of launches of each variant before the measured ones, e.g. to warm up the file system
+     * cache. 1 by default.
+     */
+    @Input
+    public abstract Property<Integer> getWarmupRuns();
+
+    /**
+     * @return how long to wait for the first window of a launch, 60 seconds by default
+     */
+    @Input
+    public abstract Property<Duration> getLaunchTimeout();
+
+    /**
+     * If true (the default), the application runs with the headless Monocle platform and software rendering.
+     * The {@value #MODULE_PATH_CDS} variant can only be headless if the JavaFX runtime includes Monocle, like the
+     * training run of the archive.
+     *
+     * @return whether the launches are headless
+     */
+    @Input
+    public abstract Property<Boolean> getHeadless();
+
+    /**
+     * @return the Monocle jar for headless launches, or nothing if the JavaFX runtime includes Monocle
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getMonocle();
+
+    /**
+     * @return the percentage by which the median time to the first pulse may be slower than the baseline, e.g. 10.
+     * If not set, the task does not fail.
+     */
+    @Input
+    @Optional
+    public abstract Property<Integer> getMaxRegression();
+
+    /**
+     * @return whether to replace the baseline with the results
+     */
+    @Internal
+    @Option(option = "update-baseline", description = "Replaces the baseline with the results.")
+    public abstract Property<Boolean> getUpdateBaseline();
+
+    /**
+     * @return the median times of the previous results. It is read and written by the task.
+     */
+    @Internal
+    public abstract RegularFileProperty getBaselineFile();
+
+    @Nested
+    @Optional
+    public abstract Property<JavaLauncher> getJavaLauncher();
+
+    /**
+     * @return the JSON report with the percentiles of each variant
+     */
+    @OutputFile
+    public abstract RegularFileProperty getReportFile();
+
+    @TaskAction
+    public void benchmark() throws IOException {
+        File javaHome = getJavaLauncher().map(launcher -> launcher.getMetadata().getInstallationPath().getAsFile())
+                .getOrElse(new File(System.getProperty("java.home")));
+        File agent = new File(getTemporaryDir(), "javafx-startup-agent.jar");
+        new JavaFXAgentCompiler(getExecOperations(), getFileSystemOperations())
+                .compile(javaHome, AGENT_CLASS, getModulePath(), getTemporaryDir(), agent);
+
+        Map<String, Map<String, List<Long>>> results = new LinkedHashMap<>();
+        for (String variant : getVariants().get()) {
+            results.put(variant, measure(javaHome, agent, variant));
+        }
+        Map<String, Map<String, Map<String, Long>>> percentiles = new LinkedHashMap<>();
+        results.forEach((variant, times) -> {
+            Map<String, Map<String, Long>> variantPercentiles = new LinkedHashMap<>();
+            times.forEach((metric, values) -> variantPercentiles.put(metric, percentiles(values)));
+            percentiles.put(variant, variantPercentiles);
+        });
+        writeReport(percentiles);
+        logResults(percentiles);
+        compareWithBaseline(percentiles);
+    }
+
+    /**
+     * @return the times of the measured launches of a variant, by metric
+     */
+    private Map<String, List<Long>> measure(File javaHome, File agent, String variant) throws IOException {
+        File report = new File(getTemporaryDir(), variant + ".txt");
+        Files.deleteIfExists(report.toPath());
+        List<String> args = jvmArgs(agent, report, variant);
+        int launches = getWarmupRuns().get() + getRuns().get();
+        getLogger().lifecycle("Launching '{}' {} times ({})", getMainClass().get(), launches, variant);
+        for (int i = 0; i < launches; i++) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            ExecResult result = getExecOperations().exec(spec -> {
+                spec.setExecutable(new File(javaHome, "bin/" + JavaFXAgentCompiler.executable("java")).getAbsolutePath());
+                spec.setArgs(args);
+                spec.setStandardOutput(OutputStream.nullOutputStream());
+                spec.setErrorOutput(output);
+                spec.setIgnoreExitValue(true);
+            });
+            if (result.getExitValue() != 0) {
+                throw new GradleException(String.format("The launch of '%s' (%s) failed with exit value %d:%n%s",
+                        getMainClass().get(), variant, result.getExitValue(), output.toString(StandardCharsets.UTF_8)));
+            }
+        }
+
+        List<String> lines = report.isFile() ? Files.readAllLines(report.toPath(), StandardCharsets.UTF_8) : List.of();
+        if (lines.size() < launches) {
+            throw new GradleException(String.format("'%s' (%s) exited before a window was shown in %d of %d launches.",
+                    getMainClass().get(), variant, launches - lines.size(), launches));
+        }
+        Map<String, List<Long>> times = new LinkedHashMap<>();
+        METRICS.forEach(metric -> times.put(metric, new ArrayList<>()));
+        for (String line : lines.subList(getWarmupRuns().get(), lines.size())) {
+            String[] values = line.trim().split(" ");
+            for (int i = 0; i < METRICS.size(); i++) {
+                long value = Long.parseLong(values[i]);
+                if (value >= 0) {
+                    times.get(METRICS.get(i)).add(value);
+                }
+            }
+        }
+        return times;
+    }
+
+    private List<String> jvmArgs(File agent, File report, String variant) {
+        List<String> args = new ArrayList<>();
+        args.add("-javaagent:" + agent.getAbsolutePath() + "=" + report.getAbsolutePath() + "," + getLaunchTimeout().get().toMillis());
+        List<File> classpath = new ArrayList<>();
+        classpath.add(agent);
+        classpath.addAll(getClasspath().getFiles());
+        switch (variant) {
+            case CLASSPATH:
+                classpath.addAll(getModulePath().getFiles());
+                if (getHeadless().get()) {
+                    classpath.addAll(getMonocle().getFiles());
+                }
+                break;
+            case MODULE_PATH:
+                addModulePath(args);
+                if (getHeadless().get() && !getMonocle().isEmpty()) {
+                    args.add("--patch-module");
+                    args.add("javafx.graphics=" + getMonocle().getAsPath());
+                }
+                break;
+            case MODULE_PATH_CDS:
+                if (getCdsArchive().isEmpty()) {
+                    throw new GradleException("The variant '" + MODULE_PATH_CDS + "' requires a CDS archive. Enable 'javafx.cdsArchive'.");
+                }
+                // The JVM disables CDS when a module is patched
+                if (getHeadless().get() && !getMonocle().isEmpty()) {
+                    throw new GradleException("The variant '" + MODULE_PATH_CDS + "' can't be headless with the Monocle jar, "
+                            + "because patching 'javafx.graphics' disables CDS. Set 'headless' to false, or use a JavaFX SDK that includes Monocle.");
+                }
+                args.add("-XX:SharedArchiveFile=" + getCdsArchive().getSingleFile().getAbsolutePath());
+                addModulePath(args);
+                break;
+            default:
+                throw new GradleException(String.format("Unknown startup benchmark variant '%s'. Supported: %s, %s, %s",
+                        variant, CLASSPATH, MODULE_PATH, MODULE_PATH_CDS));
+        }
+        if (getHeadless().get()) {
+            args.add("-Dglass.platform=Monocle");
+            args.add("-Dmonocle.platform=Headless");
+            args.add("-Dprism.order=sw");
+            args.add("-Dprism.text=t2k");
+        }
+        args.addAll(getJvmArgs().get());
+        args.add("-cp");
+        args.add(classpath.stream().map(File::getAbsolutePath).collect(Collectors.joining(File.pathSeparator)));
+        args.add(AGENT_CLASS);
+        args.add(getMainClass().get());
+        args.addAll(getArgs().get());
+        return args;
+    }
+
+    private void addModulePath(List<String> args) {
+        args.add("--module-path");
+        args.add(getModulePath().getAsPath());
+        args.add("--add-modules");
+        args.add(String.join(",", getModules().get()));
+    }
+
+    /**
+     * @return the 50th, 90th and 99th percentile and the maximum, by the nearest-rank method
+     */
+    static Map<String, Long> percentiles(List<Long> values) {
+        Map<String, Long> percentiles = new LinkedHashMap<>();
+        if (values.isEmpty()) {
+            return percentiles;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        for (int percentile : List.of(50, 90, 99)) {
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+            percentiles.put("p" + percentile, sorted.get(Math.max(rank, 1) - 1));
+        }
+        percentiles.put("max", sorted.get(sorted.size() - 1));
+        return percentiles;
+    }
+
+    private void writeReport(Map<String, Map<String, Map<String, Long>>> percentiles) throws IOException {
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"mainClass\": \"").append(getMainClass().get()).append("\",\n");
+        json.append("  \"timestamp\": \"").append(Instant.now()).append("\",\n");
+        json.append("  \"runs\": ").append(getRuns().get()).append(",\n");
+        json.append("  \"variants\": {");
+        json.append(percentiles.entrySet().stream()
+                .map(variant -> "\n    \"" + variant.getKey() + "\": {" + variant.getValue().entrySet().stream()
+                        .map(metric -> "\n      \"" + metric.getKey() + "Millis\": " + metric.getValue().entrySet().stream()
+                                .map(p -> "\"" + p.getKey() + "\": " + p.getValue())
+                                .collect(Collectors.joining(", ", "{ ", " }")))
+                        .collect(Collectors.joining(",")) + "\n    }")
+                .collect(Collectors.joining(",")));
+        json.append("\n  }\n}\n");
+        File report = getReportFile().get().getAsFile();
+        Files.writeString(report.toPath(), json.toString(), StandardCharsets.UTF_8);
+    }
+
+    private void logResults(Map<String, Map<String, Map<String, Long>>> percentiles) {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%-16s %-11s %6s %6s %6s %6s%n",
+                "Variant", "Metric", "p50", "p90", "p99", "max"));
+        percentiles.forEach((variant, metrics) -> metrics.forEach((metric, values) -> {
+            if (!values.isEmpty()) {
+                table.append(String.format(Locale.ROOT, "%-16s %-11s %6d %6d %6d %6d%n", variant, metric,
+                        values.get("p50"), values.get("p90"), values.get("p99"), values.get("max")));
+            }
+        }));
+        getLogger().lifecycle("Startup in milliseconds since the start of the JVM:\n{}", table);
+    }
+
+    private void compareWithBaseline(Map<String, Map<String, Map<String, Long>>> percentiles) throws IOException {
+        if (!getBaselineFile().isPresent()) {
+            return;
+        }
+        File baselineFile = getBaselineFile().get().getAsFile();
+        Map<String, String> medians = new TreeMap<>();
+        percentiles.forEach((variant, metrics) -> metrics.forEach((metric, values) -> {
+            if (values.containsKey("p50")) {
+                medians.put(variant + "." + metric, String.valueOf(values.get("p50")));
+            }
+        }));
+        if (!baselineFile.isFile() || getUpdateBaseline().get()) {
+            Files.createDirectories(baselineFile.toPath().getParent());
+            Files.writeString(baselineFile.toPath(), medians.entrySet().stream()
+                    .map(e -> e.getKey() + "=" + e.getValue() + "\n")
+                    .collect(Collectors.joining("", "# Median startup times in milliseconds of 'javafxStartupBenchmark'\n", "")),
+                    StandardCharsets.UTF_8);
+            getLogger().lifecycle("Wrote the startup baseline {}", baselineFile);
+            return;
+        }
+
+        Properties baseline = new Properties();
+        try (InputStream in = Files.newInputStream(baselineFile.toPath())) {
+            baseline.load(in);
+        }
+        List<String> regressions = new ArrayList<>();
+        medians.forEach((key, value) -> {
+            String previous = baseline.getProperty(key);
+            if (previous == null) {
+                return;
+            }
+            long before = Long.parseLong(previous.trim());
+            long now = Long.parseLong(value);
+            double change = before == 0 ? 0 : (now - before) / (double) before;
+            getLogger().lifecycle(String.format(Locale.ROOT, "%-28s %6d ms (baseline %d ms, %+.1f%%)", key, now, before, change * 100));
+            if (key.endsWith(".firstPulse") && getMaxRegression().isPresent() && change * 100 > getMaxRegression().get()) {
+                regressions.add(String.format(Locale.ROOT, "%s: %d ms instead of %d ms", key, now, before));
+            }
+        });
+        if (!regressions.isEmpty()) {
+            throw new GradleException(String.format(Locale.ROOT, "The startup is slower than the baseline %s by more than %d%%:%n%s",
+                    baselineFile, getMaxRegression().get(), String.join("\n", regressions)));
+        }
+    }
+}
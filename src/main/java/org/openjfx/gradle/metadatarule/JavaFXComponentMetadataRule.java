@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023, Gluon
+ * Copyright (c) 2023, 2026, Gluon
  * All rights reserved.
  *
  * Redistribution and use in source and binary forms, with or without
@@ -37,8 +37,11 @@ import org.gradle.api.model.ObjectFactory;
 import org.gradle.nativeplatform.MachineArchitecture;
 import org.gradle.nativeplatform.OperatingSystemFamily;
 import org.openjfx.gradle.JavaFXPlatform;
+import org.openjfx.gradle.transform.JavaFXStripNativesTransform;
 
 import javax.inject.Inject;
+import java.util.List;
+import java.util.Map;
 
 import static org.gradle.nativeplatform.MachineArchitecture.ARCHITECTURE_ATTRIBUTE;
 import static org.gradle.nativeplatform.OperatingSystemFamily.OPERATING_SYSTEM_ATTRIBUTE;
@@ -51,20 +54,44 @@ import static org.gradle.nativeplatform.OperatingSystemFamily.OPERATING_SYSTEM_A
 @CacheableRule
 abstract public class JavaFXComponentMetadataRule implements ComponentMetadataRule {
 
+    private final Map<String, List<String>> platformCatalog;
+
+    /**
+     * @param platformCatalog the versions each platform is published for, see {@link JavaFXPlatformCatalog}
+     */
+    @Inject
+    public JavaFXComponentMetadataRule(Map<String, List<String>> platformCatalog) {
+        this.platformCatalog = platformCatalog;
+    }
+
     @Inject
     abstract protected ObjectFactory getObjects();
 
     @Override
     public void execute(ComponentMetadataContext context) {
-        var details = context.getDetails();
+        addVariants(context.getDetails(), platformCatalog, getObjects());
+    }
+
+    /**
+     * Adds the variants of the platforms the version of the module is published for. The plugin calls it from a rule
+     * that is not cacheable, but reads the platform catalog only when it runs.
+     * @param platformCatalog the versions each platform is published for, see {@link JavaFXPlatformCatalog}
+     */
+    public static void addVariants(ComponentMetadataDetails details, Map<String, List<String>> platformCatalog, ObjectFactory objects) {
+        var version = details.getId().getVersion();
 
         for (JavaFXPlatform javaFXPlatform : JavaFXPlatform.values()) {
-            addJavaFXPlatformVariant(javaFXPlatform, details, "Compile", "compile");
-            addJavaFXPlatformVariant(javaFXPlatform, details, "Runtime", "runtime");
+            // A variant for a platform the version is not published for would only lead to a failed download
+            if (!JavaFXPlatformCatalog.isPublished(platformCatalog, javaFXPlatform.getClassifier(), version)) {
+                continue;
+            }
+            addJavaFXPlatformVariant(javaFXPlatform, details, objects, "Compile", "compile");
+            addJavaFXPlatformVariant(javaFXPlatform, details, objects, "Runtime", "runtime");
         }
     }
 
-    private void addJavaFXPlatformVariant(JavaFXPlatform javaFXPlatform, ComponentMetadataDetails details, String nameSuffix, String baseVariant) {
+    private static void addJavaFXPlatformVariant(JavaFXPlatform javaFXPlatform, ComponentMetadataDetails details, ObjectFactory objects,
+                                                 String nameSuffix, String baseVariant) {
         var name = details.getId().getName();
         var version = details.getId().getVersion();
 
@@ -74,8 +101,10 @@ abstract public class JavaFXComponentMetadataRule implements ComponentMetadataRu
         // have no effect on these future versions, as the variants will be named different.
         details.maybeAddVariant(javaFXPlatform.getClassifier() + nameSuffix, baseVariant, variant -> {
             variant.attributes(attributes -> {
-                attributes.attribute(OPERATING_SYSTEM_ATTRIBUTE, getObjects().named(OperatingSystemFamily.class, javaFXPlatform.getOsFamily()));
-                attributes.attribute(ARCHITECTURE_ATTRIBUTE, getObjects().named(MachineArchitecture.class, javaFXPlatform.getArch()));
+                attributes.attribute(OPERATING_SYSTEM_ATTRIBUTE, objects.named(OperatingSystemFamily.class, javaFXPlatform.getOsFamily()));
+                attributes.attribute(ARCHITECTURE_ATTRIBUTE, objects.named(MachineArchitecture.class, javaFXPlatform.getArch()));
+                // Only the JavaFX jars can be stripped, the runtime classpaths request the stripped jars in an artifact view
+                attributes.attribute(JavaFXStripNativesTransform.NATIVES_STRIPPED_ATTRIBUTE, false);
             });
             variant.withFiles(files -> {
                 files.removeAllFiles();
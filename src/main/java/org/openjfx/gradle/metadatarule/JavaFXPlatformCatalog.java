@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle.metadatarule;
+
+import org.gradle.api.GradleException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Which JavaFX versions are published for which platforms. The catalog maps a platform classifier to the version
+ * ranges it is published for, e.g. 'mac-aarch64' to '[11.0.12,12)' and '[17,)'. Platforms that are not in the
+ * catalog are published for all versions.
+ * <p>
+ * A range has the Maven notation with inclusive ('[', ']') and exclusive ('(', ')') bounds, and either bound can
+ * be left open. A single version, e.g. '17', means this version and all later versions. Qualifiers like '-ea+5'
+ * are not taken into account, so early access builds count as the version they lead up to.
+ */
+public final class JavaFXPlatformCatalog {
+
+    private static final Map<String, List<String>> DEFAULTS = Map.of(
+            "linux-aarch64", List.of("[11.0.12,12)", "[17,)"),
+            "mac-aarch64", List.of("[11.0.12,12)", "[17,)"));
+
+    private JavaFXPlatformCatalog() {
+    }
+
+    /**
+     * @return the platforms that are not published for all JavaFX versions
+     */
+    public static Map<String, List<String>> defaults() {
+        return DEFAULTS;
+    }
+
+    public static boolean isPublished(Map<String, List<String>> catalog, String classifier, String version) {
+        List<String> ranges = catalog.get(classifier);
+        return ranges == null || ranges.stream().anyMatch(range -> contains(range, version));
+    }
+
+    /**
+     * @throws GradleException if the range is not valid
+     */
+    public static void validate(String range) {
+        contains(range, "0");
+    }
+
+    static boolean contains(String range, String version) {
+        String trimmed = range.trim();
+        if (!trimmed.startsWith("[") && !trimmed.startsWith("(")) {
+            return compare(version, trimmed) >= 0;
+        }
+        String[] bounds = trimmed.substring(1, trimmed.length() - 1).split(",", -1);
+        if (bounds.length != 2 || !(trimmed.endsWith("]") || trimmed.endsWith(")"))) {
+            throw new GradleException("Invalid version range '" + range + "', expected e.g. '[17,)' or '[11.0.12,12)'");
+        }
+        String lower = bounds[0].trim();
+        String upper = bounds[1].trim();
+        if (!lower.isEmpty()) {
+            int comparison = compare(version, lower);
+            if (comparison < 0 || (comparison == 0 && trimmed.startsWith("("))) {
+                return false;
+            }
+        }
+        if (!upper.isEmpty()) {
+            int comparison = compare(version, upper);
+            return comparison < 0 || (comparison == 0 && trimmed.endsWith("]"));
+        }
+        return true;
+    }
+
+    /**
+     * Compares the numeric parts of two versions, e.g. '17' is equal to '17.0.0' and lower than '17.0.0.1'.
+     */
+    static int compare(String version, String other) {
+        int[] parts = numericParts(version);
+        int[] otherParts = numericParts(other);
+        for (int i = 0; i < Math.max(parts.length, otherParts.length); i++) {
+            int comparison = Integer.compare(
+                    i < parts.length ? parts[i] : 0,
+                    i < otherParts.length ? otherParts[i] : 0);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return 0;
+    }
+
+    private static int[] numericParts(String version) {
+        String release = version.trim().split("[-+]", 2)[0];
+        return Arrays.stream(release.split("\\."))
+                .takeWhile(part -> !part.isEmpty() && part.chars().allMatch(Character::isDigit))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+    }
+}
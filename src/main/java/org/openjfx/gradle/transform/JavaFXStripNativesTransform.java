@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle.transform;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.artifacts.transform.CacheableTransform;
+import org.gradle.api.artifacts.transform.InputArtifact;
+import org.gradle.api.artifacts.transform.TransformAction;
+import org.gradle.api.artifacts.transform.TransformOutputs;
+import org.gradle.api.artifacts.transform.TransformParameters;
+import org.gradle.api.attributes.Attribute;
+import org.gradle.api.attributes.AttributeDisambiguationRule;
+import org.gradle.api.attributes.MultipleCandidatesDetails;
+import org.gradle.api.file.FileSystemLocation;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.provider.SetProperty;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * <a href="https://docs.gradle.org/current/userguide/artifact_transforms.html">Artifact transform</a>
+ * that removes native libraries, e.g. 'libjfxwebkit' or the GStreamer plugins, from the JavaFX platform jars
+ * added by {@link org.openjfx.gradle.metadatarule.JavaFXComponentMetadataRule}, or generated from a local SDK.
+ * <p>
+ * Only these variants have the {@link #NATIVES_STRIPPED_ATTRIBUTE} attribute, so no other jar is transformed.
+ * The attribute is not requested by the configurations, which would fail the variant selection of the graph,
+ * but by an artifact view of the runtime classpaths. Jars that do not contain one of the native libraries to
+ * strip are passed on untouched.
+ */
+@CacheableTransform
+abstract public class JavaFXStripNativesTransform implements TransformAction<JavaFXStripNativesTransform.Parameters> {
+
+    /**
+     * False on the JavaFX variants, and requested by the artifact views of the runtime classpaths.
+     */
+    public static final Attribute<Boolean> NATIVES_STRIPPED_ATTRIBUTE =
+            Attribute.of("org.openjfx.javafx.natives.stripped", Boolean.class);
+
+    private static final List<String> NATIVE_EXTENSIONS = List.of(".so", ".dylib", ".dll");
+
+    public interface Parameters extends TransformParameters {
+
+        /**
+         * Names of the native libraries to remove, with or without 'lib' prefix and extension.
+         * '*' matches any characters, e.g. 'libavplugin*'.
+         */
+        @Input
+        SetProperty<String> getNatives();
+    }
+
+    /**
+     * Unlike the variants of the POM they are based on, the JavaFX platform variants have the attribute. Without
+     * this rule, Gradle would prefer the POM variant, with its empty jar, on a classpath that does not request it.
+     */
+    public static class PreferPlatformVariants implements AttributeDisambiguationRule<Boolean> {
+
+        @Override
+        public void execute(MultipleCandidatesDetails<Boolean> details) {
+            if (details.getConsumerValue() == null && details.getCandidateValues().contains(false)) {
+                details.closestMatch(false);
+            }
+        }
+    }
+
+    @InputArtifact
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    abstract public Provider<FileSystemLocation> getInputArtifact();
+
+    @Override
+    public void transform(TransformOutputs outputs) {
+        File jar = getInputArtifact().get().getAsFile();
+        List<Pattern> natives = toPatterns(getParameters().getNatives().get());
+        try {
+            if (natives.isEmpty() || !containsNatives(jar, natives)) {
+                outputs.file(getInputArtifact());
+                return;
+            }
+            strip(jar, outputs.file(jar.getName()), natives);
+        } catch (IOException e) {
+            throw new GradleException("Failed to strip native libraries from " + jar, e);
+        }
+    }
+
+    static List<Pattern> toPatterns(Collection<String> natives) {
+        return natives.stream()
+                .map(JavaFXStripNativesTransform::libraryName)
+                .map(name -> Pattern.compile(Pattern.quote(name).replace("*", "\\E.*\\Q")))
+                .collect(Collectors.toList());
+    }
+
+    static boolean isStripped(String entryName, List<Pattern> natives) {
+        // JavaFX jars keep their native libraries at the root
+        if (entryName.contains("/") ||
+                NATIVE_EXTENSIONS.stream().noneMatch(entryName.toLowerCase(Locale.ROOT)::endsWith)) {
+            return false;
+        }
+        String name = libraryName(entryName);
+        return natives.stream().anyMatch(pattern -> pattern.matcher(name).matches());
+    }
+
+    static boolean containsNatives(File jar, List<Pattern> natives) throws IOException {
+        try (ZipFile zip = new ZipFile(jar)) {
+            return zip.stream().anyMatch(entry -> isStripped(entry.getName(), natives));
+        }
+    }
+
+    static void strip(File jar, File target, List<Pattern> natives) throws IOException {
+        try (ZipFile zip = new ZipFile(jar);
+             ZipOutputStream out = new ZipOutputStream(new FileOutputStream(target))) {
+            for (ZipEntry entry : Collections.list(zip.entries())) {
+                if (isStripped(entry.getName(), natives)) {
+                    continue;
+                }
+                ZipEntry copy = new ZipEntry(entry.getName());
+                copy.setTime(entry.getTime());
+                out.putNextEntry(copy);
+                try (InputStream in = zip.getInputStream(entry)) {
+                    in.transferTo(out);
+                }
+                out.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * 'libjfxwebkit.so', 'jfxwebkit.dll' and 'libjfxwebkit' all name the library 'jfxwebkit'.
+     */
+    private static String libraryName(String fileName) {
+        String name = fileName;
+        for (String extension : NATIVE_EXTENSIONS) {
+            if (name.toLowerCase(Locale.ROOT).endsWith(extension)) {
+                name = name.substring(0, name.length() - extension.length());
+                break;
+            }
+        }
+        return name.startsWith("lib") ? name.substring(3) : name;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+import java.io.File;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Training launcher of the 'javafxCdsArchive' task, started with the source launcher of the JDK:
+ * <pre>
+ * java -XX:ArchiveClassesAtExit=app.jsa --module-path ... --add-modules ... \
+ *     JavaFXCdsTraining.java &lt;duration millis&gt; &lt;main class&gt; &lt;classpath&gt; [args...]
+ * </pre>
+ * AppCDS does not dump an archive if there are non-empty directories on the classpath. Hence, the JVM is
+ * started without a classpath and the application is loaded from a separate class loader. The JavaFX classes
+ * are loaded from the module path, which is archived. After the given duration the JVM exits, which
+ * writes the archive.
+ */
+public class JavaFXCdsTraining {
+
+    public static void main(String[] args) throws Exception {
+        long duration = Long.parseLong(args[0]);
+        String mainClassName = args[1];
+        List<URL> classpath = new ArrayList<>();
+        for (String entry : args[2].split(File.pathSeparator)) {
+            if (!entry.isEmpty()) {
+                classpath.add(new File(entry).toURI().toURL());
+            }
+        }
+        String[] applicationArgs = Arrays.copyOfRange(args, 3, args.length);
+
+        Thread timer = new Thread(() -> {
+            try {
+                Thread.sleep(duration);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            System.exit(0);
+        }, "javafx-cds-training");
+        timer.setDaemon(true);
+        timer.start();
+
+        ClassLoader loader = new URLClassLoader(classpath.toArray(new URL[0]), ClassLoader.getSystemClassLoader());
+        Thread.currentThread().setContextClassLoader(loader);
+        Class<?> mainClass = Class.forName(mainClassName, true, loader);
+        Method main = findMain(mainClass);
+        if (main != null) {
+            main.invoke(null, (Object) applicationArgs);
+        } else {
+            // Like the java launcher, start subclasses of Application that have no main method
+            Class<?> application = Class.forName("javafx.application.Application");
+            application.getMethod("launch", Class.class, String[].class).invoke(null, mainClass, applicationArgs);
+        }
+    }
+
+    private static Method findMain(Class<?> mainClass) {
+        try {
+            Method main = mainClass.getMethod("main", String[].class);
+            return Modifier.isStatic(main.getModifiers()) ? main : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+import javafx.application.Platform;
+
+import javax.management.ObjectName;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.lang.instrument.Instrumentation;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agent of the 'javafxFootprint' task, which is compiled against the JavaFX modules of the application:
+ * <pre>
+ * java -XX:NativeMemoryTracking=summary -Dprism.poolstats=true \
+ *     -javaagent:agent.jar=&lt;report file&gt;,&lt;duration millis&gt; ...
+ * </pre>
+ * When the duration since the start of the JVM has passed, the agent collects the garbage, and writes the used and
+ * committed heap, the native memory tracking summary and the latest statistics of the Prism resource pools to the
+ * report file. Then the JVM halts:
+ * <pre>
+ * heap.used &lt;bytes&gt;
+ * heap.committed &lt;bytes&gt;
+ * nonHeap.used &lt;bytes&gt;
+ * --- nmt
+ * &lt;output of 'jcmd &lt;pid&gt; VM.native_memory summary'&gt;
+ * --- prism
+ * &lt;Name&gt; Pool: &lt;used&gt; used (...), &lt;target&gt; target (...), &lt;max&gt; max
+ * </pre>
+ * Prism prints the statistics of its pools to System.err with 'prism.poolstats', which the agent keeps the last
+ * line of for each pool. Before the report is written, the agent asks Prism for the statistics on the FX thread,
+ * if 'com.sun.prism.impl' is exported to it.
+ */
+public class JavaFXFootprintAgent {
+
+    private static final Map<String, String> pools = new LinkedHashMap<>();
+
+    public static void premain(String agentArgs, Instrumentation instrumentation) {
+        String[] args = agentArgs.split(",");
+        String report = args[0];
+        long duration = Long.parseLong(args[1]);
+        System.setErr(new PrintStream(new PoolStats(System.err), true, StandardCharsets.UTF_8));
+
+        Thread measure = new Thread(() -> {
+            try {
+                long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+                Thread.sleep(Math.max(0, jvmStart + duration - System.currentTimeMillis()));
+                printPoolStats();
+                Files.writeString(Paths.get(report), measure(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (Exception e) {
+                e.printStackTrace();
+                Runtime.getRuntime().halt(3);
+            }
+            Runtime.getRuntime().halt(0);
+        }, "javafx-footprint");
+        measure.setDaemon(true);
+        measure.start();
+    }
+
+    private static String measure() throws Exception {
+        System.gc();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        StringBuilder report = new StringBuilder();
+        report.append("heap.used ").append(memory.getHeapMemoryUsage().getUsed()).append('\n');
+        report.append("heap.committed ").append(memory.getHeapMemoryUsage().getCommitted()).append('\n');
+        report.append("nonHeap.used ").append(memory.getNonHeapMemoryUsage().getUsed()).append('\n');
+        report.append("--- nmt\n");
+        report.append(ManagementFactory.getPlatformMBeanServer().invoke(
+                new ObjectName("com.sun.management:type=DiagnosticCommand"), "vmNativeMemory",
+                new Object[]{new String[]{"summary"}}, new String[]{String[].class.getName()})).append('\n');
+        report.append("--- prism\n");
+        synchronized (pools) {
+            pools.values().forEach(line -> report.append(line).append('\n'));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Asks Prism to print the statistics of its pools, if the toolkit is running and 'com.sun.prism.impl' is
+     * exported to the agent.
+     */
+    private static void printPoolStats() throws InterruptedException {
+        CountDownLatch printed = new CountDownLatch(1);
+        try {
+            Platform.runLater(() -> {
+                try {
+                    Class.forName("com.sun.prism.impl.ManagedResource").getMethod("printSummary").invoke(null);
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    // The statistics printed by Prism so far are reported
+                } finally {
+                    printed.countDown();
+                }
+            });
+        } catch (IllegalStateException e) {
+            // The toolkit is not running
+            return;
+        }
+        printed.await(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Passes System.err through, and keeps the last line of each Prism pool, e.g.
+     * 'ES2 Vram Pool: 12,582,912 used (4.7%), 12,582,912 target (4.7%), 268,435,456 max'.
+     */
+    private static class PoolStats extends OutputStream {
+
+        private final PrintStream err;
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+        PoolStats(PrintStream err) {
+            this.err = err;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            err.write(b);
+            if (b == '\n') {
+                String text = line.toString(StandardCharsets.UTF_8).trim();
+                line.reset();
+                int pool = text.indexOf(" Pool: ");
+                if (pool > 0 && text.contains(" used")) {
+                    synchronized (pools) {
+                        pools.put(text.substring(0, pool), text);
+                    }
+                }
+            } else {
+                line.write(b);
+            }
+        }
+
+        @Override
+        public void flush() {
+            err.flush();
+        }
+    }
+}
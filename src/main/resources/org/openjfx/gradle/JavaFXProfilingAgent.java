@@ -0,0 +1,401 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+import javafx.application.Platform;
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.instrument.Instrumentation;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Agent of 'javafx.profiling.jfr', which is compiled against the JavaFX modules of the application:
+ * <pre>
+ * java -javaagent:agent.jar=&lt;settings file&gt;&lt;path separator&gt;&lt;recording dir&gt;&lt;path separator&gt;&lt;all pulse phases&gt;&lt;path separator&gt;&lt;probe interval ms&gt; ...
+ * </pre>
+ * The agent starts a JFR recording with the settings, which is written to 'javafx-&lt;pid&gt;.jfr' in the recording
+ * directory when the JVM exits. It enables the pulse logger of JavaFX and turns its output into JFR events instead
+ * of printing it: each pulse, and for the pulses longer than the threshold of the pulse logger, each of its phases,
+ * the CSS and layout passes, and the time spent in the phases of the render thread. With 'all pulse phases', the
+ * threshold is -1, unless the application sets one, so the phases of all pulses are logged. If the pulse logger is
+ * enabled by the application already, the output is printed as well. The pulse logger measures in milliseconds.
+ * <p>
+ * System.err is intercepted when the agent starts, and once more when the JavaFX toolkit runs, as test workers
+ * replace it in between to capture the output of the tests.
+ * <p>
+ * The FX thread can't tell how many runnables wait in its queue. If the probe interval is greater than 0, a probe
+ * is posted with 'Platform.runLater' at that interval instead, and the time until it runs is recorded.
+ */
+public class JavaFXProfilingAgent {
+
+    private static final long TOOLKIT_POLL_MILLIS = 10;
+    private static final Pattern PULSE = Pattern.compile("PULSE: (\\d+) \\[(\\d+)ms:(\\d+)ms\\].*");
+    private static final Pattern SHORT_PULSE = Pattern.compile("\\[(\\d+) (\\d+)ms:(\\d+)ms\\]");
+    private static final Pattern SHORT_PULSES = Pattern.compile("(" + SHORT_PULSE.pattern() + ")+");
+    private static final Pattern PHASE = Pattern.compile("T(\\d+) \\((\\d+) \\+(\\d+)ms\\): (.+)");
+    private static final Pattern MESSAGE = Pattern.compile("T\\d+ : .*");
+
+    public static void premain(String agentArgs, Instrumentation instrumentation) throws IOException, ParseException {
+        String[] args = agentArgs.split(File.pathSeparator);
+        Path settings = Paths.get(args[0]);
+        Path recordingDir = Paths.get(args[1]);
+        boolean allPulsePhases = Boolean.parseBoolean(args[2]);
+        long probeIntervalMillis = Long.parseLong(args[3]);
+        Files.createDirectories(recordingDir);
+        Recording recording = new Recording(Configuration.create(settings));
+        recording.setName("javafx");
+        recording.setToDisk(true);
+        recording.setDumpOnExit(true);
+        recording.setDestination(recordingDir.resolve("javafx-" + ProcessHandle.current().pid() + ".jfr"));
+        recording.start();
+
+        boolean echo = Boolean.getBoolean("javafx.pulseLogger");
+        System.setProperty("javafx.pulseLogger", "true");
+        if (allPulsePhases && System.getProperty("javafx.pulseLogger.threshold") == null) {
+            // Logs the phases of all pulses, which the pulse logger does for those longer than the threshold only
+            System.setProperty("javafx.pulseLogger.threshold", "-1");
+        }
+        interceptPulseLog(echo);
+
+        Thread probe = new Thread(() -> probe(echo, probeIntervalMillis), "javafx-profiling-probe");
+        probe.setDaemon(true);
+        probe.start();
+    }
+
+    /**
+     * Turns the output of the pulse logger into events, unless it does so already. The pulse logger prints to the
+     * current System.err, which test workers replace after the agent ran, e.g. Gradle to capture the output of tests.
+     */
+    private static void interceptPulseLog(boolean echo) {
+        if (!(System.err instanceof PulseLogStream)) {
+            System.setErr(new PulseLogStream(new PulseLog(System.err, echo)));
+        }
+    }
+
+    /**
+     * Waits for the JavaFX toolkit, intercepts System.err on the FX thread before it runs the first pulses, and
+     * then probes the latency of 'Platform.runLater', if requested.
+     */
+    private static void probe(boolean echo, long probeIntervalMillis) {
+        try {
+            while (!runLater(() -> interceptPulseLog(echo))) {
+                // The toolkit is not running (yet)
+                Thread.sleep(TOOLKIT_POLL_MILLIS);
+            }
+            while (probeIntervalMillis > 0) {
+                RunLaterEvent event = new RunLaterEvent();
+                event.begin();
+                runLater(() -> {
+                    event.end();
+                    event.commit();
+                });
+                Thread.sleep(probeIntervalMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (LinkageError e) {
+            // JavaFX is not used by this JVM
+        }
+    }
+
+    private static boolean runLater(Runnable runnable) {
+        try {
+            Platform.runLater(runnable);
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    static class PulseLogStream extends PrintStream {
+
+        PulseLogStream(PulseLog log) {
+            super(log);
+        }
+    }
+
+    /**
+     * Reads the output of the pulse logger, line by line, and passes on all other output. A pulse starts with
+     * an empty line and a 'PULSE:' line, which are followed by its phases, its messages and its counters. Pulses
+     * that took no longer than the threshold are only logged as '[pulse interval:time]'.
+     */
+    static class PulseLog extends OutputStream {
+
+        private final PrintStream out;
+        private final boolean echo;
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        private int emptyLines;
+        private boolean block;
+        private int pulse = -1;
+        private boolean counters;
+        private long fxThread = -1;
+        private long renderMillis = -1;
+
+        PulseLog(PrintStream out, boolean echo) {
+            this.out = out;
+            this.echo = echo;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            line.write(b);
+            if (b == '\n') {
+                processLine();
+            }
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+
+        @Override
+        public synchronized void flush() {
+            // Pass on partial lines, e.g. prompts, unless they could be pulse logger output
+            if (line.size() > 0 && !block && line.toByteArray()[0] != '[' && !line.toString(Charset.defaultCharset()).startsWith("PULSE")) {
+                passOn();
+            }
+            out.flush();
+        }
+
+        private void processLine() {
+            String text = line.toString(Charset.defaultCharset()).stripTrailing();
+            if (text.isEmpty()) {
+                // Held back until it is known whether they belong to the pulse logger output
+                emptyLines++;
+                line.reset();
+                return;
+            }
+            Matcher matcher;
+            if ((matcher = PULSE.matcher(text)).matches()) {
+                endBlock();
+                block = true;
+                pulse = Integer.parseInt(matcher.group(1));
+                commitPulse(pulse, Long.parseLong(matcher.group(2)), Long.parseLong(matcher.group(3)));
+                consume();
+            } else if (text.equals("INTER PULSE LOG DATA")) {
+                endBlock();
+                block = true;
+                consume();
+            } else if (SHORT_PULSES.matcher(text).matches()) {
+                endBlock();
+                matcher = SHORT_PULSE.matcher(text);
+                while (matcher.find()) {
+                    commitPulse(Integer.parseInt(matcher.group(1)), Long.parseLong(matcher.group(2)), Long.parseLong(matcher.group(3)));
+                }
+                consume();
+            } else if (block && !counters && (matcher = PHASE.matcher(text)).matches()) {
+                if (pulse >= 0) {
+                    phase(Long.parseLong(matcher.group(1)), matcher.group(4), Long.parseLong(matcher.group(3)));
+                }
+                consume();
+            } else if (block && !counters && MESSAGE.matcher(text).matches()) {
+                consume();
+            } else if (block && (text.equals("Counters:") || counters && line.toByteArray()[0] == '\t')) {
+                // The counters are the end of a pulse
+                counters = true;
+                commitRender();
+                consume();
+            } else {
+                endBlock();
+                passEmptyLines();
+                passOn();
+            }
+        }
+
+        private void commitPulse(int pulse, long interval, long millis) {
+            PulseEvent event = new PulseEvent();
+            event.pulse = pulse;
+            event.interval = interval;
+            event.time = millis;
+            event.commit();
+        }
+
+        private void phase(long thread, String name, long millis) {
+            PhaseEvent event = new PhaseEvent();
+            event.pulse = pulse;
+            event.thread = thread;
+            event.phase = name;
+            event.time = millis;
+            event.commit();
+            if ("CSS Pass".equals(name)) {
+                fxThread = thread;
+                PassEvent css = new CssPassEvent();
+                css.pulse = pulse;
+                css.time = millis;
+                css.commit();
+            } else if ("Layout Pass".equals(name)) {
+                PassEvent layout = new LayoutPassEvent();
+                layout.pulse = pulse;
+                layout.time = millis;
+                layout.commit();
+            } else if (fxThread >= 0 && thread != fxThread) {
+                renderMillis = Math.max(renderMillis, 0) + millis;
+            }
+        }
+
+        private void commitRender() {
+            if (renderMillis >= 0) {
+                RenderEvent event = new RenderEvent();
+                event.pulse = pulse;
+                event.time = renderMillis;
+                event.commit();
+                renderMillis = -1;
+            }
+        }
+
+        private void endBlock() {
+            commitRender();
+            block = false;
+            pulse = -1;
+            counters = false;
+            fxThread = -1;
+            renderMillis = -1;
+        }
+
+        private void consume() {
+            if (echo) {
+                passEmptyLines();
+                passOn();
+            } else {
+                // The empty lines before pulse logger output are part of it
+                emptyLines = 0;
+                line.reset();
+            }
+        }
+
+        private void passEmptyLines() {
+            for (; emptyLines > 0; emptyLines--) {
+                out.println();
+            }
+        }
+
+        private void passOn() {
+            out.write(line.toByteArray(), 0, line.size());
+            line.reset();
+        }
+    }
+
+    @Name("org.openjfx.Pulse")
+    @Label("Pulse")
+    @Category("JavaFX")
+    @Description("A pulse, as logged by the pulse logger")
+    @StackTrace(false)
+    static class PulseEvent extends Event {
+        @Label("Pulse")
+        int pulse;
+
+        @Label("Interval")
+        @Description("The time since the previous pulse")
+        @Timespan(Timespan.MILLISECONDS)
+        long interval;
+
+        @Label("Time")
+        @Timespan(Timespan.MILLISECONDS)
+        long time;
+    }
+
+    @Name("org.openjfx.PulsePhase")
+    @Label("Pulse Phase")
+    @Category("JavaFX")
+    @StackTrace(false)
+    static class PhaseEvent extends Event {
+        @Label("Pulse")
+        int pulse;
+
+        @Label("Thread Id")
+        long thread;
+
+        @Label("Phase")
+        String phase;
+
+        @Label("Time")
+        @Timespan(Timespan.MILLISECONDS)
+        long time;
+    }
+
+    abstract static class PassEvent extends Event {
+        @Label("Pulse")
+        int pulse;
+
+        @Label("Time")
+        @Timespan(Timespan.MILLISECONDS)
+        long time;
+    }
+
+    @Name("org.openjfx.CssPass")
+    @Label("CSS Pass")
+    @Category("JavaFX")
+    @StackTrace(false)
+    static class CssPassEvent extends PassEvent {
+    }
+
+    @Name("org.openjfx.LayoutPass")
+    @Label("Layout Pass")
+    @Category("JavaFX")
+    @StackTrace(false)
+    static class LayoutPassEvent extends PassEvent {
+    }
+
+    @Name("org.openjfx.Render")
+    @Label("Render")
+    @Category("JavaFX")
+    @Description("The time of the phases of a pulse on the render thread")
+    @StackTrace(false)
+    static class RenderEvent extends PassEvent {
+    }
+
+    @Name("org.openjfx.RunLaterLatency")
+    @Label("Platform.runLater Latency")
+    @Category("JavaFX")
+    @Description("The time a runnable waits for the FX thread")
+    @StackTrace(false)
+    static class RunLaterEvent extends Event {
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.application.Preloader;
+import javafx.collections.ListChangeListener;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.instrument.Instrumentation;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Agent of the 'javafxStartupBenchmark' task, which is compiled against the JavaFX modules of the application:
+ * <pre>
+ * java -javaagent:agent.jar=&lt;report file&gt;,&lt;timeout millis&gt; -cp agent.jar:... \
+ *     JavaFXStartupAgent &lt;main class&gt; [args...]
+ * </pre>
+ * The agent registers {@link Probe} as the JavaFX preloader, which is notified before 'Application.init' and
+ * 'Application.start' are called, and which waits for the first pulse of the first window that is shown. Then
+ * the times since the start of the JVM are appended to the report file as one line: the start of the agent,
+ * 'init', 'start' and the first pulse, in milliseconds, or -1 for an event that did not happen. Then the JVM
+ * halts. An application that is launched with a preloader of its own can't be measured.
+ * <p>
+ * The application is started by {@link #main(String[])}, like by the java launcher, so that subclasses of
+ * Application can be started from the classpath as well.
+ */
+public class JavaFXStartupAgent {
+
+    private static long jvmStart;
+    private static long premain;
+    private static volatile long init = -1;
+    private static volatile long start = -1;
+    private static volatile boolean pulsed;
+    private static String report;
+
+    public static void premain(String agentArgs, Instrumentation instrumentation) {
+        premain = System.currentTimeMillis();
+        jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+        String[] args = agentArgs.split(",");
+        report = args[0];
+        long timeout = Long.parseLong(args[1]);
+        if (System.getProperty("javafx.preloader") == null) {
+            System.setProperty("javafx.preloader", Probe.class.getName());
+        }
+
+        Thread timer = new Thread(() -> {
+            try {
+                Thread.sleep(timeout);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            System.err.println("The application did not show a window within " + timeout + " ms");
+            Runtime.getRuntime().halt(2);
+        }, "javafx-startup-timeout");
+        timer.setDaemon(true);
+        timer.start();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Class<?> mainClass = Class.forName(args[0], true, ClassLoader.getSystemClassLoader());
+        String[] applicationArgs = Arrays.copyOfRange(args, 1, args.length);
+        Method main = findMain(mainClass);
+        if (main != null) {
+            main.invoke(null, (Object) applicationArgs);
+        } else {
+            Application.launch(mainClass.asSubclass(Application.class), applicationArgs);
+        }
+    }
+
+    private static Method findMain(Class<?> mainClass) {
+        try {
+            Method main = mainClass.getMethod("main", String[].class);
+            return Modifier.isStatic(main.getModifiers()) ? main : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static long sinceJvmStart() {
+        return System.currentTimeMillis() - jvmStart;
+    }
+
+    private static void firstPulse() {
+        if (pulsed) {
+            return;
+        }
+        pulsed = true;
+        String line = (premain - jvmStart) + " " + init + " " + start + " " + sinceJvmStart() + "\n";
+        try {
+            Files.writeString(Paths.get(report), line, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // Let the pulse finish before the JVM halts
+        Platform.runLater(() -> Runtime.getRuntime().halt(0));
+    }
+
+    public static class Probe extends Preloader {
+
+        @Override
+        public void start(Stage stage) {
+            Window.getWindows().addListener((ListChangeListener<Window>) change -> {
+                while (change.next()) {
+                    for (Window window : change.getAddedSubList()) {
+                        Scene scene = window.getScene();
+                        if (scene != null) {
+                            scene.addPostLayoutPulseListener(JavaFXStartupAgent::firstPulse);
+                        }
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void handleStateChangeNotification(StateChangeNotification notification) {
+            if (notification.getType() == StateChangeNotification.Type.BEFORE_INIT) {
+                init = sinceJvmStart();
+            } else if (notification.getType() == StateChangeNotification.Type.BEFORE_START) {
+                start = sinceJvmStart();
+            }
+        }
+    }
+}
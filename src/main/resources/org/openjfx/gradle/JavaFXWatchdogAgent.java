@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+import javafx.application.Platform;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.instrument.Instrumentation;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agent of 'javafx.profiling.stallWatchdog', which is compiled against the JavaFX modules of the application:
+ * <pre>
+ * java -javaagent:agent.jar=&lt;budget millis&gt;&lt;path separator&gt;&lt;report dir&gt; ...
+ * </pre>
+ * A watchdog thread posts a tick with 'Platform.runLater' every {@value #TICK_INTERVAL_MILLIS} ms. The FX thread
+ * runs the tick between two event handlers or pulses, so if it does not within the budget, the FX thread is busy
+ * with one of them, and the stack of the FX thread is captured. When the tick finally runs, the stall is appended
+ * to 'stalls-&lt;pid&gt;.txt' in the report directory:
+ * <pre>
+ * stall &lt;start, in ms since the start of the JVM&gt; &lt;duration in ms&gt; &lt;thread state&gt;
+ * 	at &lt;frame&gt;
+ * 	...
+ * </pre>
+ * A stall that has not ended when the JVM exits is written with the duration so far.
+ */
+public class JavaFXWatchdogAgent {
+
+    private static final long TICK_INTERVAL_MILLIS = 10;
+    private static final String FX_THREAD_NAME = "JavaFX Application Thread";
+
+    private static long budgetMillis;
+    private static Path report;
+    private static long jvmStart;
+    private static volatile Thread fxThread;
+    private static volatile Stall pending;
+
+    public static void premain(String agentArgs, Instrumentation instrumentation) throws IOException {
+        String[] args = agentArgs.split(File.pathSeparator, 2);
+        budgetMillis = Long.parseLong(args[0]);
+        Path reportDir = Paths.get(args[1]);
+        Files.createDirectories(reportDir);
+        report = reportDir.resolve("stalls-" + ProcessHandle.current().pid() + ".txt");
+        jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+
+        Thread watchdog = new Thread(JavaFXWatchdogAgent::watch, "javafx-stall-watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            Stall stall = pending;
+            if (stall != null && stall.thread.isAlive()) {
+                stall.write();
+            }
+        }, "javafx-stall-watchdog-shutdown"));
+    }
+
+    private static void watch() {
+        try {
+            while (true) {
+                CountDownLatch tick = new CountDownLatch(1);
+                long posted = System.currentTimeMillis();
+                try {
+                    Platform.runLater(() -> {
+                        fxThread = Thread.currentThread();
+                        tick.countDown();
+                    });
+                } catch (IllegalStateException e) {
+                    // The toolkit is not running (yet)
+                    Thread.sleep(50);
+                    continue;
+                }
+                if (!tick.await(budgetMillis, TimeUnit.MILLISECONDS)) {
+                    Thread thread = fxThread != null ? fxThread : findFxThread();
+                    if (thread != null) {
+                        Stall stall = new Stall(thread, posted, thread.getState(), thread.getStackTrace());
+                        pending = stall;
+                        tick.await();
+                        pending = null;
+                        stall.write();
+                    }
+                }
+                Thread.sleep(TICK_INTERVAL_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (LinkageError e) {
+            // JavaFX is not used by this JVM
+        }
+    }
+
+    private static Thread findFxThread() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> FX_THREAD_NAME.equals(thread.getName()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static class Stall {
+
+        private final Thread thread;
+        private final long start;
+        private final Thread.State state;
+        private final StackTraceElement[] stack;
+        private boolean written;
+
+        Stall(Thread thread, long start, Thread.State state, StackTraceElement[] stack) {
+            this.thread = thread;
+            this.start = start;
+            this.state = state;
+            this.stack = stack;
+        }
+
+        void write() {
+            StringBuilder text = new StringBuilder("stall ")
+                    .append(start - jvmStart).append(' ')
+                    .append(System.currentTimeMillis() - start).append(' ')
+                    .append(state).append('\n');
+            for (StackTraceElement frame : stack) {
+                text.append("\tat ").append(frame).append('\n');
+            }
+            synchronized (JavaFXWatchdogAgent.class) {
+                // Either by the watchdog or, if the JVM exits during the stall, by the shutdown hook
+                if (written) {
+                    return;
+                }
+                written = true;
+                try {
+                    Files.writeString(report, text, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                } catch (IOException e) {
+                    System.err.println("Could not write the stall of the FX thread to " + report + ": " + e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+import org.gradle.util.GradleVersion;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures how the plugin scales with the number of projects that apply it. For every configured project
+ * count, a synthetic build is generated (see {@link SyntheticBuild}) and the following is measured:
+ * <ul>
+ *     <li>configuration time ('help')</li>
+ *     <li>configuration plus resolution of the JavaFX dependencies of all projects</li>
+ *     <li>configuration cache store and load time</li>
+ *     <li>used heap of the daemon after all projects resolved their dependencies</li>
+ * </ul>
+ * Times are the median of several runs in a warm daemon. The results are written as JSON to the report
+ * directory, so that they can be compared between versions of the plugin.
+ */
+class JavaFXPluginPerformanceTest {
+
+    static final String HEAP_MARKER = "JAVAFX_PERFORMANCE_HEAP_USED=";
+
+    private static final List<Map<String, Object>> results = new ArrayList<>();
+
+    private String lastOutput = "";
+
+    @TestFactory
+    Stream<DynamicTest> scenarios() {
+        return Arrays.stream(System.getProperty("performance.projectCounts", "10").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .map(count -> DynamicTest.dynamicTest(count + " projects", () -> measure(count)));
+    }
+
+    private void measure(int projectCount) throws IOException {
+        var build = new SyntheticBuild(Paths.get(System.getProperty("performance.workDir")), projectCount).generate();
+
+        // warm up the daemon
+        run(build, "help");
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("projects", projectCount);
+        long configuration = median(() -> run(build, "help"));
+        long resolution = median(() -> run(build, "resolveJavaFX"));
+        result.put("configurationMillis", configuration);
+        result.put("configurationAndResolutionMillis", resolution);
+        result.put("resolutionMillis", Math.max(0, resolution - configuration));
+        result.put("configurationCacheStoreMillis", median(() -> {
+            SyntheticBuild.deleteRecursively(build.getRootDir().resolve(".gradle/configuration-cache"));
+            return run(build, "help", "--configuration-cache");
+        }));
+        result.put("configurationCacheLoadMillis", median(() -> {
+            long millis = run(build, "help", "--configuration-cache");
+            assertTrue(lastOutput.contains("Reusing configuration cache"), "configuration cache was not reused");
+            return millis;
+        }));
+
+        run(build, "resolveJavaFX", "reportHeap");
+        result.put("daemonHeapUsedBytes", lastOutput.lines()
+                .filter(l -> l.startsWith(HEAP_MARKER))
+                .map(l -> Long.parseLong(l.substring(HEAP_MARKER.length()).trim()))
+                .findFirst()
+                .orElseThrow());
+
+        results.add(result);
+    }
+
+    @AfterAll
+    static void writeReport() throws IOException {
+        Path reportDir = Paths.get(System.getProperty("performance.reportDir"));
+        Files.createDirectories(reportDir);
+        String scenarios = results.stream()
+                .map(result -> result.entrySet().stream()
+                        .map(e -> "\"" + e.getKey() + "\": " + e.getValue())
+                        .collect(Collectors.joining(", ", "    { ", " }")))
+                .collect(Collectors.joining(",\n"));
+        Files.writeString(reportDir.resolve("javafx-plugin-performance.json"),
+                "{\n" +
+                "  \"gradleVersion\": \"" + (gradleVersion().isEmpty() ? GradleVersion.current().getVersion() : gradleVersion()) + "\",\n" +
+                "  \"iterations\": " + iterations() + ",\n" +
+                "  \"scenarios\": [\n" + scenarios + "\n  ]\n" +
+                "}\n", StandardCharsets.UTF_8);
+    }
+
+    private long run(SyntheticBuild build, String... arguments) {
+        var args = new ArrayList<>(List.of(arguments));
+        args.add("--offline");
+        var runner = GradleRunner.create()
+                .withProjectDir(build.getRootDir().toFile())
+                .withPluginClasspath()
+                .withArguments(args);
+        if (!gradleVersion().isEmpty()) {
+            runner.withGradleVersion(gradleVersion());
+        }
+        long start = System.nanoTime();
+        BuildResult result = runner.build();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        lastOutput = result.getOutput();
+        return millis;
+    }
+
+    private static long median(Measurement measurement) throws IOException {
+        long[] millis = new long[iterations()];
+        for (int i = 0; i < millis.length; i++) {
+            millis[i] = measurement.run();
+        }
+        Arrays.sort(millis);
+        return millis[millis.length / 2];
+    }
+
+    private static int iterations() {
+        return Integer.parseInt(System.getProperty("performance.iterations", "3"));
+    }
+
+    private static String gradleVersion() {
+        return System.getProperty("performance.gradleVersion", "");
+    }
+
+    private interface Measurement {
+        long run() throws IOException;
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Generates a multi-project build where every subproject applies the JavaFX plugin, together with a local
+ * file-based Maven repository that contains all JavaFX modules for all platforms. The repository only holds
+ * POMs and empty jars: that is all dependency resolution needs, and it lets the builds run offline.
+ */
+class SyntheticBuild {
+
+    static final String JAVAFX_VERSION = "17";
+
+    private final Path rootDir;
+    private final int projectCount;
+
+    SyntheticBuild(Path workDir, int projectCount) {
+        this.rootDir = workDir.resolve("projects-" + projectCount);
+        this.projectCount = projectCount;
+    }
+
+    Path getRootDir() {
+        return rootDir;
+    }
+
+    int getProjectCount() {
+        return projectCount;
+    }
+
+    SyntheticBuild generate() throws IOException {
+        deleteRecursively(rootDir);
+        Path repository = rootDir.resolve("repository");
+        writeJavaFXRepository(repository);
+
+        write(rootDir.resolve("gradle.properties"), "org.gradle.jvmargs=-Xmx2g\n");
+        write(rootDir.resolve("settings.gradle"),
+                "rootProject.name = 'javafx-performance-" + projectCount + "'\n" +
+                Stream.iterate(1, i -> i + 1).limit(projectCount)
+                        .map(i -> "include 'app" + i + "'\n")
+                        .collect(Collectors.joining()));
+        write(rootDir.resolve("build.gradle"),
+                "subprojects {\n" +
+                "    repositories {\n" +
+                "        maven { url = uri('" + repository.toUri() + "') }\n" +
+                "    }\n" +
+                "}\n" +
+                "\n" +
+                "tasks.register('reportHeap') {\n" +
+                "    doLast {\n" +
+                "        System.gc()\n" +
+                "        def runtime = Runtime.runtime\n" +
+                "        println \"" + JavaFXPluginPerformanceTest.HEAP_MARKER + "${runtime.totalMemory() - runtime.freeMemory()}\"\n" +
+                "    }\n" +
+                "}\n");
+
+        for (int i = 1; i <= projectCount; i++) {
+            Path projectDir = rootDir.resolve("app" + i);
+            write(projectDir.resolve("build.gradle"),
+                    "plugins {\n" +
+                    "    id 'application'\n" +
+                    "    id 'org.openjfx.javafxplugin'\n" +
+                    "}\n" +
+                    "\n" +
+                    "application {\n" +
+                    "    mainClass = 'app" + i + ".Main'\n" +
+                    "}\n" +
+                    "\n" +
+                    "javafx {\n" +
+                    "    version = '" + JAVAFX_VERSION + "'\n" +
+                    "    modules = [ 'javafx.controls', 'javafx.fxml' ]\n" +
+                    "}\n" +
+                    "\n" +
+                    "tasks.register('resolveJavaFX') {\n" +
+                    "    def runtimeClasspath = configurations.runtimeClasspath\n" +
+                    "    inputs.files(runtimeClasspath)\n" +
+                    "    doLast {\n" +
+                    "        println \"${runtimeClasspath.files.size()} runtime jars\"\n" +
+                    "    }\n" +
+                    "}\n");
+            write(projectDir.resolve("src/main/java/app" + i + "/Main.java"),
+                    "package app" + i + ";\n" +
+                    "\n" +
+                    "public class Main {\n" +
+                    "    public static void main(String[] args) {\n" +
+                    "    }\n" +
+                    "}\n");
+        }
+        return this;
+    }
+
+    private static void writeJavaFXRepository(Path repository) throws IOException {
+        for (JavaFXModule javaFXModule : JavaFXModule.values()) {
+            String artifact = javaFXModule.getArtifactName();
+            Path dir = repository.resolve("org/openjfx/" + artifact + "/" + JAVAFX_VERSION);
+            String dependencies = javaFXModule.getDependentModules().stream()
+                    .map(dependency ->
+                            "    <dependency>\n" +
+                            "      <groupId>org.openjfx</groupId>\n" +
+                            "      <artifactId>" + dependency.getArtifactName() + "</artifactId>\n" +
+                            "      <version>" + JAVAFX_VERSION + "</version>\n" +
+                            "    </dependency>\n")
+                    .collect(Collectors.joining());
+            write(dir.resolve(artifact + "-" + JAVAFX_VERSION + ".pom"),
+                    "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                    "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n" +
+                    "  <modelVersion>4.0.0</modelVersion>\n" +
+                    "  <groupId>org.openjfx</groupId>\n" +
+                    "  <artifactId>" + artifact + "</artifactId>\n" +
+                    "  <version>" + JAVAFX_VERSION + "</version>\n" +
+                    "  <dependencies>\n" +
+                    dependencies +
+                    "  </dependencies>\n" +
+                    "</project>\n");
+            writeJar(dir.resolve(artifact + "-" + JAVAFX_VERSION + ".jar"));
+            for (JavaFXPlatform platform : JavaFXPlatform.values()) {
+                writeJar(dir.resolve(artifact + "-" + JAVAFX_VERSION + "-" + platform.getClassifier() + ".jar"));
+            }
+        }
+    }
+
+    private static void writeJar(Path jar) throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        try (OutputStream out = Files.newOutputStream(jar); JarOutputStream ignored = new JarOutputStream(out, manifest)) {
+            // manifest only
+        }
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+
+    static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+}
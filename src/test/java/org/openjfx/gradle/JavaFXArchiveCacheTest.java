@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JavaFXArchiveCacheTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void extractsOnce() throws IOException {
+        var archive = zip("jmods.zip", "javafx.base.jmod");
+        var cache = new JavaFXArchiveCache(tmp.resolve("cache").toFile());
+
+        File extracted = cache.provide(archive.getAbsolutePath(), "17-linux");
+        Files.delete(extracted.toPath().resolve("javafx-jmods-17/javafx.base.jmod"));
+
+        assertEquals(extracted, cache.provide(archive.getAbsolutePath(), "17-linux"));
+        assertFalse(new File(extracted, "javafx-jmods-17/javafx.base.jmod").exists());
+    }
+
+    @Test
+    void keyedByChecksum() throws IOException {
+        var cache = new JavaFXArchiveCache(tmp.resolve("cache").toFile());
+
+        File first = cache.provide(zip("first.zip", "javafx.base.jmod").getAbsolutePath(), "17-linux");
+        File second = cache.provide(zip("second.zip", "javafx.graphics.jmod").getAbsolutePath(), "17-linux");
+
+        assertNotEquals(first, second);
+        assertTrue(new File(first, "javafx-jmods-17/javafx.base.jmod").isFile());
+        assertTrue(new File(second, "javafx-jmods-17/javafx.graphics.jmod").isFile());
+    }
+
+    @Test
+    void fileUrl() throws IOException {
+        var archive = zip("jmods.zip", "javafx.base.jmod");
+        var cache = new JavaFXArchiveCache(tmp.resolve("cache").toFile());
+
+        File extracted = cache.provide(archive.toURI().toString(), "17-linux");
+
+        assertTrue(new File(extracted, "javafx-jmods-17/javafx.base.jmod").isFile());
+    }
+
+    @Test
+    void folderIsUsedAsIs() {
+        var cache = new JavaFXArchiveCache(tmp.resolve("cache").toFile());
+
+        assertEquals(tmp.toFile(), cache.provide(tmp.toString(), "17-linux"));
+        assertFalse(tmp.resolve("cache").toFile().exists());
+    }
+
+    @Test
+    void pathWithSpace() throws IOException {
+        Files.createDirectories(tmp.resolve("my sdk"));
+        var archive = zip("my sdk/javafx-jmods-17.zip", "javafx.base.jmod");
+        var cache = new JavaFXArchiveCache(tmp.resolve("cache").toFile(), tmp.toFile());
+
+        assertTrue(new File(cache.provide(archive.getAbsolutePath(), "17-linux"), "javafx-jmods-17/javafx.base.jmod").isFile());
+        assertEquals(tmp.resolve("my sdk").toFile(), cache.provide("my sdk", "17-linux"));
+        assertEquals(archive.getAbsolutePath(), cache.resolveLocation("my sdk/javafx-jmods-17.zip"));
+    }
+
+    @Test
+    void pathOrUrl() {
+        assertTrue(JavaFXArchiveCache.isPath("/home/me/my sdk/javafx-sdk-21"));
+        assertTrue(JavaFXArchiveCache.isPath("C:\\Program Files\\javafx-sdk-21"));
+        assertTrue(JavaFXArchiveCache.isPath("C:/Program Files/javafx-sdk-21"));
+        assertTrue(JavaFXArchiveCache.isPath("javafx-sdk-21"));
+        assertFalse(JavaFXArchiveCache.isPath("file:/home/me/javafx-sdk-21.zip"));
+        assertFalse(JavaFXArchiveCache.isPath("https://download2.gluonhq.com/openjfx/21/openjfx-21_linux-x64_bin-sdk.zip"));
+    }
+
+    @Test
+    void concurrentBuildsShareExtraction() throws Exception {
+        var archive = zip("jmods.zip", "javafx.base.jmod");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<File>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                // a separate instance per "build"
+                var cache = new JavaFXArchiveCache(tmp.resolve("cache").toFile());
+                results.add(executor.submit(() -> cache.provide(archive.getAbsolutePath(), "17-linux")));
+            }
+            File extracted = results.get(0).get();
+            for (Future<File> result : results) {
+                assertEquals(extracted, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        try (var files = Files.list(tmp.resolve("cache"))) {
+            assertEquals(2, files.count()); // the extracted folder and its lock file
+        }
+    }
+
+    @Test
+    void extractsRequestedEntries() throws IOException {
+        var archive = zip("jmods.zip", "javafx.base.jmod", "javafx.graphics.jmod");
+        var cache = new JavaFXArchiveCache(tmp.resolve("cache").toFile());
+
+        File extracted = cache.provide(archive.getAbsolutePath(), "sdk", entry -> entry.endsWith("javafx.base.jmod"));
+        assertTrue(new File(extracted, "javafx-jmods-17/javafx.base.jmod").isFile());
+        assertFalse(new File(extracted, "javafx-jmods-17/javafx.graphics.jmod").exists());
+
+        assertEquals(extracted, cache.provide(archive.getAbsolutePath(), "sdk", entry -> entry.endsWith(".jmod")));
+        assertTrue(new File(extracted, "javafx-jmods-17/javafx.graphics.jmod").isFile());
+    }
+
+    private File zip(String name, String... jmods) throws IOException {
+        File zip = tmp.resolve(name).toFile();
+        try (var out = new ZipOutputStream(Files.newOutputStream(zip.toPath()))) {
+            out.putNextEntry(new ZipEntry("javafx-jmods-17/"));
+            for (String jmod : jmods) {
+                out.putNextEntry(new ZipEntry("javafx-jmods-17/" + jmod));
+                out.write(jmod.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return zip;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.api.tasks.testing.Test;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JavaFXCdsArchiveTest {
+
+    @TempDir
+    Path tmp;
+
+    private Project project;
+
+    @BeforeEach
+    void createProject() {
+        project = ProjectBuilder.builder().withProjectDir(tmp.toFile()).build();
+        project.getPlugins().apply("application");
+        project.getPlugins().apply(JavaFXPlugin.class);
+        project.getExtensions().getByType(JavaFXOptions.class).getCdsArchive().set(true);
+    }
+
+    @org.junit.jupiter.api.Test
+    void trainingRunNeedsDisplayByDefault() {
+        assertFalse(project.getTasks().named("javafxCdsArchive", JavaFXCdsArchive.class).get().getHeadless().get());
+    }
+
+    @org.junit.jupiter.api.Test
+    void testsWithJavaFXOnClasspathDoNotUseArchive() {
+        assertTrue(archiveTasks().isEmpty());
+    }
+
+    @org.junit.jupiter.api.Test
+    void headlessTestsDoNotUseArchive() {
+        // Monocle is patched into 'javafx.graphics', which disables CDS
+        project.getExtensions().getByType(JavaFXOptions.class).getHeadlessTests().set(true);
+
+        assertTrue(archiveTasks().isEmpty());
+    }
+
+    @org.junit.jupiter.api.Test
+    void startupBenchmarkLaunchesLikeTrainingRun() {
+        JavaFXStartupBenchmark benchmark = project.getTasks().named("javafxStartupBenchmark", JavaFXStartupBenchmark.class).get();
+        assertFalse(benchmark.getHeadless().get());
+
+        project.getTasks().named("javafxCdsArchive", JavaFXCdsArchive.class).get().getHeadless().set(true);
+        assertTrue(benchmark.getHeadless().get());
+    }
+
+    /**
+     * @return the names of the tasks that create the archive of the 'test' task
+     */
+    private Set<String> archiveTasks() {
+        return project.getTasks().named("test", Test.class).get().getJvmArgumentProviders().stream()
+                .filter(provider -> provider instanceof JavaFXCdsArgumentProvider)
+                .flatMap(provider -> ((JavaFXCdsArgumentProvider) provider).getArchive().getBuildDependencies()
+                        .getDependencies(null).stream())
+                .map(Task::getName)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JavaFXFootprintTest {
+
+    @Test
+    void parsesAgentOutput() {
+        Map<String, Long> footprint = JavaFXFootprint.parse(List.of(
+                "heap.used 10485760",
+                "heap.committed 67108864",
+                "nonHeap.used 9437184",
+                "--- nmt",
+                "",
+                "Native Memory Tracking:",
+                "",
+                "Total: reserved=1524614KB, committed=121390KB",
+                "       malloc: 21418KB #63005",
+                "-                 Java Heap (reserved=260096KB, committed=16384KB)",
+                "                            (mmap: reserved=260096KB, committed=16384KB)",
+                "-                  GCCardSet (reserved=102KB, committed=102KB)",
+                "--- prism",
+                "ES2 Vram Pool: 12,582,912 used (4.7%), 12,582,912 target (4.7%), 268,435,456 max"));
+
+        assertEquals(Map.of(
+                "heap.used", 10240L,
+                "heap.committed", 65536L,
+                "nonHeap.used", 9216L,
+                "nmt.total", 121390L,
+                "nmt.javaHeap", 16384L,
+                "nmt.gcCardSet", 102L,
+                "prism.es2Vram", 12288L), footprint);
+    }
+
+    @Test
+    void keys() {
+        assertEquals("javaHeap", JavaFXFootprint.key("Java Heap"));
+        assertEquals("sharedClassSpace", JavaFXFootprint.key("Shared class space"));
+        assertEquals("gcCardSet", JavaFXFootprint.key("GCCardSet"));
+        assertEquals("es2Vram", JavaFXFootprint.key("ES2 Vram"));
+    }
+
+    @Test
+    void checkedValues() {
+        assertTrue(JavaFXFootprint.isChecked("nmt.total"));
+        assertTrue(JavaFXFootprint.isChecked("heap.used"));
+        assertTrue(JavaFXFootprint.isChecked("prism.es2Vram"));
+        assertFalse(JavaFXFootprint.isChecked("nmt.javaHeap"));
+        assertFalse(JavaFXFootprint.isChecked("heap.committed"));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JavaFXHeadlessArgumentProviderTest {
+
+    @TempDir
+    Path tmp;
+
+    private Project project;
+
+    @BeforeEach
+    void createProject() {
+        project = ProjectBuilder.builder().withProjectDir(tmp.toFile()).build();
+    }
+
+    @Test
+    void disabled() {
+        var arguments = project.getObjects().newInstance(JavaFXHeadlessArgumentProvider.class);
+        arguments.getEnabled().set(false);
+        arguments.getMonocle().from(tmp.resolve("monocle.jar"));
+
+        assertFalse(arguments.asArguments().iterator().hasNext());
+    }
+
+    @Test
+    void patchesMonocleIntoJavaFXGraphics() {
+        File monocle = tmp.resolve("monocle.jar").toFile();
+        var arguments = project.getObjects().newInstance(JavaFXHeadlessArgumentProvider.class);
+        arguments.getEnabled().set(true);
+        arguments.getMonocle().from(monocle);
+
+        List<String> args = new ArrayList<>();
+        arguments.asArguments().forEach(args::add);
+
+        assertEquals(List.of("--patch-module", "javafx.graphics=" + monocle.getAbsolutePath()), args.subList(0, 2));
+        assertTrue(args.contains("-Dglass.platform=Monocle"));
+        assertTrue(args.contains("-Dmonocle.platform=Headless"));
+        assertTrue(args.contains("-Dprism.order=sw"));
+    }
+
+    @Test
+    void withoutMonocleJar() {
+        var arguments = project.getObjects().newInstance(JavaFXHeadlessArgumentProvider.class);
+        arguments.getEnabled().set(true);
+
+        List<String> args = new ArrayList<>();
+        arguments.asArguments().forEach(args::add);
+
+        assertFalse(args.contains("--patch-module"));
+        assertTrue(args.contains("-Dglass.platform=Monocle"));
+    }
+
+    @Test
+    void defaultMonocleVersion() {
+        assertEquals("jdk-11+26", JavaFXOptions.defaultMonocleVersion("11.0.2"));
+        assertEquals("jdk-12.0.1+2", JavaFXOptions.defaultMonocleVersion("16"));
+        assertEquals("17.0.10", JavaFXOptions.defaultMonocleVersion("17.0.8"));
+        assertEquals("21.0.2", JavaFXOptions.defaultMonocleVersion("22-ea+5"));
+        assertEquals("21.0.2", JavaFXOptions.defaultMonocleVersion("latest"));
+    }
+}
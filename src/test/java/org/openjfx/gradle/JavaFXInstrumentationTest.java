@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.Project;
+import org.gradle.api.internal.TaskInternal;
+import org.gradle.api.plugins.JavaApplication;
+import org.gradle.api.tasks.JavaExec;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JavaFXInstrumentationTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void writesReportsPerProject() throws IOException {
+        var project = ProjectBuilder.builder().withProjectDir(tmp.resolve("project").toFile()).build();
+        var instrumentation = project.getGradle().getSharedServices().registerIfAbsent("javafxInstrumentation",
+                JavaFXInstrumentation.class, spec -> { }).get();
+        Path app = tmp.resolve("app");
+        Path lib = tmp.resolve("lib");
+
+        instrumentation.recordDependencies(":app", app.toFile(), "implementation", 1_500_000);
+        instrumentation.recordDependencies(":app", app.toFile(), "testImplementation", 250_000);
+        instrumentation.recordResolution(":app", app.toFile(), "runtimeClasspath", 12_345_678, 3);
+        instrumentation.recordModulePath(":app", app.toFile(), ":app:run", 3, 4096, 2_000_001);
+        instrumentation.recordResolution(":lib", lib.toFile(), "compile\"Classpath\\", 1_000_000, 1);
+        instrumentation.close();
+
+        assertEquals("{\n" +
+                "  \"project\": \":app\",\n" +
+                "  \"timestamp\": \"<timestamp>\",\n" +
+                "  \"totals\": {\n" +
+                "    \"dependenciesMillis\": 1.750,\n" +
+                "    \"resolutionMillis\": 12.346\n" +
+                "  },\n" +
+                "  \"dependencies\": [\n" +
+                "    { \"configuration\": \"implementation\", \"durationMillis\": 1.500 },\n" +
+                "    { \"configuration\": \"testImplementation\", \"durationMillis\": 0.250 }\n" +
+                "  ],\n" +
+                "  \"resolution\": [\n" +
+                "    { \"configuration\": \"runtimeClasspath\", \"durationMillis\": 12.346, \"javafxModules\": 3 }\n" +
+                "  ]\n" +
+                "}\n", report(app.resolve(JavaFXInstrumentation.RESOLUTION_REPORT)));
+        assertEquals("{\n" +
+                "  \"project\": \":app\",\n" +
+                "  \"timestamp\": \"<timestamp>\",\n" +
+                "  \"totals\": {\n" +
+                "    \"modulePathMillis\": 2.000,\n" +
+                "    \"javafxArtifactBytes\": 4096\n" +
+                "  },\n" +
+                "  \"modulePath\": [\n" +
+                "    { \"task\": \":app:run\", \"entries\": 3, \"javafxArtifactBytes\": 4096, \"durationMillis\": 2.000 }\n" +
+                "  ]\n" +
+                "}\n", report(app.resolve(JavaFXInstrumentation.LAUNCH_REPORT)));
+        assertEquals("{\n" +
+                "  \"project\": \":lib\",\n" +
+                "  \"timestamp\": \"<timestamp>\",\n" +
+                "  \"totals\": {\n" +
+                "    \"dependenciesMillis\": 0.000,\n" +
+                "    \"resolutionMillis\": 1.000\n" +
+                "  },\n" +
+                "  \"dependencies\": [],\n" +
+                "  \"resolution\": [\n" +
+                "    { \"configuration\": \"compile\\\"Classpath\\\\\", \"durationMillis\": 1.000, \"javafxModules\": 1 }\n" +
+                "  ]\n" +
+                "}\n", report(lib.resolve(JavaFXInstrumentation.RESOLUTION_REPORT)));
+        assertFalse(Files.exists(lib.resolve(JavaFXInstrumentation.LAUNCH_REPORT)));
+    }
+
+    @Test
+    void recordsResolutionAndLaunchOfProject() throws IOException {
+        // ProjectBuilder does not read Gradle properties, so the service is registered as if the property was set
+        Project project = ProjectBuilder.builder().withProjectDir(tmp.resolve("project").toFile()).build();
+        project.getPlugins().apply("application");
+        project.getPlugins().apply(JavaFXPlugin.class);
+        project.getExtensions().getByType(JavaApplication.class).getMainClass().set("org.example.App");
+        var javafx = project.getExtensions().getByType(JavaFXOptions.class);
+        javafx.setPlatform("linux");
+        javafx.setVersion("17");
+        javafx.setSdk(sdk().toString());
+        javafx.setModules(List.of("javafx.base"));
+        var instrumentation = JavaFXPlugin.registerInstrumentation(project, javafx);
+        var run = project.getTasks().named("run", JavaExec.class).get();
+        var modulePathArguments = modulePathArguments(run);
+        modulePathArguments.getInstrumentation().set(instrumentation);
+        modulePathArguments.getTaskPath().set(":run");
+        modulePathArguments.getReportDir().set(project.getLayout().getBuildDirectory().dir(JavaFXPlugin.REPORTS_DIR));
+        var javafxRun = project.getTasks().register("javafxRun", JavaFXExec.class).get();
+        javafxRun.getInstrumentation().set(instrumentation);
+
+        project.getConfigurations().getByName("compileClasspath").getFiles();
+        var arguments = modulePathArguments.asArguments();
+        modulePathArguments(javafxRun).asArguments();
+        instrumentation.get().close();
+
+        assertEquals("--module-path", arguments.iterator().next());
+        assertTrue(((TaskInternal) run).getRequiredServices().isServiceRequired(instrumentation));
+        assertTrue(((TaskInternal) javafxRun).getRequiredServices().isServiceRequired(instrumentation));
+        // Only the tasks of the plugin declare the service
+        assertFalse(((TaskInternal) project.getTasks().register("other").get()).getRequiredServices().isServiceRequired(instrumentation));
+        Path reports = project.getLayout().getBuildDirectory().dir(JavaFXPlugin.REPORTS_DIR).get().getAsFile().toPath();
+        String resolution = Files.readString(reports.resolve(JavaFXInstrumentation.RESOLUTION_REPORT));
+        assertTrue(resolution.contains("\"project\": \":\""), resolution);
+        assertTrue(resolution.contains("{ \"configuration\": \"implementation\", \"durationMillis\": "), resolution);
+        assertTrue(resolution.contains("{ \"configuration\": \"compileClasspath\", \"durationMillis\": "), resolution);
+        assertTrue(resolution.contains("{ \"configuration\": \"runtimeClasspath\", \"durationMillis\": "), resolution);
+        assertTrue(resolution.contains("\"javafxModules\": 1 }"), resolution);
+        // One entry per task that launches the application
+        String launch = Files.readString(reports.resolve(JavaFXInstrumentation.LAUNCH_REPORT));
+        assertTrue(launch.contains("{ \"task\": \":run\", \"entries\": 1, "), launch);
+        assertTrue(launch.contains("{ \"task\": \":javafxRun\", \"entries\": 1, "), launch);
+    }
+
+    private static JavaFXModulePathArgumentProvider modulePathArguments(JavaExec task) {
+        return task.getJvmArgumentProviders().stream()
+                .filter(JavaFXModulePathArgumentProvider.class::isInstance)
+                .map(JavaFXModulePathArgumentProvider.class::cast)
+                .findFirst().orElseThrow();
+    }
+
+    private static String report(Path report) throws IOException {
+        return Files.readString(report).replaceFirst("\"timestamp\": \"[^\"]+\"", "\"timestamp\": \"<timestamp>\"");
+    }
+
+    private Path sdk() throws IOException {
+        Path lib = Files.createDirectories(tmp.resolve("javafx-sdk/lib"));
+        Files.writeString(lib.resolve("javafx.properties"), "javafx.version=17.0.8\n");
+        Path src = Files.createDirectories(tmp.resolve("src"));
+        Path classes = Files.createDirectories(tmp.resolve("classes"));
+        Path moduleInfo = Files.writeString(src.resolve("module-info.java"), "module javafx.base { }");
+        assertEquals(0, ToolProvider.getSystemJavaCompiler().run(null, null, null,
+                "-d", classes.toString(), moduleInfo.toString()));
+        try (OutputStream out = Files.newOutputStream(lib.resolve(JavaFXModule.BASE.getModuleJarFileName()));
+             JarOutputStream jar = new JarOutputStream(out)) {
+            jar.putNextEntry(new JarEntry("module-info.class"));
+            jar.write(Files.readAllBytes(classes.resolve("module-info.class")));
+            jar.closeEntry();
+        }
+        return tmp.resolve("javafx-sdk");
+    }
+}
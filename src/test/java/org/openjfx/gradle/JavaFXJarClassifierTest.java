@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JavaFXJarClassifierTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void moduleDescriptor() throws IOException {
+        var jar = jarWithModuleInfo("renamed-graphics.jar", "javafx.graphics");
+
+        assertTrue(classifier().isJavaFXJar(jar));
+    }
+
+    @Test
+    void automaticModuleName() throws IOException {
+        var jar = jarWithAutomaticModuleName("base.jar", "javafx.base");
+
+        assertTrue(classifier().isJavaFXJar(jar));
+    }
+
+    @Test
+    void emptyJavaFXJar() throws IOException {
+        // The jars without classifier on Maven Central only contain the name of an (unknown) automatic module
+        var jar = jarWithAutomaticModuleName("javafx-base-17.jar", "javafx.baseEmpty");
+
+        assertFalse(classifier().isJavaFXJar(jar));
+    }
+
+    @Test
+    void otherJars() throws IOException {
+        var classifier = classifier();
+
+        assertFalse(classifier.isJavaFXJar(jarWithAutomaticModuleName("javafx-base-17-linux.jar", "org.example")));
+        assertFalse(classifier.isJavaFXJar(jarWithModuleInfo("library.jar", "org.example.library")));
+        assertFalse(classifier.isJavaFXJar(Files.writeString(tmp.resolve("not-a-jar.jar"), "text").toFile()));
+        assertFalse(classifier.isJavaFXJar(Files.createDirectories(tmp.resolve("classes")).toFile()));
+        assertFalse(classifier.isJavaFXJar(tmp.resolve("missing.jar").toFile()));
+    }
+
+    @Test
+    void cacheIsPersisted() throws Exception {
+        var jar = jarWithAutomaticModuleName("controls.jar", "javafx.controls");
+        var lastModified = Files.getLastModifiedTime(jar.toPath());
+        var classifier = classifier();
+        assertEquals(Optional.of("javafx.controls"), classifier.getModuleName(jar));
+        classifier.close();
+
+        // Same size and modification time: the cached module name is used, the jar is not opened
+        Files.write(jar.toPath(), new byte[(int) jar.length()]);
+        Files.setLastModifiedTime(jar.toPath(), lastModified);
+        assertEquals(Optional.of("javafx.controls"), classifier().getModuleName(jar));
+
+        // Modified jar: the module name is read again
+        Files.setLastModifiedTime(jar.toPath(), FileTime.fromMillis(lastModified.toMillis() + 2000));
+        assertEquals(Optional.empty(), classifier().getModuleName(jar));
+    }
+
+    private JavaFXJarClassifier classifier() {
+        var project = ProjectBuilder.builder().withProjectDir(tmp.resolve("project").toFile()).build();
+        return project.getGradle().getSharedServices().registerIfAbsent("javafxJarClassifier", JavaFXJarClassifier.class,
+                spec -> spec.getParameters().getCacheFile().set(tmp.resolve("cache.txt").toFile())).get();
+    }
+
+    private File jarWithAutomaticModuleName(String name, String moduleName) throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().putValue("Automatic-Module-Name", moduleName);
+        Path jar = tmp.resolve(name);
+        try (OutputStream out = Files.newOutputStream(jar); JarOutputStream ignored = new JarOutputStream(out, manifest)) {
+            // manifest only
+        }
+        return jar.toFile();
+    }
+
+    private File jarWithModuleInfo(String name, String moduleName) throws IOException {
+        Path src = Files.createDirectories(tmp.resolve("src-" + moduleName));
+        Path classes = Files.createDirectories(tmp.resolve("classes-" + moduleName));
+        Path moduleInfo = Files.writeString(src.resolve("module-info.java"), "module " + moduleName + " { }");
+        assertEquals(0, ToolProvider.getSystemJavaCompiler().run(null, null, null,
+                "-d", classes.toString(), moduleInfo.toString()));
+
+        Path jar = tmp.resolve(name);
+        try (OutputStream out = Files.newOutputStream(jar); JarOutputStream jarOut = new JarOutputStream(out)) {
+            jarOut.putNextEntry(new JarEntry("module-info.class"));
+            jarOut.write(Files.readAllBytes(classes.resolve("module-info.class")));
+            jarOut.closeEntry();
+        }
+        return jar.toFile();
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.api.plugins.JavaApplication;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JavaFXJlinkTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void otherPlatformNeedsJdkModulePath() {
+        Project project = ProjectBuilder.builder().withProjectDir(tmp.toFile()).build();
+        project.getPlugins().apply("application");
+        project.getPlugins().apply(JavaFXPlugin.class);
+        project.getExtensions().getByType(JavaApplication.class).getMainClass().set("org.example.App");
+        var javafx = project.getExtensions().getByType(JavaFXOptions.class);
+        JavaFXPlatform host = javafx.getPlatform();
+        JavaFXPlatform other = host == JavaFXPlatform.WINDOWS ? JavaFXPlatform.LINUX : JavaFXPlatform.WINDOWS;
+        javafx.setDistributionPlatforms(List.of(host.getClassifier(), other.getClassifier()));
+
+        JavaFXJlink hostJlink = project.getTasks().named("javafxJlink" + host.getNameSuffix(), JavaFXJlink.class).get();
+        JavaFXJlink otherJlink = project.getTasks().named("javafxJlink" + other.getNameSuffix(), JavaFXJlink.class).get();
+
+        assertEquals(host, hostJlink.getTargetPlatform().get());
+        assertEquals(host, hostJlink.getHostPlatform().get());
+        GradleException e = assertThrows(GradleException.class, otherJlink::link);
+        assertTrue(e.getMessage().contains("'jdkModulePath'"), e.getMessage());
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.GradleException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JavaFXMirrorActionTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void mirrorsAvailablePlatforms() throws IOException {
+        Path upstream = tmp.resolve("upstream");
+        Path controls = Files.createDirectories(upstream.resolve("org/openjfx/javafx-controls/17"));
+        Files.writeString(controls.resolve("javafx-controls-17.pom"), "<project>\n  <modelVersion>4.0.0</modelVersion>\n</project>\n");
+        Files.writeString(controls.resolve("javafx-controls-17.jar"), "empty");
+        Files.writeString(controls.resolve("javafx-controls-17-linux.jar"), "linux");
+        Path mirror = tmp.resolve("mirror");
+
+        JavaFXMirrorAction.mirror(upstream.toUri(), mirror, JavaFXModule.CONTROLS, "17",
+                List.of(JavaFXPlatform.LINUX, JavaFXPlatform.OSX_AARCH64));
+
+        Path dir = mirror.resolve("org/openjfx/javafx-controls/17");
+        assertEquals("linux", Files.readString(dir.resolve("javafx-controls-17-linux.jar")));
+        assertFalse(Files.exists(dir.resolve("javafx-controls-17-mac-aarch64.jar")));
+        assertTrue(Files.readString(dir.resolve("javafx-controls-17.pom")).contains("published-with-gradle-metadata"));
+        String metadata = Files.readString(dir.resolve("javafx-controls-17.module"));
+        assertTrue(metadata.contains("\"name\": \"linuxRuntimeElements\""));
+        assertFalse(metadata.contains("mac-aarch64"));
+        assertTrue(metadata.contains("\"module\": \"javafx-graphics\""));
+        assertTrue(Files.isRegularFile(dir.resolve("javafx-controls-17.module.sha1")));
+    }
+
+    @Test
+    void failsForUnknownVersion() {
+        assertThrows(GradleException.class, () -> JavaFXMirrorAction.mirror(tmp.toUri(), tmp.resolve("mirror"),
+                JavaFXModule.BASE, "1.0", List.of(JavaFXPlatform.LINUX)));
+    }
+}
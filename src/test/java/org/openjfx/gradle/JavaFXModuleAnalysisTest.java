@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JavaFXModuleAnalysisTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void findsClassReferences() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0xCAFEBABE);
+        out.writeShort(0);
+        out.writeShort(55);
+        out.writeShort(6);
+        out.writeByte(1);
+        out.writeUTF("javafx/scene/control/Button");
+        out.writeByte(7);
+        out.writeShort(1);
+        out.writeByte(5);
+        out.writeLong(42);
+        out.writeByte(1);
+        out.writeUTF("(Ljava/util/List<Ljavafx/scene/web/WebView;>;)V");
+
+        assertEquals(Set.of("javafx.scene.control", "javafx.scene.web"),
+                JavaFXModuleAnalysis.classReferences(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    @Test
+    void findsFxmlImports() throws IOException {
+        Path fxml = tmp.resolve("view.fxml");
+        Files.writeString(fxml, "<?xml version=\"1.0\"?>\n" +
+                "<?import javafx.scene.layout.VBox?>\n" +
+                "<?import javafx.scene.control.*?>\n" +
+                "<?import org.example.Widget?>\n" +
+                "<VBox/>\n");
+
+        assertEquals(Set.of("javafx.scene.layout", "javafx.scene.control"), JavaFXModuleAnalysis.fxmlImports(fxml.toFile()));
+    }
+
+    @Test
+    void minimalModules() {
+        assertEquals(Set.of(JavaFXModule.CONTROLS, JavaFXModule.FXML),
+                JavaFXModuleAnalysis.minimalModules(Set.of(JavaFXModule.BASE, JavaFXModule.GRAPHICS, JavaFXModule.CONTROLS, JavaFXModule.FXML)));
+        assertEquals(Set.of(JavaFXModule.WEB),
+                JavaFXModuleAnalysis.minimalModules(Set.of(JavaFXModule.CONTROLS, JavaFXModule.WEB)));
+    }
+}
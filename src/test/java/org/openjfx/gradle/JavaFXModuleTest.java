@@ -81,4 +81,12 @@ class JavaFXModuleTest {
             // expected
         }
     }
+
+    @Test
+    void fromPackageName() {
+        assertEquals(Optional.of(JavaFXModule.CONTROLS), JavaFXModule.fromPackageName("javafx.scene.control.cell"));
+        assertEquals(Optional.of(JavaFXModule.GRAPHICS), JavaFXModule.fromPackageName("javafx.scene.layout"));
+        assertEquals(Optional.of(JavaFXModule.BASE), JavaFXModule.fromPackageName("javafx.util.converter"));
+        assertTrue(JavaFXModule.fromPackageName("javafx.unknown").isEmpty());
+    }
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JavaFXOptionsTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void declaresDependenciesFromProvidersSetAfterApply() throws IOException {
+        Project project = ProjectBuilder.builder().withProjectDir(tmp.resolve("project").toFile()).build();
+        project.getPlugins().apply("java");
+        project.getPlugins().apply(JavaFXPlugin.class);
+        var javafx = project.getExtensions().getByType(JavaFXOptions.class);
+        javafx.setPlatform("linux");
+        javafx.setModules(List.of("javafx.base"));
+        var version = new AtomicReference<>("17");
+        var configuration = new AtomicReference<>("implementation");
+        var sdk = new AtomicReference<String>();
+        javafx.getFxVersion().set(project.provider(version::get));
+        javafx.getFxConfigurations().set(project.provider(() -> List.of(configuration.get())));
+        javafx.getFxSdk().set(project.provider(sdk::get));
+
+        // Only read when the project is evaluated and the classpath is resolved
+        version.set("17.0.8");
+        configuration.set("compileOnly");
+        sdk.set(sdk().toString());
+        ((ProjectInternal) project).evaluate();
+
+        assertEquals(List.of("javafx-base-17.0.8-linux.jar"), project.getConfigurations().getByName("compileClasspath")
+                .getFiles().stream().map(File::getName).collect(Collectors.toList()));
+        assertEquals(List.of("org.openjfx:javafx-base:17.0.8"), dependencies(project, "compileOnly"));
+        assertEquals(List.of(), dependencies(project, "implementation"));
+        assertEquals("customSDKArtifactRepository", project.getRepositories().get(0).getName());
+    }
+
+    @Test
+    void readsPlatformCatalogWhenResolved() {
+        Project project = ProjectBuilder.builder().withProjectDir(tmp.resolve("project").toFile()).build();
+        project.getPlugins().apply("java");
+        project.getPlugins().apply(JavaFXPlugin.class);
+        var javafx = project.getExtensions().getByType(JavaFXOptions.class);
+        javafx.setPlatform("linux-aarch64");
+        javafx.setVersion("11.0.2");
+        javafx.setModules(List.of("javafx.base"));
+        ((ProjectInternal) project).evaluate();
+
+        // Linux aarch64 is published since 11.0.12 by default
+        javafx.platformCatalog("linux-aarch64", List.of("[11,12)"));
+        assertEquals(List.of("org.openjfx:javafx-base:11.0.2"), dependencies(project, "implementation"));
+    }
+
+    @Test
+    void failsForPlatformNotInCatalog() {
+        Project project = ProjectBuilder.builder().withProjectDir(tmp.resolve("project").toFile()).build();
+        project.getPlugins().apply("java");
+        project.getPlugins().apply(JavaFXPlugin.class);
+        var javafx = project.getExtensions().getByType(JavaFXOptions.class);
+        javafx.setPlatform("linux-aarch64");
+        javafx.setVersion("11.0.2");
+        javafx.setModules(List.of("javafx.base"));
+
+        var exception = assertThrows(GradleException.class, () -> dependencies(project, "implementation"));
+        assertEquals("JavaFX 11.0.2 is not published for platform 'linux-aarch64'. " +
+                "If it is, add the version to 'javafx.platformCatalog'.", exception.getMessage());
+    }
+
+    @Test
+    void stripsNativesOfJavaFXJarsOnRuntimeClasspath() throws IOException {
+        Path lib = Files.createDirectories(sdk().resolve("lib"));
+        try (var out = new ZipOutputStream(Files.newOutputStream(lib.resolve(JavaFXModule.GRAPHICS.getModuleJarFileName())))) {
+            out.putNextEntry(new ZipEntry("module-info.class"));
+            out.write(JavaFXModule.GRAPHICS.getModuleName().getBytes(StandardCharsets.UTF_8));
+        }
+        Files.writeString(lib.resolve("libglass.so"), "glass");
+        Files.writeString(lib.resolve("libprism_es2.so"), "prism");
+        // Not a JavaFX jar, but with a library of the same name
+        Path other = tmp.resolve("other.jar");
+        try (var out = new ZipOutputStream(Files.newOutputStream(other))) {
+            out.putNextEntry(new ZipEntry("libglass.so"));
+        }
+        Project project = ProjectBuilder.builder().withProjectDir(tmp.resolve("project").toFile()).build();
+        project.getPlugins().apply("java");
+        project.getPlugins().apply(JavaFXPlugin.class);
+        var javafx = project.getExtensions().getByType(JavaFXOptions.class);
+        javafx.setPlatform("linux");
+        javafx.setVersion("17.0.8");
+        javafx.setSdk(tmp.resolve("javafx-sdk").toString());
+        javafx.setModules(List.of("javafx.graphics"));
+        javafx.setStripNatives(List.of("libglass"));
+        project.getDependencies().add("implementation", project.files(other));
+        ((ProjectInternal) project).evaluate();
+
+        FileCollection runtimeClasspath = project.getExtensions().getByType(SourceSetContainer.class)
+                .getByName(SourceSet.MAIN_SOURCE_SET_NAME).getRuntimeClasspath();
+        assertEquals(List.of("module-info.class", "libprism_es2.so"), entries(runtimeClasspath, "javafx-graphics-17.0.8-linux.jar"));
+        assertEquals(List.of("libglass.so"), entries(runtimeClasspath, "other.jar"));
+        assertEquals(List.of("module-info.class", "libglass.so", "libprism_es2.so"),
+                entries(project.getConfigurations().getByName("compileClasspath"), "javafx-graphics-17.0.8-linux.jar"));
+    }
+
+    private static List<String> entries(FileCollection classpath, String jarName) throws IOException {
+        File jar = classpath.getFiles().stream().filter(file -> file.getName().equals(jarName)).findFirst().orElseThrow();
+        try (ZipFile zip = new ZipFile(jar)) {
+            return zip.stream().map(ZipEntry::getName).collect(Collectors.toList());
+        }
+    }
+
+    private static List<String> dependencies(Project project, String configuration) {
+        return project.getConfigurations().getByName(configuration).getDependencies().stream()
+                .map(dependency -> dependency.getGroup() + ":" + dependency.getName() + ":" + dependency.getVersion())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * An SDK without 'javafx.properties', so that the modules get the version of 'fxVersion'
+     */
+    private Path sdk() throws IOException {
+        Path lib = Files.createDirectories(tmp.resolve("javafx-sdk/lib"));
+        try (var out = new ZipOutputStream(Files.newOutputStream(lib.resolve(JavaFXModule.BASE.getModuleJarFileName())))) {
+            out.putNextEntry(new ZipEntry("module-info.class"));
+            out.write(JavaFXModule.BASE.getModuleName().getBytes(StandardCharsets.UTF_8));
+        }
+        return tmp.resolve("javafx-sdk");
+    }
+}
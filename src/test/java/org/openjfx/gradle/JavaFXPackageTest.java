@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JavaFXPackageTest {
+
+    @Test
+    void replacesClasspath() {
+        String cfg = "[Application]\n" +
+                "app.classpath=$APPDIR/app.jar\n" +
+                "app.classpath=$APPDIR/old.jar\n" +
+                "app.mainclass=demo.Main\n" +
+                "\n" +
+                "[JavaOptions]\n" +
+                "java-options=-Xmx1g\n";
+
+        assertEquals("[Application]\n" +
+                "app.classpath=$APPDIR/app.jar\n" +
+                "app.classpath=$APPDIR/new.jar\n" +
+                "app.classpath=$APPDIR/other.jar\n" +
+                "app.mainclass=demo.Main\n" +
+                "\n" +
+                "[JavaOptions]\n" +
+                "java-options=-Xmx1g\n", JavaFXPackage.withClasspath(cfg, List.of("app.jar", "new.jar", "other.jar")));
+    }
+
+    @Test
+    void keepsWindowsPrefix() {
+        String cfg = "[Application]\r\napp.classpath=$APPDIR\\app.jar\r\napp.mainclass=demo.Main\r\n";
+
+        assertEquals("[Application]\r\napp.classpath=$APPDIR\\app.jar\r\napp.classpath=$APPDIR\\lib.jar\r\napp.mainclass=demo.Main\r\n",
+                JavaFXPackage.withClasspath(cfg, List.of("app.jar", "lib.jar")));
+    }
+
+    @Test
+    void addsClasspath() {
+        String cfg = "[Application]\napp.mainclass=demo.Main\n";
+
+        assertEquals("[Application]\napp.classpath=$APPDIR/app.jar\napp.mainclass=demo.Main\n",
+                JavaFXPackage.withClasspath(cfg, List.of("app.jar")));
+    }
+}
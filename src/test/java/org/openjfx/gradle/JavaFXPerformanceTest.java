@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JavaFXPerformanceTest {
+
+    @TempDir
+    Path tmp;
+
+    private JavaFXPerformance performance;
+
+    @BeforeEach
+    void createPerformance() {
+        Project project = ProjectBuilder.builder().withProjectDir(tmp.toFile()).build();
+        performance = project.getObjects().newInstance(JavaFXPerformance.class);
+    }
+
+    @Test
+    void noSettings() {
+        assertEquals(List.of(), performance.getJvmArguments().get());
+    }
+
+    @Test
+    void settings() {
+        performance.getPrismOrder().set("es2,sw");
+        performance.getVsync().set(false);
+        performance.getPulseLogging().set(false);
+        performance.getMaxHeap().set("1g");
+        performance.getGarbageCollector().set("G1");
+        performance.getJvmArgs().add("-Dx=y");
+
+        assertEquals(List.of("-Dprism.order=es2,sw", "-Dprism.vsync=false", "-Xmx1g", "-XX:+UseG1GC", "-Dx=y"),
+                performance.getJvmArguments().get());
+    }
+
+    @Test
+    void profileOverridesSettings() {
+        performance.getPrismOrder().set("es2");
+        performance.getMaxHeap().set("1g");
+        performance.getJvmArgs().add("-Dx=y");
+        performance.getProfiles().named("ci-headless", profile -> profile.getJvmArgs().add("-Dci=true"));
+        performance.getProfile().set("ci-headless");
+
+        assertEquals(List.of("-Dprism.order=sw", "-Dprism.vsync=false", "-Xmx1g", "-Dx=y", "-Dci=true"),
+                performance.getJvmArguments().get());
+    }
+
+    @Test
+    void devProfile() {
+        performance.getProfile().set("dev");
+
+        assertEquals(List.of("-XX:TieredStopAtLevel=1"), performance.getJvmArguments().get());
+    }
+
+    @Test
+    void unknownProfile() {
+        performance.getProfile().set("staging");
+
+        var e = assertThrows(GradleException.class, () -> performance.getJvmArguments().get());
+        assertTrue(e.getMessage().contains("[ci-headless, dev, production]"));
+    }
+
+    @Test
+    void unknownGarbageCollector() {
+        performance.getGarbageCollector().set("CMS");
+
+        assertThrows(GradleException.class, () -> performance.getJvmArguments().get());
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2025, Gluon
+ * Copyright (c) 2018, 2026, Gluon
  * All rights reserved.
  *
  * Redistribution and use in source and binary forms, with or without
@@ -29,21 +29,37 @@
  */
 package org.openjfx.gradle;
 
+import jdk.jfr.consumer.RecordingFile;
 import org.gradle.testfixtures.ProjectBuilder;
 import org.gradle.testkit.runner.BuildResult;
 import org.gradle.testkit.runner.GradleRunner;
 import org.gradle.testkit.runner.TaskOutcome;
+import org.gradle.util.GradleVersion;
 import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
 
+import javax.tools.ToolProvider;
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 abstract class JavaFXPluginSmokeTest {
 
@@ -111,15 +127,154 @@ abstract class JavaFXPluginSmokeTest {
     }
 
     @Test
-    void smokeTestLocalSdk() {
+    void smokeTestLocalSdk() throws IOException {
+        graphicsJarOfLocalSdk();
         var result = build(":local-sdk:build"); // do not ':run', as it won't run on any platform
 
         assertEquals(TaskOutcome.SUCCESS, result.task(":local-sdk:build").getOutcome());
 
-        assertEquals(List.of("javafx.base.jar", "javafx.controls.jar", "javafx.graphics.jar"), compileClassPath(result).get(0));
+        assertEquals(List.of("javafx-base-17.0.8-" + classifier + ".jar", "javafx-controls-17.0.8-" + classifier + ".jar", "javafx-graphics-17.0.8-" + classifier + ".jar"), compileClassPath(result).get(0));
         assertEquals(List.of(), modulePath(result));
     }
 
+    @Test
+    void smokeTestDistributions() throws IOException {
+        var result = build(":non-modular:javafxDistributions", "-PdistributionPlatforms");
+
+        assertEquals(TaskOutcome.SUCCESS, result.task(":non-modular:javafxDistZipLinux").getOutcome());
+        assertEquals(TaskOutcome.SUCCESS, result.task(":non-modular:javafxDistZipWin").getOutcome());
+
+        for (String platform : List.of("linux", "win")) {
+            String root = "non-modular-" + platform + "/";
+            try (ZipFile zip = new ZipFile("test-project/non-modular/build/distributions/non-modular-" + platform + ".zip")) {
+                assertEquals(List.of("javafx-base-17-" + platform + ".jar", "javafx-controls-17-" + platform + ".jar", "javafx-graphics-17-" + platform + ".jar", "javafx-media-17-" + platform + ".jar", "javafx-web-17-" + platform + ".jar"),
+                        Collections.list(zip.entries()).stream()
+                                .map(ZipEntry::getName)
+                                .filter(name -> name.startsWith(root + "lib/javafx/") && name.endsWith(".jar"))
+                                .map(name -> name.substring(name.lastIndexOf('/') + 1))
+                                .sorted()
+                                .collect(Collectors.toList()));
+                String script = new String(zip.getInputStream(zip.getEntry(root + "bin/non-modular")).readAllBytes(), StandardCharsets.UTF_8);
+                assertTrue(script.contains("\\\"--module-path\\\" \\\"$APP_HOME/lib/javafx\\\""), script);
+            }
+        }
+    }
+
+    @Test
+    void smokeTestInstrumentation() throws IOException {
+        var result = build(":modular:run", "-Porg.openjfx.javafxplugin.instrumentation=true");
+
+        assertEquals(TaskOutcome.SUCCESS, result.task(":modular:run").getOutcome());
+
+        File reports = new File("test-project/modular/build/reports/javafx");
+        String launch = Files.readString(new File(reports, "launch.json").toPath());
+        assertTrue(launch.contains("{ \"task\": \":modular:run\", \"entries\": 3, "), launch);
+        if (!useConfigurationCache()) {
+            // With the configuration cache, another instance of the service records the resolution, see 'JavaFXInstrumentation'
+            String resolution = Files.readString(new File(reports, "resolution.json").toPath());
+            assertTrue(resolution.contains("{ \"configuration\": \"runtimeClasspath\", \"durationMillis\": "), resolution);
+        }
+    }
+
+    @Test
+    void smokeTestJlink() {
+        assumeToolchains("jlink task");
+        // Links the jmods of a folder with a space in its path, which is not a URL
+        var result = build(":modular:javafxJlink", "-Pjmods");
+
+        assertEquals(TaskOutcome.SUCCESS, result.task(":modular:javafxJmods").getOutcome());
+        assertEquals(TaskOutcome.SUCCESS, result.task(":modular:javafxJlink").getOutcome());
+
+        assertTrue(new File("test-project/modular/build/javafx/image/lib/modules").isFile());
+    }
+
+    @Test
+    void smokeTestJlinkInferModules() throws IOException {
+        assumeToolchains("jlink task");
+        var result = build(":modular:javafxJlink", "-PinferModules");
+
+        assertEquals(TaskOutcome.SUCCESS, result.task(":modular:javafxModuleAnalysis").getOutcome());
+        assertEquals(TaskOutcome.SUCCESS, result.task(":modular:javafxJlink").getOutcome());
+
+        String release = Files.readString(new File("test-project/modular/build/javafx/image/release").toPath());
+        assertTrue(release.contains("javafx.controls"), release);
+        assertTrue(release.contains("org.openjfx.gradle.javafx.test"), release);
+    }
+
+    @Test
+    void smokeTestProfilingHeadlessTests() throws IOException {
+        assumeToolchains("profiling");
+        var result = build(":profiling:test");
+
+        assertEquals(TaskOutcome.SUCCESS, result.task(":profiling:test").getOutcome());
+
+        // The output of the pulse logger is turned into events, also when the test worker replaces System.err
+        assertFalse(result.getOutput().contains("PULSE:"));
+        File[] recordings = new File("test-project/profiling/build/reports/javafx/profiling/test")
+                .listFiles((dir, name) -> name.endsWith(".jfr"));
+        assertEquals(1, recordings.length);
+        assertTrue(RecordingFile.readAllEvents(recordings[0].toPath()).stream()
+                .anyMatch(event -> event.getEventType().getName().equals("org.openjfx.Pulse")));
+    }
+
+    /**
+     * Skips the test with the Gradle versions that don't support toolchains yet
+     */
+    private void assumeToolchains(String feature) {
+        Assumptions.assumeTrue(GradleVersion.version(getGradleVersion()).compareTo(GradleVersion.version("6.7")) >= 0,
+                feature + " requires Gradle 6.7+");
+    }
+
+    /**
+     * 'javafx.controls' depends on 'javafx.graphics', so the SDK needs its jar. The application of 'local-sdk' is only
+     * compiled, so a jar with the few 'javafx.graphics' types it uses is enough, and no native libraries make the SDK
+     * one for the platform the test runs on.
+     */
+    private static void graphicsJarOfLocalSdk() throws IOException {
+        Path lib = Path.of("test-project/local-sdk/javafx-sdk-17.0.8/lib");
+        Path jar = lib.resolve(JavaFXModule.GRAPHICS.getModuleJarFileName());
+        if (Files.isRegularFile(jar)) {
+            return;
+        }
+        Map<String, String> sources = Map.of(
+                "module-info.java", "module javafx.graphics { requires transitive javafx.base; "
+                        + "exports javafx.application; exports javafx.scene; exports javafx.scene.layout; exports javafx.stage; }",
+                "javafx/application/Application.java", "package javafx.application; public abstract class Application { "
+                        + "public abstract void start(javafx.stage.Stage stage) throws Exception; }",
+                "javafx/scene/Node.java", "package javafx.scene; public abstract class Node { }",
+                "javafx/scene/Parent.java", "package javafx.scene; public abstract class Parent extends Node { }",
+                "javafx/scene/Scene.java", "package javafx.scene; public class Scene { "
+                        + "public Scene(Parent root, double width, double height) { } }",
+                "javafx/scene/layout/Region.java", "package javafx.scene.layout; public class Region extends javafx.scene.Parent { }",
+                "javafx/scene/layout/StackPane.java", "package javafx.scene.layout; public class StackPane extends Region { "
+                        + "public StackPane(javafx.scene.Node... children) { } }",
+                "javafx/stage/Stage.java", "package javafx.stage; public class Stage { "
+                        + "public void setScene(javafx.scene.Scene scene) { } public void show() { } }");
+
+        Path src = Files.createTempDirectory("javafx-graphics");
+        Path classes = src.resolve("classes");
+        List<String> args = new ArrayList<>(List.of("-d", classes.toString(),
+                "--module-path", lib.resolve(JavaFXModule.BASE.getModuleJarFileName()).toString()));
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            Path file = src.resolve(source.getKey());
+            Files.createDirectories(file.getParent());
+            args.add(Files.writeString(file, source.getValue()).toString());
+        }
+        assertEquals(0, ToolProvider.getSystemJavaCompiler().run(null, null, null, args.toArray(new String[0])));
+
+        List<Path> classFiles;
+        try (var files = Files.walk(classes)) {
+            classFiles = files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        try (OutputStream out = Files.newOutputStream(jar); JarOutputStream jarOut = new JarOutputStream(out)) {
+            for (Path classFile : classFiles) {
+                jarOut.putNextEntry(new JarEntry(classes.relativize(classFile).toString().replace(File.separatorChar, '/')));
+                jarOut.write(Files.readAllBytes(classFile));
+                jarOut.closeEntry();
+            }
+        }
+    }
+
     private static List<List<String>> modulePath(BuildResult result) {
         return path(result, "--module-path ");
     }
@@ -147,13 +302,15 @@ abstract class JavaFXPluginSmokeTest {
         }).filter(p -> !p.isEmpty()).collect(Collectors.toList());
     }
 
-    private BuildResult build(String task) {
+    private BuildResult build(String task, String... arguments) {
+        var args = new ArrayList<>(getGradleRunnerArguments(task));
+        args.addAll(List.of(arguments));
         return GradleRunner.create()
                 .withProjectDir(new File("test-project"))
                 .withGradleVersion(getGradleVersion())
                 .withPluginClasspath()
                 .withDebug(ManagementFactory.getRuntimeMXBean().getInputArguments().toString().contains("-agentlib:jdwp"))
-                .withArguments(getGradleRunnerArguments(task))
+                .withArguments(args)
                 .build();
     }
 
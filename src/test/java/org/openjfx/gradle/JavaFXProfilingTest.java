@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.Event;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.Timespan;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JavaFXProfilingTest {
+
+    @TempDir
+    Path tmp;
+
+    private Project project;
+
+    @BeforeEach
+    void createProject() {
+        project = ProjectBuilder.builder().withProjectDir(tmp.toFile()).build();
+    }
+
+    @Test
+    void disabled() {
+        var arguments = project.getObjects().newInstance(JavaFXProfilingArgumentProvider.class);
+        arguments.getEnabled().set(false);
+
+        assertFalse(arguments.asArguments().iterator().hasNext());
+    }
+
+    @Test
+    void attachesAgent() {
+        File agent = tmp.resolve("agent.jar").toFile();
+        File settings = tmp.resolve("javafx.jfc").toFile();
+        File recordingDir = tmp.resolve("profiling").toFile();
+        var arguments = project.getObjects().newInstance(JavaFXProfilingArgumentProvider.class);
+        arguments.getEnabled().set(true);
+        arguments.getAgent().from(agent);
+        arguments.getSettings().from(settings);
+        arguments.getRecordingDir().set(recordingDir);
+        arguments.getAllPulsePhases().set(false);
+
+        assertEquals(List.of("-javaagent:" + agent.getAbsolutePath() + "=" + settings.getAbsolutePath() +
+                File.pathSeparator + recordingDir.getAbsolutePath() + File.pathSeparator + "false" +
+                File.pathSeparator + "0"), arguments.asArguments());
+    }
+
+    @Test
+    void passesPulsePhasesAndProbeInterval() {
+        File agent = tmp.resolve("agent.jar").toFile();
+        File settings = tmp.resolve("javafx.jfc").toFile();
+        File recordingDir = tmp.resolve("profiling").toFile();
+        var arguments = project.getObjects().newInstance(JavaFXProfilingArgumentProvider.class);
+        arguments.getEnabled().set(true);
+        arguments.getAgent().from(agent);
+        arguments.getSettings().from(settings);
+        arguments.getRecordingDir().set(recordingDir);
+        arguments.getAllPulsePhases().set(true);
+        arguments.getRunLaterProbeInterval().set(Duration.ofMillis(50));
+
+        assertEquals(List.of("-javaagent:" + agent.getAbsolutePath() + "=" + settings.getAbsolutePath() +
+                File.pathSeparator + recordingDir.getAbsolutePath() + File.pathSeparator + "true" +
+                File.pathSeparator + "50"), arguments.asArguments());
+    }
+
+    @Test
+    void summarizesMicros() {
+        Map<String, Map<String, Long>> summary = JavaFXProfilingReport.summarize(Map.of(
+                "pulse", List.of(4000L, 2000L, 16000L, 3000L)));
+
+        assertEquals(Map.of("count", 4L, "p50", 3000L, "p90", 16000L, "p99", 16000L, "max", 16000L), summary.get("pulse"));
+    }
+
+    @Test
+    void summarizesEmptyMetric() {
+        assertEquals(Map.of("count", 0L), JavaFXProfilingReport.summarize(Map.of("render", List.of())).get("render"));
+    }
+
+    @Test
+    void summarizesRecordings() throws Exception {
+        File recordingDir = tmp.resolve("profiling").toFile();
+        Files.createDirectories(recordingDir.toPath());
+        try (Recording recording = new Recording()) {
+            recording.enable(PulseEvent.class);
+            recording.start();
+            for (long time : List.of(5L, 7L, 40L)) {
+                PulseEvent event = new PulseEvent();
+                event.time = time;
+                event.commit();
+            }
+            recording.stop();
+            recording.dump(recordingDir.toPath().resolve("javafx-1.jfr"));
+        }
+        Task task = project.getTasks().register("run").get();
+
+        new JavaFXProfilingReport(project.provider(() -> true), project.getLayout().dir(project.provider(() -> recordingDir)))
+                .execute(task);
+
+        String summary = Files.readString(recordingDir.toPath().resolve(JavaFXProfilingReport.SUMMARY), StandardCharsets.UTF_8);
+        assertTrue(summary.contains("\"recordings\": [\"javafx-1.jfr\"]"), summary);
+        assertTrue(summary.contains("\"pulseMicros\": { \"count\": 3, \"p50\": 7000, \"p90\": 40000, \"p99\": 40000, \"max\": 40000 }"), summary);
+        assertTrue(summary.contains("\"renderMicros\": { \"count\": 0 }"), summary);
+    }
+
+    @Name("org.openjfx.Pulse")
+    static class PulseEvent extends Event {
+        @Timespan(Timespan.MILLISECONDS)
+        long time;
+    }
+}
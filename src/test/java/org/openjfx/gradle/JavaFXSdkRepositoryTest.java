@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.GradleException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JavaFXSdkRepositoryTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void generatesModulesWithMetadata() throws IOException {
+        Path lib = sdk("17.0.8");
+        var repository = new JavaFXSdkRepository(tmp.resolve("repository").toFile());
+
+        String version = repository.generate(lib.toFile(), JavaFXPlatform.LINUX, List.of(JavaFXModule.BASE, JavaFXModule.GRAPHICS), "17");
+
+        assertEquals("17.0.8", version);
+        Path graphics = tmp.resolve("repository/org/openjfx/javafx-graphics/17.0.8");
+        try (ZipFile jar = new ZipFile(graphics.resolve("javafx-graphics-17.0.8-linux.jar").toFile())) {
+            assertEquals(List.of("module-info.class", "libglass.so"), Collections.list(jar.entries()).stream()
+                    .map(ZipEntry::getName).collect(Collectors.toList()));
+        }
+        String metadata = Files.readString(graphics.resolve("javafx-graphics-17.0.8.module"));
+        assertTrue(metadata.contains("\"module\": \"javafx-base\""));
+        assertTrue(metadata.contains("\"org.gradle.native.operatingSystem\": \"linux\""));
+        assertTrue(metadata.contains("\"org.openjfx.javafx.natives.stripped\": false"));
+        assertTrue(Files.isRegularFile(graphics.resolve("javafx-graphics-17.0.8.pom")));
+        assertTrue(Files.isRegularFile(graphics.resolve("javafx-graphics-17.0.8-linux.jar.sha256")));
+    }
+
+    @Test
+    void generatesChangedModulesOnly() throws IOException {
+        Path lib = sdk("17.0.8");
+        var repository = new JavaFXSdkRepository(tmp.resolve("repository").toFile());
+        repository.generate(lib.toFile(), JavaFXPlatform.LINUX, List.of(JavaFXModule.BASE, JavaFXModule.GRAPHICS), "17");
+        Path base = tmp.resolve("repository/org/openjfx/javafx-base/17.0.8/javafx-base-17.0.8-linux.jar");
+        Path graphics = tmp.resolve("repository/org/openjfx/javafx-graphics/17.0.8/javafx-graphics-17.0.8-linux.jar");
+        String baseChecksum = Files.readString(base.resolveSibling(base.getFileName() + ".sha256"));
+        long baseModified = Files.getLastModifiedTime(base).toMillis();
+        long graphicsSize = Files.size(graphics);
+
+        Files.writeString(lib.resolve("libprism_es2.so"), "prism");
+        repository.generate(lib.toFile(), JavaFXPlatform.LINUX, List.of(JavaFXModule.BASE, JavaFXModule.GRAPHICS), "17");
+
+        assertEquals(baseModified, Files.getLastModifiedTime(base).toMillis());
+        assertEquals(baseChecksum, Files.readString(base.resolveSibling(base.getFileName() + ".sha256")));
+        assertNotEquals(graphicsSize, Files.size(graphics));
+    }
+
+    @Test
+    void failsForSdkOfAnotherPlatform() throws IOException {
+        Path lib = sdk("17.0.8");
+        var repository = new JavaFXSdkRepository(tmp.resolve("repository").toFile());
+
+        var e = assertThrows(GradleException.class, () ->
+                repository.generate(lib.toFile(), JavaFXPlatform.WINDOWS, List.of(JavaFXModule.BASE), "17"));
+
+        assertTrue(e.getMessage().contains("native libraries for linux, but the JavaFX platform is 'win'"), e.getMessage());
+        assertFalse(Files.exists(tmp.resolve("repository/org/openjfx/javafx-base")));
+    }
+
+    @Test
+    void sdkWithoutNativeLibrariesIsForTheConfiguredPlatform() throws IOException {
+        Path lib = sdk("17.0.8");
+        Files.delete(lib.resolve("libglass.so"));
+        Files.delete(lib.resolve("libjfxwebkit.so"));
+        var repository = new JavaFXSdkRepository(tmp.resolve("repository").toFile());
+
+        repository.generate(lib.toFile(), JavaFXPlatform.WINDOWS, List.of(JavaFXModule.BASE), "17");
+
+        assertTrue(Files.isRegularFile(tmp.resolve("repository/org/openjfx/javafx-base/17.0.8/javafx-base-17.0.8-win.jar")));
+    }
+
+    @Test
+    void nativeLibrariesBelongToTheirModule() {
+        assertEquals(JavaFXModule.WEB, JavaFXSdkRepository.nativeModule("libjfxwebkit.so"));
+        assertEquals(JavaFXModule.MEDIA, JavaFXSdkRepository.nativeModule("gstreamer-lite.dll"));
+        assertEquals(JavaFXModule.MEDIA, JavaFXSdkRepository.nativeModule("libavplugin-ffmpeg-56.so"));
+        assertEquals(JavaFXModule.GRAPHICS, JavaFXSdkRepository.nativeModule("libprism_es2.dylib"));
+    }
+
+    private Path sdk(String version) throws IOException {
+        Path lib = Files.createDirectories(tmp.resolve("javafx-sdk/lib"));
+        Files.writeString(lib.resolve("javafx.properties"), "javafx.version=" + version + "\n");
+        Files.writeString(lib.resolve("libglass.so"), "glass");
+        Files.writeString(lib.resolve("libjfxwebkit.so"), "webkit");
+        for (JavaFXModule module : List.of(JavaFXModule.BASE, JavaFXModule.GRAPHICS)) {
+            File jar = lib.resolve(module.getModuleJarFileName()).toFile();
+            try (var out = new ZipOutputStream(Files.newOutputStream(jar.toPath()))) {
+                out.putNextEntry(new ZipEntry("module-info.class"));
+                out.write(module.getModuleName().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return lib;
+    }
+}
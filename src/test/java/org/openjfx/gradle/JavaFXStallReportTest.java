@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JavaFXStallReportTest {
+
+    private static final List<String> STALLS = List.of(
+            "stall 1200 350 RUNNABLE",
+            "\tat java.base/java.io.FileInputStream.readBytes(Native Method)",
+            "\tat java.base/java.io.FileInputStream.read(FileInputStream.java:276)",
+            "\tat app//demo.Settings.load(Settings.java:42)",
+            "\tat app//demo.Main$$Lambda$38/0x00007f5e29004670.run(Unknown Source)",
+            "\tat javafx.graphics/com.sun.javafx.application.PlatformImpl.lambda$runLater$10(PlatformImpl.java:456)",
+            "stall 1900 120 TIMED_WAITING",
+            "\tat java.base/java.lang.Thread.sleep(Native Method)",
+            "\tat app//demo.Main$$Lambda$41/0x00007f5e29004a10.run(Unknown Source)",
+            "\tat javafx.graphics/com.sun.javafx.application.PlatformImpl.lambda$runLater$10(PlatformImpl.java:456)",
+            "stall 2500 200 RUNNABLE",
+            "\tat java.base/java.io.FileInputStream.read(FileInputStream.java:276)",
+            "\tat app//demo.Settings.load(Settings.java:42)");
+
+    @TempDir
+    Path tmp;
+
+    private Project project;
+
+    @BeforeEach
+    void createProject() {
+        project = ProjectBuilder.builder().withProjectDir(tmp.toFile()).build();
+    }
+
+    @Test
+    void attachesAgent() {
+        File agent = tmp.resolve("agent.jar").toFile();
+        File reportDir = tmp.resolve("stalls").toFile();
+        var arguments = project.getObjects().newInstance(JavaFXWatchdogArgumentProvider.class);
+        arguments.getEnabled().set(true);
+        arguments.getAgent().from(agent);
+        arguments.getBudget().set(Duration.ofMillis(50));
+        arguments.getReportDir().set(reportDir);
+
+        assertEquals(List.of("-javaagent:" + agent.getAbsolutePath() + "=50" + File.pathSeparator +
+                reportDir.getAbsolutePath()), arguments.asArguments());
+    }
+
+    @Test
+    void disabled() {
+        var arguments = project.getObjects().newInstance(JavaFXWatchdogArgumentProvider.class);
+        arguments.getEnabled().set(false);
+
+        assertFalse(arguments.asArguments().iterator().hasNext());
+    }
+
+    @Test
+    void parsesStalls() {
+        List<JavaFXStallReport.Stall> stalls = JavaFXStallReport.parse(STALLS);
+
+        assertEquals(3, stalls.size());
+        assertEquals(1200, stalls.get(0).startMillis);
+        assertEquals(350, stalls.get(0).durationMillis);
+        assertEquals("RUNNABLE", stalls.get(0).state);
+        assertEquals(5, stalls.get(0).frames.size());
+    }
+
+    @Test
+    void callSiteSkipsPlatformAndHiddenFrames() {
+        assertEquals("demo.Settings.load(Settings.java:42)", JavaFXStallReport.callSite(List.of(
+                "java.base/java.io.FileInputStream.read(FileInputStream.java:276)",
+                "app//demo.Settings.load(Settings.java:42)")));
+        assertEquals("demo.Main.start(Main.java:20)", JavaFXStallReport.callSite(List.of(
+                "java.base/java.lang.Thread.sleep(Native Method)",
+                "app//demo.Main$$Lambda$41/0x00007f5e29004a10.run(Unknown Source)",
+                "app//demo.Main.start(Main.java:20)")));
+    }
+
+    @Test
+    void callSiteFallsBackToInnermostFrame() {
+        assertEquals("java.base/java.lang.Thread.sleep(Native Method)", JavaFXStallReport.callSite(List.of(
+                "java.base/java.lang.Thread.sleep(Native Method)",
+                "javafx.graphics/com.sun.javafx.application.PlatformImpl.lambda$runLater$10(PlatformImpl.java:456)")));
+    }
+
+    @Test
+    void groupsByCallSite() {
+        Map<String, List<JavaFXStallReport.Stall>> callSites = JavaFXStallReport.groupByCallSite(JavaFXStallReport.parse(STALLS));
+
+        assertEquals(List.of("demo.Settings.load(Settings.java:42)", "java.base/java.lang.Thread.sleep(Native Method)"),
+                List.copyOf(callSites.keySet()));
+        assertEquals(2, callSites.get("demo.Settings.load(Settings.java:42)").size());
+    }
+
+    @Test
+    void failsOnStall() throws Exception {
+        File reportDir = tmp.resolve("stalls").toFile();
+        Files.createDirectories(reportDir.toPath());
+        Files.write(reportDir.toPath().resolve("stalls-1.txt"), STALLS, StandardCharsets.UTF_8);
+        Task task = project.getTasks().register("run").get();
+
+        GradleException e = assertThrows(GradleException.class, () -> new JavaFXStallReport(project.provider(() -> true),
+                project.getLayout().dir(project.provider(() -> reportDir)), project.provider(() -> Duration.ofMillis(100)),
+                project.provider(() -> true)).execute(task));
+
+        assertTrue(e.getMessage().contains("3 time(s)"), e.getMessage());
+        String report = Files.readString(reportDir.toPath().resolve(JavaFXStallReport.REPORT), StandardCharsets.UTF_8);
+        assertTrue(report.contains("demo.Settings.load(Settings.java:42): 2 stall(s), 550 ms in total, 350 ms at most"), report);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle;
+
+import org.gradle.api.Project;
+import org.gradle.api.plugins.JavaApplication;
+import org.gradle.api.tasks.Sync;
+import org.gradle.jvm.application.tasks.CreateStartScripts;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JavaFXStartScriptsTest {
+
+    @TempDir
+    Path tmp;
+
+    private Project project;
+
+    @BeforeEach
+    void createProject() {
+        project = ProjectBuilder.builder().withProjectDir(tmp.resolve("project").toFile()).build();
+    }
+
+    @Test
+    void addsOptionsAfterDefaultJvmOpts() throws IOException {
+        var startScripts = startScripts();
+        Files.writeString(tmp.resolve("app"), "APP_HOME=/opt/app\nDEFAULT_JVM_OPTS='\"-Xmx64m\"'\nexec java\n");
+        Files.writeString(tmp.resolve("app.bat"), "set APP_HOME=C:\\app\r\nset DEFAULT_JVM_OPTS=\"-Xmx64m\"\r\njava\r\n");
+
+        new JavaFXStartScripts(project.provider(() -> List.of("-Djavafx.cachedir=__APP_HOME__/lib/javafx", "-Dx=y")))
+                .execute(startScripts);
+
+        assertEquals("APP_HOME=/opt/app\nDEFAULT_JVM_OPTS='\"-Xmx64m\"'\n" +
+                        "DEFAULT_JVM_OPTS=\"$DEFAULT_JVM_OPTS \\\"-Djavafx.cachedir=$APP_HOME/lib/javafx\\\" \\\"-Dx=y\\\"\"\nexec java\n",
+                Files.readString(tmp.resolve("app")));
+        assertEquals("set APP_HOME=C:\\app\r\nset DEFAULT_JVM_OPTS=\"-Xmx64m\"\r\n" +
+                        "set DEFAULT_JVM_OPTS=%DEFAULT_JVM_OPTS% \"-Djavafx.cachedir=%APP_HOME%\\lib\\javafx\" \"-Dx=y\"\r\njava\r\n",
+                Files.readString(tmp.resolve("app.bat")));
+    }
+
+    @Test
+    void noOptions() throws IOException {
+        var startScripts = startScripts();
+        Files.writeString(tmp.resolve("app"), "DEFAULT_JVM_OPTS=''\n");
+
+        new JavaFXStartScripts(project.provider(List::of)).execute(startScripts);
+
+        assertEquals("DEFAULT_JVM_OPTS=''\n", Files.readString(tmp.resolve("app")));
+    }
+
+    @Test
+    void writesArgFile() throws IOException {
+        var startScripts = startScripts();
+        Files.writeString(tmp.resolve("app"), "DEFAULT_JVM_OPTS=''\n");
+        Files.writeString(tmp.resolve("app.bat"), "set DEFAULT_JVM_OPTS=\r\n");
+
+        new JavaFXStartScripts(project.provider(() -> List.of("--module-path", "__APP_HOME__/lib/javafx")),
+                project.provider(() -> List.of("--add-modules", "javafx.controls", "-Dtitle=My App")))
+                .execute(startScripts);
+
+        assertEquals("--add-modules\njavafx.controls\n\"-Dtitle=My App\"\n", Files.readString(tmp.resolve("app.args")));
+        assertEquals("DEFAULT_JVM_OPTS=''\n" +
+                        "DEFAULT_JVM_OPTS=\"$DEFAULT_JVM_OPTS \\\"--module-path\\\" \\\"$APP_HOME/lib/javafx\\\" \\\"@$APP_HOME/bin/app.args\\\"\"\n",
+                Files.readString(tmp.resolve("app")));
+        assertEquals("set DEFAULT_JVM_OPTS=\r\n" +
+                        "set DEFAULT_JVM_OPTS=%DEFAULT_JVM_OPTS% \"--module-path\" \"%APP_HOME%\\lib\\javafx\" \"@%APP_HOME%\\bin\\app.args\"\r\n",
+                Files.readString(tmp.resolve("app.bat")));
+    }
+
+    @Test
+    void quotesArgFileOptions() {
+        assertEquals("-Xmx1g", JavaFXStartScripts.quote("-Xmx1g"));
+        assertEquals("\"-Dpath=C:\\\\app\"", JavaFXStartScripts.quote("-Dpath=C:\\app"));
+        assertEquals("\"-Dx=\\\"y\\\"\"", JavaFXStartScripts.quote("-Dx=\"y\""));
+    }
+
+    @Test
+    void nativesNextToModulePath() {
+        assertEquals(List.of("-Djavafx.cachedir=__APP_HOME__/lib/javafx"), nativesJvmOptions(null));
+    }
+
+    @Test
+    void nativesNextToJarsOfModularApplication() {
+        assertEquals(List.of("-Djavafx.cachedir=__APP_HOME__/lib"), nativesJvmOptions("org.openjfx.app"));
+    }
+
+    @Test
+    void installsNativesNextToModulePath() throws IOException {
+        nativesJvmOptions(null);
+        Path natives = tmp.resolve("project/build/javafx/natives");
+        Files.createDirectories(natives);
+        Files.writeString(natives.resolve("libprism_sw.so"), "");
+
+        var installDist = (Sync) project.getTasks().getByName("installDist");
+        installDist.getActions().forEach(action -> action.execute(installDist));
+
+        assertTrue(Files.isRegularFile(installDist.getDestinationDir().toPath().resolve("lib/javafx/libprism_sw.so")));
+    }
+
+    /**
+     * @return the options of the start scripts for the native libraries, which are where they are in the distribution
+     */
+    private Object nativesJvmOptions(String mainModule) {
+        project.getPlugins().apply("application");
+        project.getPlugins().apply(JavaFXPlugin.class);
+        project.getExtensions().getByType(JavaFXOptions.class).getExtractNatives().set(true);
+        if (mainModule != null) {
+            project.getExtensions().getByType(JavaApplication.class).getMainModule().set(mainModule);
+        }
+        return project.getTasks().named("startScripts").get().getInputs().getProperties().get("javafxNativesJvmOptions");
+    }
+
+    private CreateStartScripts startScripts() {
+        var startScripts = project.getTasks().create("startScripts", CreateStartScripts.class);
+        startScripts.setOutputDir(tmp.toFile());
+        startScripts.setApplicationName("app");
+        return startScripts;
+    }
+}
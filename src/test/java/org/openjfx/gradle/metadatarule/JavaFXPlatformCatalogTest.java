@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle.metadatarule;
+
+import org.gradle.api.GradleException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JavaFXPlatformCatalogTest {
+
+    @Test
+    void comparesNumericParts() {
+        assertEquals(0, JavaFXPlatformCatalog.compare("17", "17.0.0"));
+        assertTrue(JavaFXPlatformCatalog.compare("17.0.0.1", "17") > 0);
+        assertTrue(JavaFXPlatformCatalog.compare("11.0.2", "11.0.12") < 0);
+        assertEquals(0, JavaFXPlatformCatalog.compare("21-ea+5", "21"));
+    }
+
+    @Test
+    void matchesRanges() {
+        assertTrue(JavaFXPlatformCatalog.contains("[11.0.12,12)", "11.0.12"));
+        assertFalse(JavaFXPlatformCatalog.contains("[11.0.12,12)", "12"));
+        assertTrue(JavaFXPlatformCatalog.contains("[11.0.12,12]", "12"));
+        assertFalse(JavaFXPlatformCatalog.contains("(17,)", "17"));
+        assertTrue(JavaFXPlatformCatalog.contains("(,17)", "16"));
+        assertTrue(JavaFXPlatformCatalog.contains("17", "21.0.1"));
+        assertFalse(JavaFXPlatformCatalog.contains("17", "16"));
+        assertThrows(GradleException.class, () -> JavaFXPlatformCatalog.validate("[17"));
+    }
+
+    @Test
+    void knowsPublishedPlatforms() {
+        Map<String, List<String>> catalog = JavaFXPlatformCatalog.defaults();
+
+        assertTrue(JavaFXPlatformCatalog.isPublished(catalog, "linux", "11.0.2"));
+        assertFalse(JavaFXPlatformCatalog.isPublished(catalog, "mac-aarch64", "11.0.2"));
+        assertFalse(JavaFXPlatformCatalog.isPublished(catalog, "mac-aarch64", "16"));
+        assertTrue(JavaFXPlatformCatalog.isPublished(catalog, "mac-aarch64", "11.0.12"));
+        assertTrue(JavaFXPlatformCatalog.isPublished(catalog, "mac-aarch64", "17.0.8"));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.openjfx.gradle.transform;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JavaFXStripNativesTransformTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void matchesLibraryNames() {
+        List<Pattern> natives = JavaFXStripNativesTransform.toPatterns(List.of("libjfxwebkit", "avplugin*", "gstreamer-lite.so"));
+
+        assertTrue(JavaFXStripNativesTransform.isStripped("libjfxwebkit.so", natives));
+        assertTrue(JavaFXStripNativesTransform.isStripped("libjfxwebkit.dylib", natives));
+        assertTrue(JavaFXStripNativesTransform.isStripped("jfxwebkit.dll", natives));
+        assertTrue(JavaFXStripNativesTransform.isStripped("libavplugin-ffmpeg-56.so", natives));
+        assertTrue(JavaFXStripNativesTransform.isStripped("libgstreamer-lite.so", natives));
+        assertFalse(JavaFXStripNativesTransform.isStripped("libjfxmedia.so", natives));
+        assertFalse(JavaFXStripNativesTransform.isStripped("libjfxwebkit.sha1", natives));
+        assertFalse(JavaFXStripNativesTransform.isStripped("META-INF/libjfxwebkit.so", natives));
+    }
+
+    @Test
+    void stripsNatives() throws IOException {
+        File jar = tmp.resolve("javafx-media-17-linux.jar").toFile();
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar))) {
+            for (String name : List.of("module-info.class", "libjfxmedia.so", "libgstreamer-lite.so")) {
+                out.putNextEntry(new ZipEntry(name));
+                out.write(name.getBytes());
+                out.closeEntry();
+            }
+        }
+        List<Pattern> natives = JavaFXStripNativesTransform.toPatterns(List.of("libgstreamer-lite"));
+        File stripped = tmp.resolve("stripped.jar").toFile();
+
+        assertTrue(JavaFXStripNativesTransform.containsNatives(jar, natives));
+        JavaFXStripNativesTransform.strip(jar, stripped, natives);
+
+        assertFalse(JavaFXStripNativesTransform.containsNatives(stripped, natives));
+        try (ZipFile zip = new ZipFile(stripped)) {
+            assertEquals(List.of("module-info.class", "libjfxmedia.so"), Collections.list(zip.entries()).stream()
+                    .map(ZipEntry::getName).collect(Collectors.toList()));
+            assertEquals("libjfxmedia.so", new String(zip.getInputStream(zip.getEntry("libjfxmedia.so")).readAllBytes()));
+        }
+    }
+}